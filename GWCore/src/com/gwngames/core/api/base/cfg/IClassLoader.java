@@ -2,12 +2,11 @@ package com.gwngames.core.api.base.cfg;
 
 import com.gwngames.DefaultModule;
 import com.gwngames.core.CoreComponent;
-import com.gwngames.core.CoreSubComponent;
 import com.gwngames.core.api.base.IBaseComp;
 import com.gwngames.core.api.build.Init;
+import com.gwngames.core.api.build.ResolvedInit;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Proxy;
 import java.util.*;
 
 /**
@@ -30,89 +29,13 @@ public interface IClassLoader extends IBaseComp {
      * {@code @Init} annotation an {@link IllegalStateException} is thrown instead
      * of returning {@code null}.
      * </p>
+     * <p>
+     * The result is computed once per class and returned as a cached immutable
+     * {@link ResolvedInit}; no proxy is created per call.
+     * </p>
      */
     static Init resolvedInit(Class<?> clazz) {
-        Init base = clazz.getAnnotation(Init.class);
-        if (base == null) {
-            throw new IllegalStateException(
-                "Class " + clazz.getName() + " is missing required @Init annotation");
-        }
-
-        boolean isEnum     = clazz.isEnum() || base.isEnum();
-        boolean hasSubComp = !base.subComp().equals(CoreSubComponent.NONE);
-
-        String comp   = base.component();
-        String    module = base.module();
-
-        // IMPORTANT: per policy, external is evaluated **only on the concrete class**.
-        final boolean finalExternal = base.external();
-
-        /* 1) Inherit from superclasses (full chain) for component/module and enum influence */
-        Class<?> sup = clazz.getSuperclass();
-        while (sup != null && sup != Object.class
-            && (comp.equals(CoreComponent.NONE) || module.equals(DefaultModule.UNIMPLEMENTED))) {
-            Init ann = sup.getAnnotation(Init.class);
-            if (ann != null) {
-                if (comp.equals(CoreComponent.NONE))       comp   = ann.component();
-                if (module.equals(DefaultModule.UNIMPLEMENTED)) module = ann.module();
-                if (!isEnum) isEnum = ann.isEnum();
-            }
-            sup = sup.getSuperclass();
-        }
-
-        /* Inherit from the entire interface graph (BFS) across the whole class chain */
-        if (comp.equals(CoreComponent.NONE) || module.equals(DefaultModule.UNIMPLEMENTED)) {
-            // Seed queue with all direct interfaces of clazz and all its superclasses
-            Deque<Class<?>> q = new ArrayDeque<>();
-            Set<Class<?>> visited = new HashSet<>();
-
-            for (Class<?> cur = clazz; cur != null && cur != Object.class; cur = cur.getSuperclass()) {
-                for (Class<?> ifc : cur.getInterfaces()) {
-                    if (visited.add(ifc)) q.addLast(ifc);
-                }
-            }
-
-            while (!q.isEmpty() && (comp.equals(CoreComponent.NONE) || module.equals(DefaultModule.UNIMPLEMENTED))) {
-                Class<?> ifc = q.removeFirst();
-
-                Init ann = ifc.getAnnotation(Init.class);
-                if (ann != null) {
-                    if (comp.equals(CoreComponent.NONE))       comp   = ann.component();
-                    if (module.equals(DefaultModule.UNIMPLEMENTED)) module = ann.module();
-                    if (!isEnum && ann.isEnum()) isEnum = true; // enum influence only
-                    // NOTE: do not inherit `external` from interfaces
-                }
-
-                // Traverse super-interfaces too (this is the key difference)
-                for (Class<?> parent : ifc.getInterfaces()) {
-                    if (visited.add(parent)) q.addLast(parent);
-                }
-            }
-        }
-
-        // Recompute allowMultiple with potentially updated isEnum
-        boolean finalAllowMult = base.allowMultiple() || isEnum || hasSubComp;
-
-        String finalComp   = comp;
-        String    finalModule = module;
-        boolean        finalIsEnum = isEnum;
-
-        return (Init) Proxy.newProxyInstance(
-            Init.class.getClassLoader(),
-            new Class<?>[]{Init.class},
-            (proxy, method, args) -> switch (method.getName()) {
-                case "annotationType"        -> Init.class;
-                case "component"             -> finalComp;
-                case "module"                -> finalModule;
-                case "subComp"               -> base.subComp();
-                case "platform"              -> base.platform();
-                case "allowMultiple"         -> finalAllowMult;
-                case "isEnum"                -> finalIsEnum;
-                case "isPlatformDependent"   -> base.isPlatformDependent();
-                case "forceDefinition"       -> base.forceDefinition();
-                case "external"              -> finalExternal; // concrete class only
-                default                      -> method.invoke(base, args);
-            });
+        return ResolvedInit.of(clazz);
     }
 
     List<Class<?>> scanForAnnotated(Class<? extends Annotation> ann);
@@ -0,0 +1,121 @@
+package com.gwngames.core.api.build;
+
+import com.gwngames.DefaultModule;
+import com.gwngames.core.CoreComponent;
+import com.gwngames.core.CoreSubComponent;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Immutable, merged view of a class' {@link Init} metadata.
+ * <p>
+ * Computed once per class (see {@link #of(Class)}) and cached in a {@link ClassValue},
+ * so the hot look-up paths neither re-walk the type hierarchy nor allocate.
+ * Implements {@link Init} so existing callers keep reading it like the annotation.
+ * </p>
+ */
+@SuppressWarnings("ClassExplicitlyAnnotation")
+public record ResolvedInit(
+    String module,
+    String component,
+    String platform,
+    boolean allowMultiple,
+    boolean isPlatformDependent,
+    boolean isEnum,
+    boolean forceDefinition,
+    String subComp,
+    boolean external) implements Init {
+
+    private static final ClassValue<ResolvedInit> CACHE = new ClassValue<>() {
+        @Override
+        protected ResolvedInit computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * Cached merged metadata of {@code clazz}.
+     *
+     * @throws IllegalStateException if {@code clazz} lacks an {@code @Init} annotation
+     */
+    public static ResolvedInit of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return Init.class;
+    }
+
+    /**
+     * Missing {@code component()} or {@code module()} values (sentinel {@link CoreComponent#NONE} /
+     * {@link DefaultModule#UNIMPLEMENTED}) are inherited from the nearest superclass
+     * or interface that declares them.
+     */
+    private static ResolvedInit resolve(Class<?> clazz) {
+        Init base = clazz.getAnnotation(Init.class);
+        if (base == null) {
+            throw new IllegalStateException(
+                "Class " + clazz.getName() + " is missing required @Init annotation");
+        }
+
+        boolean isEnum     = clazz.isEnum() || base.isEnum();
+        boolean hasSubComp = !base.subComp().equals(CoreSubComponent.NONE);
+
+        String comp   = base.component();
+        String module = base.module();
+
+        /* 1) Inherit from superclasses (full chain) for component/module and enum influence */
+        Class<?> sup = clazz.getSuperclass();
+        while (sup != null && sup != Object.class
+            && (comp.equals(CoreComponent.NONE) || module.equals(DefaultModule.UNIMPLEMENTED))) {
+            Init ann = sup.getAnnotation(Init.class);
+            if (ann != null) {
+                if (comp.equals(CoreComponent.NONE))            comp   = ann.component();
+                if (module.equals(DefaultModule.UNIMPLEMENTED)) module = ann.module();
+                if (!isEnum) isEnum = ann.isEnum();
+            }
+            sup = sup.getSuperclass();
+        }
+
+        /* 2) Inherit from the entire interface graph (BFS) across the whole class chain */
+        if (comp.equals(CoreComponent.NONE) || module.equals(DefaultModule.UNIMPLEMENTED)) {
+            Deque<Class<?>> q = new ArrayDeque<>();
+            Set<Class<?>> visited = new HashSet<>();
+
+            for (Class<?> cur = clazz; cur != null && cur != Object.class; cur = cur.getSuperclass()) {
+                for (Class<?> ifc : cur.getInterfaces()) {
+                    if (visited.add(ifc)) q.addLast(ifc);
+                }
+            }
+
+            while (!q.isEmpty() && (comp.equals(CoreComponent.NONE) || module.equals(DefaultModule.UNIMPLEMENTED))) {
+                Class<?> ifc = q.removeFirst();
+
+                Init ann = ifc.getAnnotation(Init.class);
+                if (ann != null) {
+                    if (comp.equals(CoreComponent.NONE))            comp   = ann.component();
+                    if (module.equals(DefaultModule.UNIMPLEMENTED)) module = ann.module();
+                    if (!isEnum && ann.isEnum()) isEnum = true; // enum influence only
+                    // NOTE: do not inherit `external` from interfaces
+                }
+
+                for (Class<?> parent : ifc.getInterfaces()) {
+                    if (visited.add(parent)) q.addLast(parent);
+                }
+            }
+        }
+
+        return new ResolvedInit(
+            module,
+            comp,
+            base.platform(),
+            base.allowMultiple() || isEnum || hasSubComp,
+            base.isPlatformDependent(),
+            isEnum,
+            base.forceDefinition(),
+            base.subComp(),
+            base.external());   // per policy, external is read from the concrete class only
+    }
+}
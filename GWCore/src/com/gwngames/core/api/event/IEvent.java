@@ -17,4 +17,10 @@ public interface IEvent extends IBaseComp {
     void setStatus(IEventStatus status);
 
     void addCondition(IExecutionCondition c);
+
+    /**
+     * Identity used by {@link com.gwngames.core.data.event.OverflowPolicy#COALESCE} queues:
+     * a newer event with the same key supersedes a pending one. {@code null} never coalesces.
+     */
+    default Object getCoalesceKey() { return null; }
 }
@@ -22,6 +22,12 @@ public interface IMasterEventQueue extends IBaseComp {
 
     void markExecuted(IEvent event);
 
+    /**
+     * Settles an event that was dropped before running: its macro still counts it, but it is
+     * never reported by {@link #hasExecuted}, and the events waiting on it are discarded too.
+     */
+    void markDiscarded(IEvent event);
+
     boolean hasExecuted(IEvent event);
 
     boolean isMacroEventCompleted(IMacroEvent macroEvent);
@@ -3,47 +3,42 @@ package com.gwngames.core.api.ex;
 import com.gwngames.core.api.base.cfg.ILocale;
 import com.gwngames.core.api.base.ITranslationService;
 import com.gwngames.core.api.build.ITranslatable;
-import com.gwngames.core.api.build.Inject;
-import com.gwngames.core.base.cfg.i18n.TranslationService;
+import com.gwngames.core.base.BaseComponent;
+import com.gwngames.core.base.cfg.ModuleClassLoader;
 import com.gwngames.core.base.log.FileLogger;
-import com.gwngames.core.build.CoreLocale;
 import com.gwngames.core.data.LogFiles;
-import com.gwngames.core.util.Cdi;
 
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Base class of all exceptions, with support for translation
  * and parameterized messages.
+ * <p>
+ * Construction only records the key, code and parameters; the translation service and the
+ * locale are looked up when the message is read, so throwing and catching costs the same as
+ * a plain exception. Messages read before the {@link ModuleClassLoader} is ready (exceptions
+ * thrown while it starts up) use the default caption.
+ * </p>
  *
  * @author samlam
  */
 public class BaseException extends Exception {
     protected static final FileLogger log = FileLogger.get(LogFiles.ERROR);
     private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$(\\d+)");
+    /** Reported once: every message read would hit the same failure again. */
+    private static final AtomicBoolean TRANSLATOR_FAILURE_LOGGED = new AtomicBoolean();
 
     protected ExceptionCode errorCode;
     protected ITranslatable errorKey;
     protected String[] params;
 
-    @Inject
-    protected ITranslationService translator;
-
-    @Inject
-    protected ILocale locale;
-
-    protected BaseException(){
-        if (locale == null)
-            locale = new CoreLocale();
-        if (translator == null)
-            translator = new TranslationService();
+    protected BaseException() {
     }
 
     public BaseException(ITranslatable errorKey, ExceptionCode code, String... params) {
-        // Inject translation service before anything else
-        Cdi.inject(this);
-
         this.errorCode = code;
         this.errorKey = errorKey;
         this.params = params;
@@ -68,9 +63,8 @@ public class BaseException extends Exception {
      * @return the formatted message
      */
     public String format(String template) {
-        FileLogger log = FileLogger.get(LogFiles.ERROR);
-
         int maxLength = (template == null ? 0 : template.length());
+        String[] params = messageParams();
         if (params != null) {
             for (String param : params) {
                 if (param != null) {
@@ -114,23 +108,62 @@ public class BaseException extends Exception {
         return message.toString();
     }
 
+    /** Parameters filled into the message template; subclasses may resolve them lazily. */
+    protected String[] messageParams() {
+        return params;
+    }
+
+    /**
+     * The translation service, or {@code null} while the module loader is not ready yet or if
+     * none can be created; callers then use the default caption.
+     */
+    protected ITranslationService translator() {
+        if (!ModuleClassLoader.isReady()) return null;
+        try {
+            return BaseComponent.getInstance(ITranslationService.class);
+        } catch (RuntimeException e) {
+            if (TRANSLATOR_FAILURE_LOGGED.compareAndSet(false, true))
+                log.error("Translation service unavailable; exception messages use default captions", e);
+            return null;
+        }
+    }
+
+    /** Locale of the configured {@link ILocale}, or the JVM default. */
+    protected Locale locale() {
+        if (!ModuleClassLoader.isReady()) return Locale.getDefault();
+        try {
+            return BaseComponent.getInstance(ILocale.class).getLocale();
+        } catch (RuntimeException e) {
+            return Locale.getDefault();
+        }
+    }
+
     protected String getTranslatedText(ITranslatable translatable){
-        return translator.tr(translatable.getKey(), locale.getLocale());
+        ITranslationService translator = translator();
+        if (translator == null) return translatable.getDefaultCaption();
+        try {
+            String text = translator.tr(translatable.getKey(), locale());
+            return text == null ? translatable.getDefaultCaption() : text;
+        } catch (Exception e) {
+            log.error("Error translating key \"" + translatable.getKey() + "\". Using default caption.", e);
+            return translatable.getDefaultCaption();
+        }
     }
+
     /**
      * Returns the translated (or default) message and then applies parameter formatting.
      */
     @Override
     public String getMessage() {
         String errorMessage;
+        ITranslationService translator = translator();
 
         if (translator == null) {
-            // Injection failed or translator not available
-            log.error("Translation service unavailable for key \"" + errorKey.getKey() + "\". Using default caption.");
+            // loader still starting, or the failure was already reported by translator()
             errorMessage = errorKey.getDefaultCaption();
         } else {
             try {
-                errorMessage = translator.tr(errorKey.getKey(), locale.getLocale());
+                errorMessage = translator.tr(errorKey.getKey(), locale());
                 if (errorMessage == null) {
                     // translator.tr might return null if key is missing
                     FileLogger.get(LogFiles.ERROR)
@@ -1,5 +1,6 @@
 package com.gwngames.core.api.ex;
 
+import com.gwngames.core.api.base.ITranslationService;
 import com.gwngames.core.api.build.ITranslatable;
 import com.gwngames.core.base.cfg.i18n.BasicTranslation;
 
@@ -30,11 +31,14 @@ public class ErrorPopupException extends BaseException {
 
     /** Opens an ERROR_MESSAGE dialog on the Swing EDT. */
     private void showErrorDialog(String message) {
-        String errorTitle;
-        try {
-            errorTitle = translator.tr(BasicTranslation.ERROR.getKey(), Locale.getDefault());
-        } catch (Exception e){
-            errorTitle = BasicTranslation.ERROR.getDefaultCaption();
+        String errorTitle = BasicTranslation.ERROR.getDefaultCaption();
+        ITranslationService translator = translator(); // null while the module loader starts up
+        if (translator != null) {
+            try {
+                errorTitle = translator.tr(BasicTranslation.ERROR.getKey(), Locale.getDefault());
+            } catch (Exception ignored) {
+                // keep the default caption
+            }
         }
         String finalErrorTitle = errorTitle;
         SwingUtilities.invokeLater(() ->
@@ -4,11 +4,16 @@ import com.gwngames.core.api.build.ITranslatable;
 import com.gwngames.core.base.cfg.i18n.CoreTranslation;
 
 public class StartupException extends BaseException {
+    private final ITranslatable checkError;
+
     public StartupException(String checkClass, ITranslatable checkError) {
-        super(CoreTranslation.STARTUP_ERROR, ExceptionCode.STARTUP, new String[2]);
-        this.params[0] = checkClass;
-        this.params[1] = getTranslatedText(checkError);
+        super(CoreTranslation.STARTUP_ERROR, ExceptionCode.STARTUP, checkClass, checkError.getDefaultCaption());
+        this.checkError = checkError;
     }
 
-
+    /** The check error is translated only when the message is read. */
+    @Override
+    protected String[] messageParams() {
+        return new String[]{params[0], getTranslatedText(checkError)};
+    }
 }
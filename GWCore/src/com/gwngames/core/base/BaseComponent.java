@@ -6,16 +6,13 @@ import com.gwngames.core.api.base.cfg.IClassLoader;
 import com.gwngames.core.api.base.monitor.IDashboardItem;
 import com.gwngames.core.api.build.Init;
 import com.gwngames.core.api.build.Inject;
-import com.gwngames.core.api.build.PostInject;
 import com.gwngames.core.base.cfg.ModuleClassLoader;
 import com.gwngames.core.base.log.FileLogger;
 import com.gwngames.core.base.log.LogBus;
 import com.gwngames.core.data.LogFiles;
-import com.gwngames.core.util.ClassUtils;
 import com.gwngames.core.util.ComponentUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
@@ -33,7 +30,7 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
     /**
      * System logger (subclasses may also use their own FileLogger).
      */
-    private static final FileLogger LOG = FileLogger.get(LogFiles.SYSTEM);
+    private static final FileLogger LOG = FileLogger.get(LogFiles.SYSTEM, BaseComponent.class);
 
     /**
      * One cached instance for each Component + SubComp pair.
@@ -43,23 +40,40 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
     /* ───────────────────── Log helpers (also feed LogBus) ───────────────────── */
 
     protected void logInfo(String msg, Object... args) {
+        if (!LOG.isInfoEnabled()) return;
         LOG.info(msg, args);
-        LogBus.record(dashboardKey(), LogBus.Level.INFO, String.format(msg, args), null);
+        LogBus.record(dashboardKey(), LogBus.Level.INFO, msg, null, args);
     }
 
     protected void logDebug(String msg, Object... args) {
+        if (!LOG.isDebugEnabled()) return;
         LOG.debug(msg, args);
-        LogBus.record(dashboardKey(), LogBus.Level.DEBUG, String.format(msg, args), null);
+        LogBus.record(dashboardKey(), LogBus.Level.DEBUG, msg, null, args);
+    }
+
+    /* fixed-arity forms: a disabled call builds no argument array */
+    protected void logDebug(String msg, Object arg) {
+        if (LOG.isDebugEnabled()) logDebug(msg, new Object[]{arg});
+    }
+
+    protected void logDebug(String msg, Object arg1, Object arg2) {
+        if (LOG.isDebugEnabled()) logDebug(msg, new Object[]{arg1, arg2});
+    }
+
+    protected void logDebug(String msg, Object arg1, Object arg2, Object arg3) {
+        if (LOG.isDebugEnabled()) logDebug(msg, new Object[]{arg1, arg2, arg3});
     }
 
     protected void logError(String msg, Object... args) {
+        if (!LOG.isErrorEnabled()) return;
         LOG.error(msg, args);
-        LogBus.record(dashboardKey(), LogBus.Level.ERROR, String.format(msg, args), null);
+        LogBus.record(dashboardKey(), LogBus.Level.ERROR, msg, null, args);
     }
 
     protected void logError(String msg, Throwable ex, Object... args) {
+        if (!LOG.isErrorEnabled()) return;
         LOG.error(msg, ex, args);
-        LogBus.record(dashboardKey(), LogBus.Level.ERROR, String.format(msg, args), ex);
+        LogBus.record(dashboardKey(), LogBus.Level.ERROR, msg, ex, args);
     }
 
     @Override
@@ -123,17 +137,15 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
         // idempotency guard: if already wired, bail out
         if (!markWired(obj)) return;
 
-        for (Field f : ClassUtils.getAnnotatedFields(obj.getClass(), Inject.class)) {
-            f.setAccessible(true);
-            Inject inj = f.getAnnotation(Inject.class);
-            if (inj.loadAll()) {
-                injectAllImplementations(f, obj, inj);
+        InjectionPlan plan = InjectionPlan.of(obj.getClass());
+        for (InjectionPlan.FieldStep step : plan.fields()) {
+            if (step.inject().loadAll()) {
+                injectAllImplementations(step, obj);
             } else {
-                injectSingle(f, obj, inj);
+                injectSingle(step, obj);
             }
-            f.setAccessible(false);
         }
-        runPostInject(obj);
+        for (InjectionPlan.Hook hook : plan.hooks()) hook.run(obj);
     }
 
     /**
@@ -144,19 +156,10 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
      * we use those only to learn the concrete classes, then build suppliers that create on first use.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static void injectAllImplementations(Field f, Object host, Inject inj) {
-        if (!List.class.isAssignableFrom(f.getType()))
-            throw new IllegalStateException("@Inject(loadAll=true) field must be a List : " + f);
-
-        final Class<?> elemType = ClassUtils.extractGenericType(f);
-        if (!IBaseComp.class.isAssignableFrom(elemType))
-            throw new IllegalStateException("@Inject(loadAll=true) element type must extend IBaseComp : " + elemType);
-
-        final Init elemMeta = IClassLoader.resolvedInit(elemType);
-        if (!elemMeta.allowMultiple())
-            throw new IllegalStateException("Component does not allow multiple: " + elemType);
-
-        final Class<?> subIface = inj.subTypeOf();
+    private static void injectAllImplementations(InjectionPlan.FieldStep step, Object host) {
+        final Class<?> elemType = step.elemType();
+        final Init elemMeta = step.elemMeta();
+        final Class<?> subIface = step.inject().subTypeOf();
         final ModuleClassLoader loader = ModuleClassLoader.getInstance();
 
         // Discover implementations (existing API yields instances).
@@ -175,12 +178,8 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
             proxies.add(proxy);
         }
 
-        try {
-            f.set(host, proxies);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException("Can't inject implementations:" + f.getName(), e);
-        }
-        LOG.debug("Injected {} LazyProxy implementations into {}", proxies.size(), f);
+        step.set(host, proxies);
+        LOG.debug("Injected {} LazyProxy implementations into {}", proxies.size(), step.field());
     }
 
     @NotNull
@@ -216,20 +215,10 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
     }
 
     @SuppressWarnings("unchecked")
-    private static void injectSingle(Field f, Object host, Inject inj) {
-        // Enforce: subTypeOf requires loadAll=true
-        if (inj.subTypeOf() != IBaseComp.class) {
-            throw new IllegalStateException("@Inject(subTypeOf=...) requires loadAll=true on field: " + f);
-        }
-
-        Class<IBaseComp> depType = (Class<IBaseComp>) f.getType();
-        Supplier<IBaseComp> create = getIBaseCompSupplier(inj, depType);
-        Object proxy = LazyProxy.of(depType, create);
-        try {
-            f.set(host, proxy);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+    private static void injectSingle(InjectionPlan.FieldStep step, Object host) {
+        Class<IBaseComp> depType = (Class<IBaseComp>) step.field().getType();
+        Supplier<IBaseComp> create = getIBaseCompSupplier(step.inject(), depType);
+        step.set(host, LazyProxy.of(depType, create));
     }
 
     @NotNull
@@ -258,33 +247,6 @@ public abstract class BaseComponent implements IBaseComp, IDashboardItem<BaseCom
         return List.copyOf(INSTANCES.values());
     }
 
-    private static void runPostInject(Object host) {
-        Deque<Method> chain = new ArrayDeque<>();
-        Class<?> c = host.getClass();
-        while (c != null && c != Object.class) {
-            for (Method m : c.getDeclaredMethods()) {
-                if (m.isAnnotationPresent(PostInject.class)) {
-                    if (Modifier.isStatic(m.getModifiers()))
-                        throw new IllegalStateException("@PostInject must not be static: " + m);
-                    if (m.getParameterCount() != 0)
-                        throw new IllegalStateException("@PostInject must have no params: " + m);
-                    if (m.getReturnType() != void.class)
-                        throw new IllegalStateException("@PostInject must return void: " + m);
-                    chain.addFirst(m);
-                }
-            }
-            c = c.getSuperclass();
-        }
-        for (Method m : chain) {
-            try {
-                m.setAccessible(true);
-                m.invoke(host);
-            } catch (ReflectiveOperationException e) {
-                throw new IllegalStateException("Error invoking @PostInject: " + m, e);
-            }
-        }
-    }
-
     @Override
     public BaseComponent getItem() {
         return this;
@@ -0,0 +1,149 @@
+package com.gwngames.core.base;
+
+import com.gwngames.core.api.base.IBaseComp;
+import com.gwngames.core.api.base.cfg.IClassLoader;
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.api.build.Inject;
+import com.gwngames.core.api.build.PostInject;
+import com.gwngames.core.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Everything {@link BaseComponent} needs to wire one concrete class, computed once per class:
+ * the {@link Inject @Inject} fields with their settings and a setter handle, and the
+ * {@link PostInject @PostInject} hooks in call order (superclass first).
+ * <p>
+ * All validation happens while the plan is built, so a misdeclared component still fails
+ * on its first creation; after that wiring a new instance costs the setter and hook calls only.
+ * </p>
+ */
+final class InjectionPlan {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType HOOK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /** Plans built so far; stays flat while instances of known classes are wired. */
+    private static final AtomicInteger BUILT = new AtomicInteger();
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    /** One {@code @Inject} field. {@code elemType}/{@code elemMeta} are only set for {@code loadAll}. */
+    record FieldStep(Field field, Inject inject, Class<?> elemType, Init elemMeta, MethodHandle setter) {
+        void set(Object host, Object value) {
+            try {
+                setter.invokeExact(host, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException("Can't inject field " + field, t);
+            }
+        }
+    }
+
+    record Hook(Method method, MethodHandle handle) {
+        void run(Object host) {
+            try {
+                handle.invokeExact(host);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Error invoking @PostInject: " + method, t);
+            }
+        }
+    }
+
+    private final List<FieldStep> fields;
+    private final List<Hook> hooks;
+
+    static InjectionPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    static int built() { return BUILT.get(); }
+
+    private InjectionPlan(Class<?> type) {
+        BUILT.incrementAndGet();
+        List<FieldStep> f = new ArrayList<>();
+        for (Field field : ClassUtils.getAnnotatedFields(type, Inject.class)) f.add(step(field));
+        this.fields = List.copyOf(f);
+        this.hooks = hooks(type);
+    }
+
+    List<FieldStep> fields() { return fields; }
+
+    List<Hook> hooks() { return hooks; }
+
+    private static FieldStep step(Field shared) {
+        Inject inj = shared.getAnnotation(Inject.class);
+        Class<?> elemType = null;
+        Init elemMeta = null;
+
+        if (inj.loadAll()) {
+            if (!List.class.isAssignableFrom(shared.getType()))
+                throw new IllegalStateException("@Inject(loadAll=true) field must be a List : " + shared);
+
+            elemType = ClassUtils.extractGenericType(shared);
+            if (!IBaseComp.class.isAssignableFrom(elemType))
+                throw new IllegalStateException("@Inject(loadAll=true) element type must extend IBaseComp : " + elemType);
+
+            elemMeta = IClassLoader.resolvedInit(elemType);
+            if (!elemMeta.allowMultiple())
+                throw new IllegalStateException("Component does not allow multiple: " + elemType);
+        } else if (inj.subTypeOf() != IBaseComp.class) {
+            throw new IllegalStateException("@Inject(subTypeOf=...) requires loadAll=true on field: " + shared);
+        }
+
+        try {
+            // private copy: the field list is shared, its accessible flag is not ours to keep
+            Field field = shared.getDeclaringClass().getDeclaredField(shared.getName());
+            field.setAccessible(true);
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            return new FieldStep(field, inj, elemType, elemMeta, setter.asType(SETTER_TYPE));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot prepare @Inject field " + shared, e);
+        }
+    }
+
+    private static List<Hook> hooks(Class<?> type) {
+        Deque<Method> chain = new ArrayDeque<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method m : c.getDeclaredMethods()) {
+                if (m.isAnnotationPresent(PostInject.class)) {
+                    if (Modifier.isStatic(m.getModifiers()))
+                        throw new IllegalStateException("@PostInject must not be static: " + m);
+                    if (m.getParameterCount() != 0)
+                        throw new IllegalStateException("@PostInject must have no params: " + m);
+                    if (m.getReturnType() != void.class)
+                        throw new IllegalStateException("@PostInject must return void: " + m);
+                    chain.addFirst(m);
+                }
+            }
+        }
+
+        List<Hook> out = new ArrayList<>(chain.size());
+        for (Method m : chain) {
+            try {
+                m.setAccessible(true);
+                out.add(new Hook(m, MethodHandles.lookup().unreflect(m).asType(HOOK_TYPE)));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot prepare @PostInject: " + m, e);
+            }
+        }
+        return List.copyOf(out);
+    }
+}
@@ -10,15 +10,25 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 /**
- * Lightweight dynamic proxy that:
+ * Lightweight lazy proxy that:
  * • lazily creates the real instance on first access
  * • evicts it after TTL unless immortal == true
- * • supports default interface methods
+ * • supports default interface methods (dispatched to the target, so overrides win)
  * • UNWRAPS reflective exceptions so callers see the real cause
+ * <p>
+ * Proxies are classes generated once per interface ({@link LazyProxyGenerator}) that call
+ * the target through a plain interface call; idle time is tracked on a coarse shared
+ * clock instead of reading the system clock on every call. Interfaces the generator
+ * cannot reach fall back to a JDK {@link Proxy} dispatching through cached method handles.
+ * </p>
  */
 public final class LazyProxy {
 
@@ -29,15 +39,27 @@ public final class LazyProxy {
 
     public static void setTtl(long ttlMillis) {
         TTL_MS = ttlMillis;
+        Clock.refresh();
     }
 
     public static <T extends IBaseComp> T of(Class<T> iface, Supplier<T> supplier, boolean immortal) {
         if (!iface.isInterface()) return supplier.get();
+        Handler<T> handler = new Handler<>(supplier, immortal);
+
+        MethodHandle factory = LazyProxyGenerator.factoryFor(iface);
+        if (factory != null) {
+            try {
+                return iface.cast(factory.invoke(handler));
+            } catch (Throwable t) {
+                Handler.rethrow(t);
+            }
+        }
+
         @SuppressWarnings("unchecked")
         T proxy = (T) Proxy.newProxyInstance(
             iface.getClassLoader(),
             new Class<?>[]{iface},
-            new Handler<>(supplier, immortal));
+            handler);
         return proxy;
     }
 
@@ -45,52 +67,91 @@ public final class LazyProxy {
         return of(iface, supplier, false);
     }
 
-    /* ───────────────────────── invocation handler ──────────────────── */
-    private static final class Handler<T> implements InvocationHandler {
+    /* ───────────────────────── target holder ───────────────────────── */
+
+    /**
+     * Owns the lazily created target. Public only so that generated proxy classes, which live
+     * in the proxied interface's package, can reach {@link #target()}.
+     */
+    public static final class Handler<T> implements InvocationHandler {
+        private static final Object[] NO_ARGS = new Object[0];
+        /** Spread invokers of the JDK-proxy fallback, per interface method. */
+        private static final Map<Method, MethodHandle> INVOKERS = new ConcurrentHashMap<>();
+
         private final Supplier<T> supplier;
         private final boolean immortal;
 
         private volatile WeakReference<T> ref = new WeakReference<>(null);
-        private volatile long lastUse = System.currentTimeMillis();
+        private volatile long lastUse;
 
         Handler(Supplier<T> supplier, boolean immortal) {
             this.supplier = supplier;
             this.immortal = immortal;
+            this.lastUse = immortal ? 0L : Clock.now();
+        }
+
+        /** The live target, created (or re-created after idle eviction) on demand. */
+        public T target() {
+            T target = ref.get();
+            if (immortal) {
+                return target != null ? target : materialise(0L);
+            }
+
+            long now = Clock.now();
+            if (target != null && now - lastUse <= TTL_MS) {
+                if (lastUse != now) lastUse = now; // the coarse clock makes this write rare
+                return target;
+            }
+            return materialise(now);
+        }
+
+        /**
+         * Slow path: re-checks under the lock, so a racing caller that already (re)created the
+         * target is not evicted again. {@code lastUse} is written before {@code ref} publishes
+         * a new target, so lock-free readers never see it paired with a stale timestamp.
+         */
+        private synchronized T materialise(long now) {
+            T target = ref.get();
+            boolean idle = !immortal && target != null && now - lastUse > TTL_MS;
+            if (target == null || idle) {           // idle-time eviction
+                target = Objects.requireNonNull(supplier.get(), "Lazy supplier returned null");
+                lastUse = now;
+                ref = new WeakReference<>(target);
+            } else if (!immortal && now > lastUse) {
+                lastUse = now;
+            }
+            return target;
+        }
+
+        @Override
+        public String toString() {
+            return "LazyProxy<" + supplier + ">";
         }
 
+        /* JDK-proxy fallback ------------------------------------------- */
+
         @Override
         public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
             // Object methods don't touch target
             switch (m.getName()) {
                 case "hashCode":
-                    return System.identityHashCode(proxy);
+                    if (m.getParameterCount() == 0) return System.identityHashCode(proxy);
+                    break;
                 case "equals":
-                    return proxy == (args != null && args.length > 0 ? args[0] : null);
+                    if (m.getParameterCount() == 1) return proxy == args[0];
+                    break;
                 case "toString":
-                    return "LazyProxy<" + supplier + ">";
+                    if (m.getParameterCount() == 0) return toString();
+                    break;
             }
 
-            long now = System.currentTimeMillis();
-            T target = materialiseTarget(now);
-
-            // Default interface method path (JDK 9+)
-            if (m.isDefault()) {
-                try {
-                    Class<?> declaring = m.getDeclaringClass();
-                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaring, MethodHandles.lookup());
-                    MethodHandle handle = lookup.findSpecial(
-                        declaring,
-                        m.getName(),
-                        MethodType.methodType(m.getReturnType(), m.getParameterTypes()),
-                        declaring);
-                    return handle.bindTo(target).invokeWithArguments(args == null ? new Object[0] : args);
-                } catch (Throwable t) {
-                    rethrow(t); // unwrap & rethrow as unchecked/error
-                    return null; // unreachable
-                }
+            T target = target();
+            MethodHandle invoker = INVOKERS.computeIfAbsent(m, Handler::invokerFor);
+            if (invoker != null) {
+                return invoker.invokeExact((Object) target, args == null ? NO_ARGS : args);
             }
 
-            // Ordinary method
+            // Method not reachable through a lookup: plain reflection
             try {
                 if (!m.canAccess(target)) m.setAccessible(true);
                 return m.invoke(target, args);
@@ -102,35 +163,61 @@ public final class LazyProxy {
             }
         }
 
-        private T materialiseTarget(long now) {
-            T target = ref.get();
-
-            // idle-time eviction
-            if (!immortal && target != null && now - lastUse > TTL_MS) {
-                ref.clear();
-                target = null;
-            }
-
-            if (target == null) {
-                synchronized (this) {
-                    target = ref.get();
-                    if (target == null) {
-                        target = Objects.requireNonNull(supplier.get(), "Lazy supplier returned null");
-                        ref = new WeakReference<>(target);
-                    }
-                }
+        /** {@code (Object target, Object[] args) -> Object} virtual invoker of {@code m}, or {@code null}. */
+        private static MethodHandle invokerFor(Method m) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(m.getDeclaringClass(), MethodHandles.lookup());
+                return lookup.unreflect(m)
+                    .asSpreader(Object[].class, m.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
             }
-            lastUse = now;
-            return target;
         }
 
-        private static void rethrow(Throwable t) {
+        static void rethrow(Throwable t) {
             if (t instanceof RuntimeException re) throw re;
             if (t instanceof Error er) throw er;
             throw new RuntimeException(t);
         }
     }
 
+    /* ───────────────────────── coarse clock ────────────────────────── */
+
+    /**
+     * Millisecond clock for idle tracking, advanced by one daemon thread every TTL/8
+     * (1 ms .. 1 s), so a proxy call reads a volatile instead of the system clock.
+     */
+    private static final class Clock {
+        private static volatile long now = System.currentTimeMillis();
+        private static volatile Thread ticker;
+
+        static long now() {
+            if (ticker == null) start();
+            return now;
+        }
+
+        /** Re-reads the system clock and re-paces the ticker, e.g. after a TTL change. */
+        static void refresh() {
+            now = System.currentTimeMillis();
+            Thread t = ticker;
+            if (t != null) LockSupport.unpark(t);
+        }
+
+        private static synchronized void start() {
+            if (ticker != null) return;
+            Thread t = new Thread(() -> {
+                while (true) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.clamp(TTL_MS / 8, 1L, 1_000L)));
+                    now = System.currentTimeMillis();
+                }
+            }, "gw-lazy-proxy-clock");
+            t.setDaemon(true);
+            t.start();
+            ticker = t;
+        }
+    }
+
     private LazyProxy() {
     }
 }
@@ -0,0 +1,176 @@
+package com.gwngames.core.base;
+
+import groovyjarjarasm.asm.ClassWriter;
+import groovyjarjarasm.asm.Label;
+import groovyjarjarasm.asm.MethodVisitor;
+import groovyjarjarasm.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static groovyjarjarasm.asm.Opcodes.*;
+
+/**
+ * Generates the {@link LazyProxy} class of an interface: every interface method becomes
+ * {@code return ((Iface) handler.target()).m(args);}, a plain interface call the JIT can
+ * inline, with no argument boxing, {@code Object[]} or reflective hop.
+ * <p>
+ * Public interfaces get their class from a private child loader of the interface's loader;
+ * non-public ones a hidden class in their own package, which is only possible from the same
+ * module. When neither applies {@link #factoryFor} returns {@code null} and the caller falls
+ * back to a JDK proxy.
+ * </p>
+ */
+final class LazyProxyGenerator {
+    private static final String HANDLER = Type.getInternalName(LazyProxy.Handler.class);
+    private static final String HANDLER_DESC = Type.getDescriptor(LazyProxy.Handler.class);
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, LazyProxy.Handler.class);
+
+    /** Proxy constructor per interface, {@code (Handler) -> Object}; {@code null} if not generated. */
+    private static final ClassValue<MethodHandle> FACTORIES = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> iface) {
+            try {
+                return generate(iface);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                return null;
+            }
+        }
+    };
+
+    private LazyProxyGenerator() {}
+
+    static MethodHandle factoryFor(Class<?> iface) {
+        return FACTORIES.get(iface);
+    }
+
+    private static MethodHandle generate(Class<?> iface) throws ReflectiveOperationException {
+        String name = iface.getName() + "$$LazyProxy";
+        byte[] bytes = bytecode(name.replace('.', '/'), iface);
+
+        MethodHandles.Lookup proxyLookup;
+        if (Modifier.isPublic(iface.getModifiers())) {
+            Class<?> c = new DefiningLoader(iface.getClassLoader()).define(name, bytes);
+            proxyLookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+        } else {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(iface, MethodHandles.lookup());
+            if (!lookup.hasFullPrivilegeAccess()) return null; // other module: cannot define next to it
+            proxyLookup = lookup.defineHiddenClass(bytes, true);
+        }
+
+        return proxyLookup
+            .findConstructor(proxyLookup.lookupClass(), MethodType.methodType(void.class, LazyProxy.Handler.class))
+            .asType(FACTORY_TYPE);
+    }
+
+    private static byte[] bytecode(String internalName, Class<?> iface) {
+        String ifaceName = Type.getInternalName(iface);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V17, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, internalName, null,
+            "java/lang/Object", new String[]{ifaceName});
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, "handler", HANDLER_DESC, null, null).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "(" + HANDLER_DESC + ")V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(PUTFIELD, internalName, "handler", HANDLER_DESC);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        objectMethods(cw, internalName);
+
+        /* one forwarder per distinct name+descriptor (covariant overrides get one each) */
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method m : iface.getMethods()) {
+            if (Modifier.isStatic(m.getModifiers())) continue;
+            String key = m.getName() + Type.getMethodDescriptor(m);
+            if (isObjectMethod(key)) continue;
+            methods.putIfAbsent(key, m);
+        }
+        for (Method m : methods.values()) forwarder(cw, internalName, ifaceName, m);
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void forwarder(ClassWriter cw, String internalName, String ifaceName, Method m) {
+        String desc = Type.getMethodDescriptor(m);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, m.getName(), desc, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, internalName, "handler", HANDLER_DESC);
+        mv.visitMethodInsn(INVOKEVIRTUAL, HANDLER, "target", "()Ljava/lang/Object;", false);
+        mv.visitTypeInsn(CHECKCAST, ifaceName);
+        int slot = 1;
+        for (Type arg : Type.getArgumentTypes(desc)) {
+            mv.visitVarInsn(arg.getOpcode(ILOAD), slot);
+            slot += arg.getSize();
+        }
+        /* owner is the proxied interface itself: inherited methods resolve through it */
+        mv.visitMethodInsn(INVOKEINTERFACE, ifaceName, m.getName(), desc, true);
+        mv.visitInsn(Type.getReturnType(desc).getOpcode(IRETURN));
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /** Identity {@code equals}/{@code hashCode}; {@code toString} names the supplier. No target access. */
+    private static void objectMethods(ClassWriter cw, String internalName) {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "hashCode", "()I", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/System", "identityHashCode", "(Ljava/lang/Object;)I", false);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "equals", "(Ljava/lang/Object;)Z", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        Label differ = new Label();
+        mv.visitJumpInsn(IF_ACMPNE, differ);
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IRETURN);
+        mv.visitLabel(differ);
+        mv.visitFrame(F_SAME, 0, null, 0, null);
+        mv.visitInsn(ICONST_0);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "toString", "()Ljava/lang/String;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, internalName, "handler", HANDLER_DESC);
+        mv.visitMethodInsn(INVOKEVIRTUAL, HANDLER, "toString", "()Ljava/lang/String;", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static boolean isObjectMethod(String nameAndDesc) {
+        return nameAndDesc.equals("hashCode()I")
+            || nameAndDesc.equals("equals(Ljava/lang/Object;)Z")
+            || nameAndDesc.equals("toString()Ljava/lang/String;");
+    }
+
+    /** One-class loader delegating to the interface's loader. */
+    private static final class DefiningLoader extends ClassLoader {
+        DefiningLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
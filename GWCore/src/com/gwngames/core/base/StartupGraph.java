@@ -0,0 +1,360 @@
+package com.gwngames.core.base;
+
+import com.gwngames.core.CoreSubComponent;
+import com.gwngames.core.api.base.IBaseComp;
+import com.gwngames.core.api.base.cfg.IClassLoader;
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.api.build.Inject;
+import com.gwngames.core.base.cfg.ModuleClassLoader;
+import com.gwngames.core.base.log.FileLogger;
+import com.gwngames.core.data.LogFiles;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Dependency graph of the shared components some root classes need, used to create them ahead
+ * of first use: a component starts as soon as everything it injects has started, independent
+ * ones run in parallel.
+ * <p>
+ * The graph follows single {@link Inject @Inject} fields transitively. {@code createNew} fields
+ * are skipped, they never share an instance. The elements of a {@code loadAll} list stay behind
+ * {@link LazyProxy} until used, but the shared components they inject count as dependencies of
+ * the list's owner. Everything the roots do not reach is still created on first use.
+ * Components that inject each other form one step, started in a single thread.
+ * </p>
+ * {@link #start()} returns a {@link Report} with the time of every step and the critical path,
+ * the chain of dependent steps that bounds the startup time however many threads are used.
+ * Set {@code -Dgw.startup.parallel=false} to start the steps one after another.
+ */
+public final class StartupGraph {
+    private static final FileLogger log = FileLogger.get(LogFiles.SYSTEM);
+
+    public static final String PARALLEL_PROPERTY = "gw.startup.parallel";
+
+    /** One unit of work: a component, or a group of components injecting each other. */
+    static final class Step {
+        final String name;
+        final Runnable action;
+        final List<Step> deps = new ArrayList<>();
+        final List<Step> dependents = new ArrayList<>();
+
+        AtomicInteger pending;
+        long startNanos, endNanos;
+        Throwable failure;
+
+        Step(String name, Runnable action) {
+            this.name = name;
+            this.action = action;
+        }
+    }
+
+    /** Timing of one step, relative to the start of the run. */
+    public record Timing(String name, long startNanos, long ownNanos, boolean failed) { }
+
+    public record Report(long wallNanos, int threads, List<Timing> steps, List<Timing> criticalPath) {
+        public long criticalPathNanos() {
+            return criticalPath.stream().mapToLong(Timing::ownNanos).sum();
+        }
+
+        public long totalNanos() {
+            return steps.stream().mapToLong(Timing::ownNanos).sum();
+        }
+
+        /** Multi-line summary: totals, then the critical path in dependency order. */
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT,
+                "%d steps started in %.1f ms on %d thread(s) (%.1f ms of work, critical path %.1f ms)",
+                steps.size(), ms(wallNanos), threads, ms(totalNanos()), ms(criticalPathNanos())));
+            for (Timing t : criticalPath) {
+                sb.append(String.format(Locale.ROOT, "%n  %8.1f ms  %s%s",
+                    ms(t.ownNanos()), t.name(), t.failed() ? "  (failed)" : ""));
+            }
+            return sb.toString();
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1_000_000d;
+        }
+    }
+
+    private final List<Step> steps;
+
+    StartupGraph(List<Step> steps) {
+        this.steps = List.copyOf(steps);
+        for (Step s : this.steps) {
+            for (Step d : s.deps) d.dependents.add(s);
+        }
+    }
+
+    /* ==================================================================== */
+    /*  Graph construction                                                  */
+    /* ==================================================================== */
+
+    /** The shared components reachable from the {@code @Inject} fields of {@code roots}. */
+    public static StartupGraph forDependenciesOf(Class<?>... roots) {
+        Map<String, Dependency> found = new LinkedHashMap<>();
+        Deque<Class<?>> todo = new ArrayDeque<>(List.of(roots));
+        Map<Class<?>, List<Dependency>> edges = new HashMap<>();
+
+        while (!todo.isEmpty()) {
+            Class<?> type = todo.poll();
+            if (edges.containsKey(type)) continue;
+            List<Dependency> deps = new ArrayList<>();
+            edges.put(type, deps);
+            collect(type, deps, found, todo, new HashSet<>(List.of(type)));
+        }
+
+        List<Dependency> nodes = new ArrayList<>(found.values());
+        List<List<Dependency>> groups = stronglyConnected(nodes, d -> edges.get(d.impl()));
+
+        Map<Dependency, Step> stepOf = new HashMap<>();
+        List<Step> steps = new ArrayList<>(groups.size());
+        for (List<Dependency> group : groups) {
+            Step s = new Step(group.stream().map(Dependency::name).reduce((a, b) -> a + " + " + b).orElseThrow(),
+                () -> group.forEach(Dependency::create));
+            group.forEach(d -> stepOf.put(d, s));
+            steps.add(s);
+        }
+        for (Dependency d : nodes) {
+            Step s = stepOf.get(d);
+            for (Dependency dd : edges.get(d.impl())) {
+                Step ds = stepOf.get(dd);
+                if (ds != s && !s.deps.contains(ds)) s.deps.add(ds);
+            }
+        }
+        return new StartupGraph(steps);
+    }
+
+    /**
+     * Adds what {@code type} injects to {@code deps}; the implementations behind its
+     * {@code loadAll} lists are walked in place, since each host gets instances of its own.
+     */
+    private static void collect(Class<?> type, List<Dependency> deps, Map<String, Dependency> found,
+                                Deque<Class<?>> todo, Set<Class<?>> listed) {
+        for (InjectionPlan.FieldStep step : InjectionPlan.of(type).fields()) {
+            Inject inj = step.inject();
+            if (inj.createNew()) continue;
+            if (inj.loadAll()) {
+                for (Class<?> impl : implementations(step)) {
+                    if (!listed.add(impl)) continue;
+                    try {
+                        collect(impl, deps, found, todo, listed);
+                    } catch (RuntimeException e) {
+                        log.debug("Startup graph: skipping {}: {}", impl.getSimpleName(), e.getMessage());
+                    }
+                }
+                continue;
+            }
+
+            Dependency dep = found.get(Dependency.key(step.field().getType(), inj.subComp()));
+            if (dep == null) {
+                dep = Dependency.resolve(step.field().getType(), inj.subComp());
+                if (dep == null) continue;
+                found.put(dep.key(), dep);
+                todo.add(dep.impl());
+            }
+            if (!deps.contains(dep)) deps.add(dep);
+        }
+    }
+
+    private static List<Class<?>> implementations(InjectionPlan.FieldStep step) {
+        ModuleClassLoader loader = ModuleClassLoader.getInstance();
+        String component = step.elemMeta().component();
+        Class<?> subIface = step.inject().subTypeOf();
+        return subIface != IBaseComp.class
+            ? loader.listSubComponents(component, subIface)
+            : loader.listSubComponents(component);
+    }
+
+    /** An injected component: the requested interface and sub-component, and the class it resolves to. */
+    private record Dependency(Class<? extends IBaseComp> iface, String sub, Class<?> impl) {
+        static String key(Class<?> iface, String sub) {
+            return iface.getName() + '#' + sub;
+        }
+
+        String key() {
+            return key(iface, sub);
+        }
+
+        String name() {
+            return CoreSubComponent.NONE.equals(sub) ? iface.getSimpleName() : iface.getSimpleName() + "/" + sub;
+        }
+
+        void create() {
+            BaseComponent.getInstance(iface, sub);
+        }
+
+        @SuppressWarnings("unchecked")
+        static Dependency resolve(Class<?> type, String sub) {
+            if (!type.isInterface() || !IBaseComp.class.isAssignableFrom(type)) return null;
+            try {
+                Init meta = IClassLoader.resolvedInit(type);
+                ModuleClassLoader loader = ModuleClassLoader.getInstance();
+                Class<?> impl = CoreSubComponent.NONE.equals(sub)
+                    ? loader._findClass(meta.component())
+                    : loader.findSubComponent(meta.component(), sub);
+                if (impl.isEnum()) return null;
+                return new Dependency((Class<? extends IBaseComp>) type, sub, impl);
+            } catch (ClassNotFoundException | RuntimeException e) {
+                // left to first use, which reports it like before
+                log.debug("Startup graph: no implementation for {}#{}: {}", type.getSimpleName(), sub, e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /** Tarjan: strongly connected components, dependencies before their dependents. */
+    private static <N> List<List<N>> stronglyConnected(List<N> nodes, Function<N, List<N>> next) {
+        Map<N, int[]> index = new HashMap<>(); // {index, lowlink}
+        Deque<N> stack = new ArrayDeque<>();
+        Set<N> onStack = new HashSet<>();
+        List<List<N>> out = new ArrayList<>();
+        int[] counter = {0};
+
+        for (N n : nodes) {
+            if (!index.containsKey(n)) strongConnect(n, next, index, stack, onStack, out, counter);
+        }
+        return out;
+    }
+
+    private static <N> void strongConnect(N v, Function<N, List<N>> next, Map<N, int[]> index,
+                                          Deque<N> stack, Set<N> onStack, List<List<N>> out, int[] counter) {
+        int[] vi = {counter[0], counter[0]};
+        counter[0]++;
+        index.put(v, vi);
+        stack.push(v);
+        onStack.add(v);
+
+        for (N w : next.apply(v)) {
+            int[] wi = index.get(w);
+            if (wi == null) {
+                strongConnect(w, next, index, stack, onStack, out, counter);
+                vi[1] = Math.min(vi[1], index.get(w)[1]);
+            } else if (onStack.contains(w)) {
+                vi[1] = Math.min(vi[1], wi[0]);
+            }
+        }
+
+        if (vi[1] == vi[0]) {
+            List<N> group = new ArrayList<>();
+            N w;
+            do {
+                w = stack.pop();
+                onStack.remove(w);
+                group.add(w);
+            } while (w != v);
+            out.add(group);
+        }
+    }
+
+    /* ==================================================================== */
+    /*  Execution                                                           */
+    /* ==================================================================== */
+
+    public int size() {
+        return steps.size();
+    }
+
+    public static boolean isParallel() {
+        return !"false".equalsIgnoreCase(System.getProperty(PARALLEL_PROPERTY));
+    }
+
+    /** Starts every step, on up to one thread per CPU unless disabled by {@value #PARALLEL_PROPERTY}. */
+    public Report start() {
+        return start(isParallel() ? Runtime.getRuntime().availableProcessors() : 1);
+    }
+
+    /**
+     * Starts every step once all its dependencies are done. A failing step is logged and
+     * does not stop the others: the component is simply created (and fails again) on first use.
+     */
+    public Report start(int threads) {
+        threads = Math.max(1, Math.min(threads, steps.size()));
+        long t0 = System.nanoTime();
+
+        if (threads == 1) {
+            for (Step s : steps) run(s);  // construction order is already topological
+        } else {
+            for (Step s : steps) s.pending = new AtomicInteger(s.deps.size());
+            CountDownLatch done = new CountDownLatch(steps.size());
+
+            try (ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "gw-startup");
+                t.setDaemon(true);
+                return t;
+            })) {
+                for (Step s : steps) {
+                    if (s.deps.isEmpty()) submit(pool, done, s);
+                }
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while starting components", e);
+            }
+        }
+
+        long wall = System.nanoTime() - t0;
+        Report report = report(t0, wall, threads);
+        log.info("Startup: {}", report.format());
+        return report;
+    }
+
+    /** Runs {@code s}, then submits every dependent whose last dependency it was. */
+    private static void submit(ExecutorService pool, CountDownLatch done, Step s) {
+        pool.execute(() -> {
+            run(s);
+            for (Step d : s.dependents) {
+                if (d.pending.decrementAndGet() == 0) submit(pool, done, d);
+            }
+            done.countDown();
+        });
+    }
+
+    private static void run(Step s) {
+        s.startNanos = System.nanoTime();
+        try {
+            s.action.run();
+        } catch (Throwable t) {
+            s.failure = t;
+            log.error("Startup: creating {} failed; it will be retried on first use", s.name, t);
+        } finally {
+            s.endNanos = System.nanoTime();
+        }
+    }
+
+    private Report report(long t0, long wall, int threads) {
+        Map<Step, Timing> timing = new IdentityHashMap<>();
+        List<Timing> all = new ArrayList<>(steps.size());
+        for (Step s : steps) {
+            Timing t = new Timing(s.name, s.startNanos - t0, s.endNanos - s.startNanos, s.failure != null);
+            timing.put(s, t);
+            all.add(t);
+        }
+
+        // longest chain by own time; steps are in topological order
+        Map<Step, Long> finish = new IdentityHashMap<>();
+        Map<Step, Step> via = new IdentityHashMap<>();
+        Step last = null;
+        for (Step s : steps) {
+            long before = 0;
+            for (Step d : s.deps) {
+                if (finish.get(d) > before) {
+                    before = finish.get(d);
+                    via.put(s, d);
+                }
+            }
+            finish.put(s, before + timing.get(s).ownNanos());
+            if (last == null || finish.get(s) > finish.get(last)) last = s;
+        }
+
+        LinkedList<Timing> path = new LinkedList<>();
+        for (Step s = last; s != null; s = via.get(s)) path.addFirst(timing.get(s));
+        return new Report(wall, threads, List.copyOf(all), List.copyOf(path));
+    }
+}
@@ -7,6 +7,8 @@ import com.gwngames.core.base.BaseComponent;
 import com.gwngames.core.base.log.FileLogger;
 import com.gwngames.core.data.cfg.BuildParameters;
 import com.gwngames.core.data.event.EventParameters;
+import com.gwngames.core.data.event.ExecutionMode;
+import com.gwngames.core.data.event.OverflowPolicy;
 
 @Init(module = CoreModule.CORE)
 public class CoreConfiguration extends BaseComponent implements IConfig {
@@ -22,5 +24,16 @@ public class CoreConfiguration extends BaseComponent implements IConfig {
         setDefault(EventParameters.STATUS_LOG_SECONDS_PER_LOG, 60f);
         setDefault(EventParameters.COMM_EVENT_MAX_THREAD, 1);
         setDefault(EventParameters.SYSTEM_EVENT_MAX_THREAD, 4);
+        setDefault(EventParameters.COMM_EVENT_CAPACITY, 4_096);
+        setDefault(EventParameters.COMM_EVENT_OVERFLOW, OverflowPolicy.DROP_NEWEST);
+        setDefault(EventParameters.SYSTEM_EVENT_CAPACITY, 0);
+        setDefault(EventParameters.SYSTEM_EVENT_OVERFLOW, OverflowPolicy.DROP_NEWEST);
+        setDefault(EventParameters.COMM_EVENT_EXECUTION, ExecutionMode.PLATFORM);
+        setDefault(EventParameters.COMM_EVENT_VIRTUAL_LIMIT, 256);
+        setDefault(EventParameters.SYSTEM_EVENT_EXECUTION, ExecutionMode.PLATFORM);
+        setDefault(EventParameters.SYSTEM_EVENT_VIRTUAL_LIMIT, 256);
+        setDefault(EventParameters.METRICS_ENABLED, Boolean.TRUE);
+        setDefault(EventParameters.HISTORY_MAX_ENTRIES, 16_384);
+        setDefault(EventParameters.HISTORY_RETENTION_SECONDS, 600f);
     }
 }
@@ -14,15 +14,22 @@ import com.gwngames.core.base.cfg.i18n.CoreTranslation;
 import com.gwngames.core.base.log.FileLogger;
 import com.gwngames.core.data.LogFiles;
 import com.gwngames.core.generated.ModulePriorityRegistry;
+import com.gwngames.core.util.ClassBytes;
+import com.gwngames.core.util.ClassUtils;
+import com.gwngames.core.util.ComponentIndex;
 import com.gwngames.core.util.ComponentUtils;
 import com.gwngames.core.util.TransformingURLClassLoader;
+import com.gwngames.core.util.WeaveCache;
 
 import java.io.*;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
 import java.lang.reflect.Constructor;
 import java.net.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.jar.JarFile;
 
 /**
@@ -54,9 +61,16 @@ public class ModuleClassLoader extends ClassLoader implements IClassLoader {
      */
     private final Map<String, List<Class<?>>> allConcreteByKey = new ConcurrentHashMap<>();
 
+    /** Per-component lookup tables, built on first lookup (see {@link #tables()}). */
+    private volatile LookupTables tables;
+
     private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
 
     private static ModuleClassLoader INSTANCE;
+    /** Set while the singleton is being constructed (see {@link #getInstance()}). */
+    private static boolean initializing;
+    /** Set once the singleton is fully constructed; readable without the class lock. */
+    private static volatile boolean ready;
 
     /* positive / negative lookup caches */
     private final Map<String, Class<?>> resolved = new ConcurrentHashMap<>();
@@ -67,30 +81,49 @@ public class ModuleClassLoader extends ClassLoader implements IClassLoader {
     private final Map<URLClassLoader, JarFile> jars = new LinkedHashMap<>();
     private final List<URLClassLoader> dirLoaders   = new ArrayList<>();
     private final List<ProjectLoader>  classLoaders = new ArrayList<>();
+    /** Build-time component indexes per jar / class directory; roots without one are scanned. */
+    private final Map<Object, ComponentIndex> indexes = new HashMap<>();
 
     /* ==================================================================== */
     /*  Singleton                                                           */
     /* ==================================================================== */
     public static synchronized ModuleClassLoader getInstance() {
         if (INSTANCE == null) {
+            /* the constructor's loggers resolve their plugin through this method: without the
+             * guard every re-entry built yet another loader until the stack overflowed */
+            if (initializing) throw new IllegalStateException("ModuleClassLoader is still initializing");
+            initializing = true;
             try {
                 log().info("Initializing ModuleClassLoader singleton...");
                 INSTANCE = new ModuleClassLoader();
                 INSTANCE.ensureTypesLoaded();
+                ready = true;
                 log().info("ModuleClassLoader initialized successfully.");
             } catch (ErrorPopupException e) {
                 log().error("Failed to initialize ModuleClassLoader", e);
                 throw new RuntimeException(e);
+            } finally {
+                initializing = false;
             }
         }
         return INSTANCE;
     }
 
+    /**
+     * Whether {@link #getInstance()} can hand out the loader. {@code false} until the singleton is
+     * built, including while its own constructor runs: code reached from there (loggers,
+     * exceptions) must not ask for components yet.
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
     private ModuleClassLoader() throws ErrorPopupException {
         super(ModuleClassLoader.class.getClassLoader());
         log().debug("ModuleClassLoader created with parent ClassLoader: {}", getParent());
         initLoaders();
         initJars();
+        initWeaveCache();
         log().info("ModuleClassLoader setup completed with {} class loaders and {} JARs.",
             loaders.size(), jars.size());
     }
@@ -218,17 +251,60 @@ public class ModuleClassLoader extends ClassLoader implements IClassLoader {
                 if (f.isDirectory()) {
                     dirLoaders.add(l);
                     dirCount++;
+                    loadIndex(f, () -> ComponentIndex.of(f));
                 } else if (f.getName().endsWith(".jar")) {
                     try {
-                        jars.put(l, new JarFile(f));
+                        JarFile jar = new JarFile(f);
+                        jars.put(l, jar);
                         jarCount++;
+                        loadIndex(jar, () -> ComponentIndex.of(jar));
                     } catch (IOException e) {
                         log().error("Error opening JAR file {}", f, e);
                     }
                 }
             }
         }
-        log().info("Initialized {} JAR files and {} class directories.", jarCount, dirCount);
+        log().info("Initialized {} JAR files and {} class directories ({} indexed).",
+            jarCount, dirCount, indexes.size());
+    }
+
+    /**
+     * Shares one {@link WeaveCache} between the project loaders. Its fingerprint hashes every
+     * module root, so it is only computed when the first Closest class is defined.
+     */
+    private void initWeaveCache() {
+        List<File> roots = new ArrayList<>();
+        for (URLClassLoader l : loaders) for (URL u : l.getURLs()) roots.add(new File(u.getFile()));
+
+        Supplier<WeaveCache> cache = new Supplier<>() {
+            private WeaveCache value;
+            private boolean done;
+
+            @Override
+            public synchronized WeaveCache get() {
+                if (!done) {
+                    value = WeaveCache.open(WeaveCache.fingerprint(roots, ModulePriorityRegistry.asMap()));
+                    done = true;
+                }
+                return value;
+            }
+        };
+        for (URLClassLoader l : loaders) {
+            if (l instanceof TransformingURLClassLoader t) t.setWeaveCache(cache);
+        }
+    }
+
+    private interface IndexSource { ComponentIndex read() throws IOException; }
+
+    private void loadIndex(Object root, IndexSource source) {
+        if (!ComponentIndex.isEnabled()) return;
+        try {
+            ComponentIndex idx = source.read();
+            if (idx != null) indexes.put(root, idx);
+            else log().debug("No component index in {}; it will be scanned", root);
+        } catch (IOException e) {
+            log().error("Unreadable component index in {}; it will be scanned", root, e);
+        }
     }
 
     /* ==================================================================== */
@@ -329,161 +405,176 @@ public class ModuleClassLoader extends ClassLoader implements IClassLoader {
         }
     }
 
+    /**
+     * Every type carrying {@code ann} in the project jars and class directories, in loader order.
+     * <p>
+     * The roots are read in parallel ({@link ClassBytes}); roots with a build-time index read
+     * only the listed classes, the others keep just the class files whose bytes declare
+     * {@code ann}. The matches are then loaded one by one, their bytes handed to the loader so
+     * nothing is read twice.
+     * </p>
+     */
     @Override
     public List<Class<?>> scanForAnnotated(Class<? extends Annotation> ann) {
-        List<Class<?>> out = new ArrayList<>();
-
-        // 1) JARs
-        jars.forEach((loader, jar) -> jar.entries().asIterator().forEachRemaining(e -> {
-            if (!e.getName().endsWith(".class")) return;
-            String cn = e.getName().replace('/', '.').replace(".class", "");
-            try {
-                Class<?> c = loader.loadClass(cn);
-                if (c.getAnnotation(ann) != null) out.add(c);
-            } catch (Throwable ignored) {}
-        }));
+        record Root(URLClassLoader loader, ClassBytes.Source source) { }
 
-        // 2) Directories
+        Predicate<byte[]> declaresAnn = declares(ann);
+        List<Root> roots = new ArrayList<>();
+        jars.forEach((loader, jar) ->
+            roots.add(new Root(loader, sourceOf(new File(jar.getName()), indexes.get(jar), ann, declaresAnn))));
         for (URLClassLoader l : dirLoaders) {
             for (URL u : l.getURLs()) {
                 File root = new File(u.getFile());
-                if (!root.isDirectory()) continue;
-
-                final int rootLen = root.getAbsolutePath().length() + 1;
-                Deque<File> stack = new ArrayDeque<>();
-                stack.push(root);
-
-                while (!stack.isEmpty()) {
-                    File cur = stack.pop();
-                    File[] kids = cur.listFiles();
-                    if (kids == null) continue;
-
-                    for (File k : kids) {
-                        if (k.isDirectory()) {
-                            stack.push(k);
-                        } else if (k.getName().endsWith(".class")) {
-                            String abs = k.getAbsolutePath();
-                            String rel = abs.substring(rootLen).replace(File.separatorChar, '.');
-                            String cn = rel.substring(0, rel.length() - ".class".length());
-                            try {
-                                Class<?> c = l.loadClass(cn);
-                                if (c.getAnnotation(ann) != null) out.add(c);
-                            } catch (Throwable ignored) {}
-                        }
-                    }
-                }
+                if (root.isDirectory()) roots.add(new Root(l, sourceOf(root, indexes.get(root), ann, declaresAnn)));
             }
         }
 
+        List<List<ClassBytes.Entry>> read = ClassBytes.readAll(roots.stream().map(Root::source).toList());
+
+        List<Class<?>> out = new ArrayList<>();
+        for (int i = 0; i < roots.size(); i++) {
+            URLClassLoader loader = roots.get(i).loader();
+            for (ClassBytes.Entry e : read.get(i)) {
+                if (loader instanceof TransformingURLClassLoader t) t.prefetch(e.className(), e.bytes());
+                try {
+                    Class<?> c = loader.loadClass(e.className());
+                    if (c.getAnnotation(ann) != null) out.add(c);
+                } catch (Throwable t) {
+                    log().debug("Class {} could not be loaded", e.className(), t);
+                }
+            }
+        }
         return out;
     }
 
-    /* ==================================================================== */
-    /*  Lookup helpers (String ids)                                         */
-    /* ==================================================================== */
-
-    private Class<?> interfaceOf(String componentId) throws ClassNotFoundException {
-        ensureTypesLoaded();
-        for (Class<?> i : interfaceTypes) {
-            Init an = i.getAnnotation(Init.class);
-            if (an != null && eqId(an.component(), componentId)) return i;
+    /** What to read of one root: the indexed classes if its index covers {@code ann}, else a byte filter. */
+    private static ClassBytes.Source sourceOf(File root, ComponentIndex idx, Class<? extends Annotation> ann,
+                                              Predicate<byte[]> declaresAnn) {
+        if (idx != null && idx.covers(ann)) {
+            Set<String> listed = new HashSet<>(idx.classNames(ann));
+            return new ClassBytes.Source(root, listed::contains, b -> true);
         }
-        throw new ClassNotFoundException("No interface for component " + componentId);
+        return new ClassBytes.Source(root, n -> true, declaresAnn);
     }
 
-    /* single-component (allowMultiple = false) --------------------------- */
-
-    public Class<?> _findClass(String componentId) throws ClassNotFoundException {
-        Class<?> iface = interfaceOf(componentId);
-
-        Class<?> best = null;
-        int bestPrio = Integer.MIN_VALUE;
+    /** Byte-level pre-filter; {@code @Inherited} annotations can't be decided without loading. */
+    private static Predicate<byte[]> declares(Class<? extends Annotation> ann) {
+        if (ann.isAnnotationPresent(Inherited.class)) return b -> true;
+        String desc = "L" + ann.getName().replace('.', '/') + ";";
+        return bytes -> {
+            try {
+                return ClassUtils.classfileHasAnnotation(new ByteArrayInputStream(bytes), desc);
+            } catch (IOException | RuntimeException e) {
+                return true;                             // undecidable: let loading tell
+            }
+        };
+    }
 
-        for (Class<?> c : concreteTypes) {
-            if (!iface.isAssignableFrom(c)) continue;
+    /* ==================================================================== */
+    /*  Lookup helpers (String ids)                                         */
+    /* ==================================================================== */
 
-            Init an = IClassLoader.resolvedInit(c);
-            if (!isNoneSub(an.subComp())) continue;
+    /**
+     * Candidates of one component id, each list by module priority DESC; ties keep scan order,
+     * so the first of equals still wins. {@code bestBySub} is keyed by normalised sub-component.
+     */
+    private record ComponentTable(Class<?> iface,
+                                  List<Class<?>> singles,
+                                  List<Class<?>> subs,
+                                  Map<String, Class<?>> bestBySub) { }
 
-            int p = prioOf(an);
-            if (p > bestPrio) { best = c; bestPrio = p; }
-        }
+    /** All tables, stamped with the {@link ModulePriorityRegistry#version()} they were sorted with. */
+    private record LookupTables(int priorityVersion, Map<String, ComponentTable> byComponent) { }
 
-        if (best == null) throw new ClassNotFoundException("No impl of " + componentId);
-        return best;
+    private Map<String, ComponentTable> tables() {
+        LookupTables t = tables;
+        int version = ModulePriorityRegistry.version();
+        if (t == null || t.priorityVersion() != version) t = buildTables(version);
+        return t.byComponent();
     }
 
-    public List<Class<?>> findClasses(String componentId) throws ClassNotFoundException {
-        Class<?> iface = interfaceOf(componentId);
-        List<Class<?>> out = new ArrayList<>();
-
-        for (Class<?> c : concreteTypes) {
-            if (!iface.isAssignableFrom(c)) continue;
+    private synchronized LookupTables buildTables(int version) {
+        ensureTypesLoaded();
+        LookupTables t = tables;
+        if (t != null && t.priorityVersion() == version) return t;
+
+        Map<String, ComponentTable> byComponent = new HashMap<>();
+        for (Class<?> iface : interfaceTypes) {
+            Init an = iface.getAnnotation(Init.class);
+            if (an == null) continue;
+            String id = norm(an.component());
+            if (byComponent.containsKey(id)) continue;          // first interface wins
+
+            List<Class<?>> singles = new ArrayList<>();
+            List<Class<?>> subs = new ArrayList<>();
+            for (Class<?> c : concreteTypes) {
+                if (!iface.isAssignableFrom(c)) continue;
+                (isNoneSub(IClassLoader.resolvedInit(c).subComp()) ? singles : subs).add(c);
+            }
+            sortByPriority(singles);
+            sortByPriority(subs);
 
-            Init an = IClassLoader.resolvedInit(c);
-            if (!isNoneSub(an.subComp())) continue;
+            Map<String, Class<?>> bestBySub = new HashMap<>();
+            for (Class<?> c : subs) bestBySub.putIfAbsent(norm(IClassLoader.resolvedInit(c).subComp()), c);
 
-            out.add(c);
+            byComponent.put(id, new ComponentTable(iface, List.copyOf(singles), List.copyOf(subs), Map.copyOf(bestBySub)));
         }
 
-        if (out.isEmpty()) throw new ClassNotFoundException("No impl of " + componentId);
+        t = new LookupTables(version, Map.copyOf(byComponent));
+        tables = t;
+        log().debug("Built lookup tables for {} components", byComponent.size());
+        return t;
+    }
 
-        out.sort(Comparator.comparingInt(
+    private static void sortByPriority(List<Class<?>> list) {
+        list.sort(Comparator.comparingInt(
             (Class<?> cl) -> prioOf(IClassLoader.resolvedInit(cl))
         ).reversed());
-
-        return out;
     }
 
-    /* multi sub-components (allowMultiple = true) ------------------------ */
-
-    public Class<?> findSubComponent(String componentId, String subCompId) throws ClassNotFoundException {
-        if (isNoneSub(subCompId)) throw new IllegalArgumentException("subComp NONE");
+    private ComponentTable tableOf(String componentId) throws ClassNotFoundException {
+        ComponentTable t = tables().get(norm(componentId));
+        if (t == null) throw new ClassNotFoundException("No interface for component " + componentId);
+        return t;
+    }
 
-        Class<?> iface = interfaceOf(componentId);
-        Init ifaceAnn = iface.getAnnotation(Init.class);
+    private static ComponentTable requireMultiple(ComponentTable t) {
+        Init ifaceAnn = t.iface().getAnnotation(Init.class);
         if (ifaceAnn == null || !ifaceAnn.allowMultiple()) {
-            throw new IllegalStateException(iface.getSimpleName() + " does not allow multiple");
+            throw new IllegalStateException(t.iface().getSimpleName() + " does not allow multiple");
         }
+        return t;
+    }
 
-        Class<?> best = null;
-        int bestPrio = Integer.MIN_VALUE;
+    /* single-component (allowMultiple = false) --------------------------- */
 
-        for (Class<?> c : concreteTypes) {
-            Init an = IClassLoader.resolvedInit(c);
+    public Class<?> _findClass(String componentId) throws ClassNotFoundException {
+        List<Class<?>> singles = tableOf(componentId).singles();
+        if (singles.isEmpty()) throw new ClassNotFoundException("No impl of " + componentId);
+        return singles.get(0);
+    }
 
-            if (!eqId(an.subComp(), subCompId)) continue;
-            if (!iface.isAssignableFrom(c)) continue;
+    public List<Class<?>> findClasses(String componentId) throws ClassNotFoundException {
+        List<Class<?>> singles = tableOf(componentId).singles();
+        if (singles.isEmpty()) throw new ClassNotFoundException("No impl of " + componentId);
+        return new ArrayList<>(singles);
+    }
 
-            int p = prioOf(an);
-            if (p > bestPrio) { best = c; bestPrio = p; }
-        }
+    /* multi sub-components (allowMultiple = true) ------------------------ */
+
+    public Class<?> findSubComponent(String componentId, String subCompId) throws ClassNotFoundException {
+        if (isNoneSub(subCompId)) throw new IllegalArgumentException("subComp NONE");
 
+        Class<?> best = requireMultiple(tableOf(componentId)).bestBySub().get(norm(subCompId));
         if (best == null) throw new ClassNotFoundException("No " + componentId + "/" + subCompId);
         return best;
     }
 
+    /** Read-only, shared: callers must copy before modifying. */
     private List<Class<?>> findSubComponents(String componentId) throws ClassNotFoundException {
-        Class<?> iface = interfaceOf(componentId);
-        Init ifaceAnn = iface.getAnnotation(Init.class);
-        if (ifaceAnn == null || !ifaceAnn.allowMultiple()) {
-            throw new IllegalStateException(iface.getSimpleName() + " does not allow multiple");
-        }
-
-        List<Class<?>> out = new ArrayList<>();
-        for (Class<?> c : concreteTypes) {
-            Init an = IClassLoader.resolvedInit(c);
-
-            if (iface.isAssignableFrom(c) && !isNoneSub(an.subComp())) out.add(c);
-        }
-
-        if (out.isEmpty()) throw new ClassNotFoundException("No sub-components for " + componentId);
-
-        out.sort(Comparator.comparingInt(
-            (Class<?> cl) -> prioOf(IClassLoader.resolvedInit(cl))
-        ).reversed());
-
-        return out;
+        List<Class<?>> subs = requireMultiple(tableOf(componentId)).subs();
+        if (subs.isEmpty()) throw new ClassNotFoundException("No sub-components for " + componentId);
+        return subs;
     }
 
     /* ==================================================================== */
@@ -562,18 +653,24 @@ public class ModuleClassLoader extends ClassLoader implements IClassLoader {
             return newViaExternalFactory(clazz);
         }
 
-        boolean noneAllowMultiple = Arrays.stream(clazz.getInterfaces())
-            .filter(IBaseComp.class::isAssignableFrom)
-            .map(IClassLoader::resolvedInit)
-            .noneMatch(Init::allowMultiple);
-
-        if (noneAllowMultiple) {
+        if (SINGLETON_TYPES.get(clazz)) {
             return singletons.computeIfAbsent(clazz, c -> newViaConstructor(c, params));
         }
 
         return newViaConstructor(clazz, params);
     }
 
+    /** Whether instances of a class are shared: none of its component interfaces allows multiple. */
+    private static final ClassValue<Boolean> SINGLETON_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+            return Arrays.stream(clazz.getInterfaces())
+                .filter(IBaseComp.class::isAssignableFrom)
+                .map(IClassLoader::resolvedInit)
+                .noneMatch(Init::allowMultiple);
+        }
+    };
+
     private Object newViaExternalFactory(Class<?> clazz) {
         try {
             return clazz.getMethod("getInstance").invoke(null);
@@ -676,7 +773,7 @@ public class ModuleClassLoader extends ClassLoader implements IClassLoader {
     }
 
     public List<Class<?>> listSubComponents(String componentId) {
-        try { return findSubComponents(componentId); }
+        try { return new ArrayList<>(findSubComponents(componentId)); }
         catch (ClassNotFoundException e) { return Collections.emptyList(); }
     }
 
@@ -3,7 +3,6 @@ package com.gwngames.core.base.cfg;
 import com.gwngames.core.api.build.IPlugin;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Loads plugins via ServiceLoader and selects the highest-priority implementation.
@@ -11,70 +10,109 @@ import java.util.concurrent.ConcurrentHashMap;
  * IMPORTANT: Providers may live in dynamically loaded module JARs, so we prefer
  * {@link ModuleClassLoader} (the module runtime loader) when present.
  * Higher modules override lower modules by {@link IPlugin#priority()}.
+ * <p>
+ * Results, including "no provider", are kept in an immutable snapshot that lookups read
+ * without locking; only the first lookup of a type runs {@link ServiceLoader} (under the
+ * class lock, publishing a new snapshot). {@link #reload()} discovers every known type again,
+ * e.g. after module jars were swapped.
+ * </p>
+ * <p>
+ * Lookups made before the module loader is available (e.g. by loggers created while it is being
+ * built) only see the class path: they are answered but not cached, so the first lookup once
+ * the module loader is ready finds providers living in module jars.
+ * </p>
  */
 public final class PluginRegistry {
 
-    private static final Map<Class<? extends IPlugin>, IPlugin> SELECTED = new ConcurrentHashMap<>();
-    private static final Map<Class<? extends IPlugin>, List<IPlugin>> ALL = new ConcurrentHashMap<>();
-
-    private PluginRegistry() {}
-
-    public static synchronized <T extends IPlugin> T get(Class<T> type) {
-        IPlugin cached = SELECTED.get(type);
-        if (cached != null) return type.cast(cached);
-
-        ClassLoader cl = resolvePluginClassLoader();
-
-        ServiceLoader<T> loader = ServiceLoader.load(type, cl);
-
-        List<T> found = new ArrayList<>();
-        loader.forEach(found::add);
-
-        // fallback: try the default loader as well (useful in tests/IDE)
-        if (found.isEmpty()) {
-            ServiceLoader<T> fallback = ServiceLoader.load(type);
-            fallback.forEach(found::add);
-        }
+    /** Discovery result of one plugin type: the selected provider (may be null) and all, priority DESC. */
+    private record Entry(IPlugin selected, List<IPlugin> all) { }
 
-        found.sort(Comparator.comparingInt(IPlugin::priority).reversed());
-        ALL.put(type, List.copyOf(found));
+    private static volatile Map<Class<? extends IPlugin>, Entry> snapshot = Map.of();
 
-        if (found.isEmpty()) return null;
+    private PluginRegistry() {}
 
-        T best = found.getFirst();
-        SELECTED.put(type, best);
-        return best;
+    public static <T extends IPlugin> T get(Class<T> type) {
+        Entry e = snapshot.get(type);
+        if (e == null) e = discover(type);
+        return type.cast(e.selected());
     }
 
-    /** For diagnostics/tests. Sorted DESC by priority. */
+    /** For diagnostics/tests. Sorted DESC by priority; empty until the type was looked up. */
     @SuppressWarnings("unchecked")
     public static <T extends IPlugin> List<T> list(Class<T> type) {
-        return (List<T>) (List<?>) ALL.getOrDefault(type, List.of());
+        Entry e = snapshot.get(type);
+        return e == null ? List.of() : (List<T>) (List<?>) e.all();
     }
 
     /** Hard override for tests or bootstrapping. */
     public static synchronized <T extends IPlugin> void override(Class<T> type, T instance) {
-        SELECTED.put(type, instance);
+        Entry e = snapshot.get(type);
+        publish(type, new Entry(instance, e == null ? List.of() : e.all()));
     }
 
     public static synchronized void reset() {
-        SELECTED.clear();
-        ALL.clear();
+        snapshot = Map.of();
+    }
+
+    /** Runs discovery again for every type looked up so far; overrides are dropped. */
+    public static synchronized void reload() {
+        Set<Class<? extends IPlugin>> types = snapshot.keySet();
+        snapshot = Map.of();
+        for (Class<? extends IPlugin> type : types) discover(type);
+    }
+
+    private static synchronized Entry discover(Class<? extends IPlugin> type) {
+        Entry cached = snapshot.get(type);
+        if (cached != null) return cached;
+        return discover(type, moduleLoader());
     }
 
-    private static ClassLoader resolvePluginClassLoader() {
-        // 1) Prefer module loader so ServiceLoader can see providers in module JARs
+    /** Discovers {@code type} through {@code modules}; {@code null} means not available yet, nothing is cached. */
+    static synchronized <T extends IPlugin> T lookup(Class<T> type, ClassLoader modules) {
+        return type.cast(discover(type, modules).selected());
+    }
+
+    private static Entry discover(Class<? extends IPlugin> type, ClassLoader modules) {
+        ClassLoader cl = modules != null ? modules : fallbackClassLoader();
+
+        List<IPlugin> found = new ArrayList<>();
+        ServiceLoader.load(type, cl).forEach(found::add);
+
+        // fallback: try the default loader as well (useful in tests/IDE)
+        if (found.isEmpty()) {
+            ServiceLoader.load(type).forEach(found::add);
+        }
+
+        found.sort(Comparator.comparingInt(IPlugin::priority).reversed());
+        Entry e = new Entry(found.isEmpty() ? null : found.getFirst(), List.copyOf(found));
+        if (modules != null) publish(type, e);
+        return e;
+    }
+
+    /** Copy-on-write: readers keep the map they hold, later ones see the new entry. */
+    private static void publish(Class<? extends IPlugin> type, Entry e) {
+        Map<Class<? extends IPlugin>, Entry> next = new HashMap<>(snapshot);
+        next.put(type, e);
+        snapshot = Map.copyOf(next);
+    }
+
+    /** The module loader so ServiceLoader can see providers in module JARs, or {@code null} while it is not available. */
+    private static ClassLoader moduleLoader() {
         try {
-            // If ModuleClassLoader is not initialized yet, this call will initialize it.
-            // If you do NOT want plugin lookup to force init, see the note below.
+            // If ModuleClassLoader is not initialized yet, this call will initialize it;
+            // while it is being initialized (our caller runs inside its constructor) it throws.
             return ModuleClassLoader.getInstance();
-        } catch (Throwable ignored) {
-            // 2) Fall back to context loader (tests / IDE)
-            ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-            if (tccl != null) return tccl;
-
-            // 3) Last resort
-            return PluginRegistry.class.getClassLoader();
+        } catch (Throwable notYet) {
+            return null;
         }
     }
+
+    private static ClassLoader fallbackClassLoader() {
+        // context loader (tests / IDE)
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        if (tccl != null) return tccl;
+
+        // last resort
+        return PluginRegistry.class.getClassLoader();
+    }
 }
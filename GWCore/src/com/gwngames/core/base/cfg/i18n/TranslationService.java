@@ -13,7 +13,7 @@ import java.util.Map;
 
 @Init(module = CoreModule.CORE)
 public final class TranslationService extends BaseComponent implements ITranslationService {
-    private static final FileLogger log = FileLogger.get(LogFiles.CONFIG);
+    private static final FileLogger log = FileLogger.get(LogFiles.CONFIG, TranslationService.class);
     private static volatile Map<Locale, Map<String,String>> translations = CSVTranslationLoader.load();
     private static Locale defaultLocale = Locale.US;
 
@@ -0,0 +1,353 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.data.LogFiles;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Writes log text to files from one background thread.
+ * <p>
+ * Callers format their line and {@link #append} it to a bounded ring buffer; when the buffer is
+ * full they wait for the writer (nothing is dropped). The writer thread drains the buffer in
+ * batches into one long-lived {@link BufferedWriter} per file, flushes once per batch and
+ * rotates a file when its tracked line or byte count reaches the limit: the full file is
+ * renamed to the next segment, {@code <name>.1}, {@code <name>.2}, ..., and a fresh one started.
+ * Segments are then compressed and pruned according to the {@link Retention}, off the writer
+ * thread.
+ * </p>
+ * Counts are read from disk only when a file is first opened; after that they are tracked.
+ * A caller that is interrupted while waiting, or that arrives during or after {@link #close()},
+ * writes its line itself instead, so nothing appended is lost.
+ */
+public final class AsyncLogWriter implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 16_384;
+    public static final int DEFAULT_MAX_LINES = 10_000;
+    public static final long DEFAULT_MAX_BYTES = 8L * 1024 * 1024;
+
+    private static final int BATCH = 1_024;
+
+    /**
+     * What happens to rotated segments: gzip them, and keep at most {@code maxTotalBytes} of
+     * them per log file, none older than {@code maxAge} ({@code null} for no age limit).
+     */
+    public record Retention(boolean compress, long maxTotalBytes, Duration maxAge) {
+        /** Segments stay as they are, forever. */
+        public static final Retention KEEP_ALL = new Retention(false, Long.MAX_VALUE, null);
+
+        /**
+         * Defaults for long-running processes, overridable with {@code -Dgw.log.compress},
+         * {@code -Dgw.log.retainMb} and {@code -Dgw.log.retainDays} ({@code 0}: no limit).
+         */
+        public static Retention fromSystemProperties() {
+            boolean compress = Boolean.parseBoolean(System.getProperty("gw.log.compress", "true"));
+            long mb = Long.getLong("gw.log.retainMb", 256);
+            long days = Long.getLong("gw.log.retainDays", 30);
+            return new Retention(compress,
+                mb > 0 ? mb * 1024 * 1024 : Long.MAX_VALUE,
+                days > 0 ? Duration.ofDays(days) : null);
+        }
+    }
+
+    private static volatile AsyncLogWriter shared;
+
+    /** A unit of work for the writer thread: text for a file, or a flush barrier. */
+    private record Record(String file, String text, int lines, CountDownLatch barrier) { }
+
+    private final BlockingQueue<Record> ring;
+    private final int maxLines;
+    private final long maxBytes;
+    private final PrintStream echo;
+    private final LogArchiver archiver;
+    private final Thread thread;
+    private volatile boolean closed;
+    /** Producers that may still be putting into the ring; {@link #close()} drains until none is left. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Queued by {@link #close()}: the writer thread ends once it reaches it, without being interrupted. */
+    private static final Record STOP = new Record(null, null, 0, null);
+
+    /** Open files; guarded by {@code this} (the writer thread, or callers after close). */
+    private final Map<String, Sink> sinks = new HashMap<>();
+
+    /**
+     * @param capacity ring buffer size, in log records
+     * @param maxLines rotate a file once it holds this many lines
+     * @param maxBytes ... or this many bytes
+     * @param echo     stream every record is also printed to, or {@code null}
+     */
+    public AsyncLogWriter(int capacity, int maxLines, long maxBytes, PrintStream echo) {
+        this(capacity, maxLines, maxBytes, echo, Retention.KEEP_ALL);
+    }
+
+    /**
+     * @param retention what to do with rotated segments
+     */
+    public AsyncLogWriter(int capacity, int maxLines, long maxBytes, PrintStream echo, Retention retention) {
+        this(capacity, maxLines, maxBytes, echo, retention.equals(Retention.KEEP_ALL) ? null : new LogArchiver(retention));
+    }
+
+    /**
+     * @param archiver takes the rotated segments, or {@code null} to keep them as they are
+     */
+    AsyncLogWriter(int capacity, int maxLines, long maxBytes, PrintStream echo, LogArchiver archiver) {
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.maxLines = maxLines;
+        this.maxBytes = maxBytes;
+        this.echo = echo;
+        this.archiver = archiver;
+        this.thread = new Thread(this::run, "gw-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * The process-wide writer (default limits, {@link Retention#fromSystemProperties()}, echoing to
+     * {@code System.out}); closed at JVM exit.
+     */
+    public static AsyncLogWriter shared() {
+        AsyncLogWriter w = shared;
+        if (w != null) return w;
+        synchronized (AsyncLogWriter.class) {
+            if (shared == null) {
+                AsyncLogWriter created = new AsyncLogWriter(DEFAULT_CAPACITY, DEFAULT_MAX_LINES, DEFAULT_MAX_BYTES,
+                    System.out, Retention.fromSystemProperties());
+                Runtime.getRuntime().addShutdownHook(new Thread(created::close, "gw-log-writer-shutdown"));
+                shared = created;
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Queues {@code text} (one or more lines, without trailing line separator) for {@code file}.
+     * Blocks while the buffer is full; once {@link #close()} started, if the writer thread is
+     * gone, or if the caller is interrupted while waiting, the text is written synchronously.
+     */
+    public void append(String file, String text) {
+        Record r = new Record(file, text, countLines(text), null);
+        inFlight.incrementAndGet();
+        try {
+            while (!closed && thread.isAlive()) {
+                if (ring.offer(r, 50, TimeUnit.MILLISECONDS)) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        synchronized (this) {
+            write(r);
+            flushAll();
+        }
+    }
+
+    /** Waits until everything appended before this call is written and flushed. */
+    public void flush() {
+        if (closed) return;
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            ring.put(new Record(null, null, 0, done));
+            while (!done.await(100, TimeUnit.MILLISECONDS)) {
+                if (!thread.isAlive()) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Writes what is queued, closes every file, stops the writer thread and finishes archiving. */
+    @Override
+    public void close() {
+        if (closed) return;
+        flush();
+        closed = true;
+        /* no interrupt: it would close the file channel under a write in progress */
+        try {
+            boolean queued = false;
+            while (!queued && thread.isAlive()) queued = ring.offer(STOP, 50, TimeUnit.MILLISECONDS);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // records queued between the last flush and the stop, including those of producers
+        // that were already waiting for room: later ones see 'closed' and write themselves
+        boolean producers;
+        do {
+            producers = inFlight.get() > 0;
+            drainRest();
+            if (producers) Thread.yield();
+        } while (producers || !ring.isEmpty());
+        synchronized (this) {
+            for (Sink s : sinks.values()) s.close();
+            sinks.clear();
+        }
+        if (archiver != null) archiver.close();
+    }
+
+    private synchronized void drainRest() {
+        List<Record> rest = new ArrayList<>();
+        ring.drainTo(rest);
+        for (Record r : rest) {
+            if (r.barrier() != null) r.barrier().countDown();
+            else if (r != STOP) write(r);
+        }
+        flushAll();
+    }
+
+    /* ==================================================================== */
+    /*  Writer thread                                                       */
+    /* ==================================================================== */
+
+    private void run() {
+        List<Record> batch = new ArrayList<>(BATCH);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(ring.take());
+            } catch (InterruptedException e) {
+                continue; // only close() ends this thread, through STOP
+            }
+            ring.drainTo(batch, BATCH - 1);
+            synchronized (this) {
+                for (Record r : batch) {
+                    if (r == STOP) stop = true;
+                    else if (r.barrier() == null) write(r);
+                }
+                flushAll();
+            }
+            for (Record r : batch) {
+                if (r.barrier() != null) r.barrier().countDown();
+            }
+            batch.clear();
+        }
+    }
+
+    /** Writes one record; a failure is reported and costs that record only, never the writer thread. */
+    private void write(Record r) {
+        try {
+            Sink s = sinks.computeIfAbsent(r.file(), Sink::new);
+            s.write(r.text(), r.lines());
+            if (echo != null) echo.println(r.text());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to write log " + r.file() + ": " + e);
+        }
+    }
+
+    private void flushAll() {
+        try {
+            for (Sink s : sinks.values()) s.flush();
+            if (echo != null) echo.flush();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to flush logs: " + e);
+        }
+    }
+
+    private static int countLines(String text) {
+        int n = 1;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) n++;
+        return n;
+    }
+
+    /** One log file: its open writer and what it holds so far. */
+    private final class Sink {
+        final Path path;
+        Writer out;
+        long lines;
+        long bytes;
+        boolean dirty;
+        /** Index of the next segment; 0 until the directory has been looked at. */
+        int nextSegment;
+
+        Sink(String file) {
+            this.path = Paths.get(file == null ? LogFiles.DEFAULT : file).normalize().toAbsolutePath(); // handles "../"
+        }
+
+        void write(String text, int textLines) {
+            try {
+                if (out == null) open();
+                long size = text.length() + 1L; // chars: close enough to bytes for the limit
+                if ((lines > 0 && lines + textLines > maxLines) || (bytes > 0 && bytes + size > maxBytes)) rotate();
+                out.write(text);
+                out.write('\n');
+                lines += textLines;
+                bytes += size;
+                dirty = true;
+            } catch (IOException e) {
+                System.err.println("Failed to write log " + path + ": " + e.getMessage());
+                close();
+            }
+        }
+
+        void flush() {
+            if (!dirty || out == null) return;
+            try {
+                out.flush();
+            } catch (IOException e) {
+                System.err.println("Failed to flush log " + path + ": " + e.getMessage());
+            }
+            dirty = false;
+        }
+
+        void close() {
+            if (out == null) return;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+        }
+
+        private void open() throws IOException {
+            Files.createDirectories(path.getParent());
+            if (Files.exists(path)) {
+                bytes = Files.size(path);
+                try (Stream<String> l = Files.lines(path, StandardCharsets.UTF_8)) {
+                    lines = l.count();
+                } catch (RuntimeException e) {
+                    lines = 0; // undecodable content: rely on the byte limit
+                }
+            } else {
+                bytes = 0;
+                lines = 0;
+            }
+            out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (nextSegment == 0) {
+                // continue after the newest segment left by earlier runs
+                List<Path> segments = LogArchiver.segments(path);
+                nextSegment = segments.isEmpty() ? 1 : LogArchiver.index(path, segments.get(segments.size() - 1)) + 1;
+                if (archiver != null && !segments.isEmpty()) archiver.sweep(path);
+            }
+        }
+
+        private void rotate() throws IOException {
+            close();
+            Path rotated;
+            do {
+                rotated = path.resolveSibling(path.getFileName() + "." + nextSegment++);
+            } while (Files.exists(rotated) || Files.exists(rotated.resolveSibling(rotated.getFileName() + ".gz")));
+            Files.move(path, rotated);
+            open();
+            if (archiver != null) archiver.rotated(path, rotated);
+        }
+    }
+}
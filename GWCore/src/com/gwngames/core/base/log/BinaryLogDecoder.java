@@ -0,0 +1,157 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Renders {@link BinaryLogWriter} files as text, one line per event, in the layout of the text
+ * logs: {@code [timestamp - thread - component] [LEVEL] message}, followed by the stack trace
+ * if one was recorded. A file cut short by a crash is decoded up to its last complete event.
+ */
+public final class BinaryLogDecoder {
+
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final String[] LEVELS = {"ERROR", "INFO", "DEBUG"};
+
+    private BinaryLogDecoder() { }
+
+    /**
+     * Command line entry point: {@code BinaryLogDecoder <file.bin>...}, text to standard output.
+     * Archived {@code .gz} segments are decompressed on the fly.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: BinaryLogDecoder <file.bin>...");
+            System.exit(2);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        for (String a : args) {
+            try (InputStream raw = Files.newInputStream(Path.of(a));
+                 InputStream in = a.endsWith(".gz") ? new GZIPInputStream(raw) : raw) {
+                decode(in, out);
+            }
+        }
+        out.flush();
+    }
+
+    /** Decodes one file from {@code in} into {@code out}; returns the number of events. */
+    public static long decode(InputStream in, Appendable out) throws IOException {
+        DataInputStream din = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        byte[] magic = new byte[BinaryLogWriter.MAGIC.length];
+        din.readFully(magic);
+        if (!Arrays.equals(magic, BinaryLogWriter.MAGIC)) throw new IOException("Not a binary log");
+        int version = din.readUnsignedByte();
+        if (version != BinaryLogWriter.VERSION) throw new IOException("Unsupported binary log version " + version);
+        long millis = din.readLong();
+
+        List<String> templates = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        templates.add(null);
+        names.add(null);
+        List<Object> args = new ArrayList<>();
+        long thread = 0;
+        int comp = 0;
+        long events = 0;
+
+        while (true) {
+            int kind = din.read();
+            if (kind < 0) break;
+            try {
+                if (kind == BinaryLogWriter.TEMPLATE) {
+                    define(templates, (int) readVar(din), readString(din));
+                } else if (kind == BinaryLogWriter.NAME) {
+                    define(names, (int) readVar(din), readString(din));
+                } else if ((kind & BinaryLogWriter.EVENT) != 0) {
+                    String template = templates.get((int) readVar(din));
+                    long at = millis + unzigzag(readVar(din));
+                    long t = (kind & BinaryLogWriter.SAME_THREAD) != 0 ? thread : readVar(din);
+                    int c = (kind & BinaryLogWriter.SAME_COMPONENT) != 0 ? comp : (int) readVar(din);
+                    args.clear();
+                    long argc = readVar(din);
+                    for (long i = 0; i < argc; i++) args.add(readArg(din));
+                    String trace = (kind & BinaryLogWriter.HAS_ERROR) != 0 ? readString(din) : null;
+                    millis = at;
+                    thread = t;
+                    comp = c;
+
+                    int level = kind & BinaryLogWriter.LEVEL_MASK;
+                    String component = names.get(comp);
+                    out.append('[').append(DATE_FORMAT.format(Instant.ofEpochMilli(millis)))
+                        .append(" - ").append(Long.toString(thread))
+                        .append(" - ").append(component == null ? "-" : component.substring(component.lastIndexOf('.') + 1))
+                        .append("] [").append(level < LEVELS.length ? LEVELS[level] : Integer.toString(level))
+                        .append("] ").append(StringUtils.formatBraces(template, args.toArray()))
+                        .append(System.lineSeparator());
+                    if (trace != null) out.append(trace.stripTrailing()).append(System.lineSeparator());
+                    events++;
+                } else {
+                    throw new IOException("Corrupt binary log: record type " + kind);
+                }
+            } catch (EOFException truncated) {
+                break;
+            }
+        }
+        return events;
+    }
+
+    private static void define(List<String> table, int id, String text) {
+        while (table.size() <= id) table.add(null);
+        table.set(id, text);
+    }
+
+    private static Object readArg(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case BinaryLogWriter.A_NULL -> null;
+            case BinaryLogWriter.A_INT -> (int) unzigzag(readVar(in));
+            case BinaryLogWriter.A_LONG -> unzigzag(readVar(in));
+            case BinaryLogWriter.A_DOUBLE -> Double.longBitsToDouble(in.readLong());
+            case BinaryLogWriter.A_FLOAT -> Float.intBitsToFloat(in.readInt());
+            case BinaryLogWriter.A_DOUBLE_AS_FLOAT -> (double) Float.intBitsToFloat(in.readInt());
+            case BinaryLogWriter.A_TRUE -> Boolean.TRUE;
+            case BinaryLogWriter.A_FALSE -> Boolean.FALSE;
+            case BinaryLogWriter.A_CHAR -> (char) readVar(in);
+            case BinaryLogWriter.A_STRING -> readString(in);
+            default -> throw new IOException("Corrupt binary log: argument type " + tag);
+        };
+    }
+
+    private static long readVar(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("Corrupt binary log: varint too long");
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVar(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
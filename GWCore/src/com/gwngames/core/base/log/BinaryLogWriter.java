@@ -0,0 +1,306 @@
+package com.gwngames.core.base.log;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structured binary log: instead of a formatted line, each event stores its template id, time,
+ * thread, component and raw arguments. Templates and component names are written once per
+ * file and referenced by id afterwards, so a typical line costs a few bytes and no formatting.
+ * {@link BinaryLogDecoder} turns a file back into text.
+ * <p>
+ * Enabled for every {@link FileLogger} with {@code -Dgw.log.binary=true}; each log file then
+ * gets a {@code <file>.bin} next to it. The previous run's is kept as {@code <file>.bin.N},
+ * and these segments are compressed and pruned like rotated text logs, following
+ * {@link AsyncLogWriter.Retention#fromSystemProperties()}.
+ * Events are encoded into an in-memory buffer under the writer's lock and written out when it
+ * fills, every {@value #FLUSH_MILLIS} ms, and at exit.
+ * </p>
+ *
+ * <pre>
+ * file     := MAGIC version:u8 startMillis:i64 record*
+ * record   := TEMPLATE id:var text:str
+ *           | NAME id:var text:str
+ *           | event:u8 template:var dMillis:zvar [thread:var] [component:var] argc:var arg* [stackTrace:str]
+ * event    := EVENT | level | SAME_THREAD? | SAME_COMPONENT? | HAS_ERROR?
+ * arg      := NULL | INT zvar | LONG zvar | DOUBLE i64 | FLOAT i32 | DOUBLE_AS_FLOAT i32
+ *           | TRUE | FALSE | CHAR var | STRING str
+ * str      := length:var utf8-bytes
+ * </pre>
+ * {@code var} is an unsigned LEB128 varint, {@code zvar} a zig-zag varint. Thread and component
+ * are omitted when equal to the previous event's; component 0 is "none". Doubles that fit a
+ * float exactly are stored in four bytes.
+ */
+public final class BinaryLogWriter implements AutoCloseable {
+
+    public static final String PROPERTY = "gw.log.binary";
+    public static final String SUFFIX = ".bin";
+
+    static final byte[] MAGIC = {'G', 'W', 'B', 'L'};
+    static final int VERSION = 1;
+
+    static final int TEMPLATE = 1, NAME = 2;
+    /** Event record flags; the low two bits hold the level. */
+    static final int EVENT = 0x80, SAME_THREAD = 0x40, SAME_COMPONENT = 0x20, HAS_ERROR = 0x10, LEVEL_MASK = 0x03;
+    static final int A_NULL = 0, A_INT = 1, A_LONG = 2, A_DOUBLE = 3, A_FLOAT = 4,
+        A_TRUE = 5, A_FALSE = 6, A_CHAR = 7, A_STRING = 8, A_DOUBLE_AS_FLOAT = 9;
+
+    private static final int BUFFER = 64 * 1024;
+    private static final long FLUSH_MILLIS = 500;
+
+    private static final Map<Path, BinaryLogWriter> OPEN = new ConcurrentHashMap<>();
+    private static volatile ScheduledExecutorService flusher;
+
+    private final Path path;
+    private final OutputStream out;
+    private final LogArchiver archiver;
+    private final Map<String, Integer> templates = new HashMap<>();
+    private final Map<String, Integer> names = new HashMap<>();
+    private byte[] buf = new byte[BUFFER];
+    private int pos;
+    private long lastMillis;
+    private long lastThread = -1;
+    private int lastComponent = -1;
+    private boolean closed;
+
+    /**
+     * Starts a new binary log at {@code file}, keeping earlier ones as they are. Ids are only valid
+     * within one file, so an existing non-empty file is first moved to the next {@code <file>.N}.
+     */
+    public BinaryLogWriter(Path file) throws IOException {
+        this(file, AsyncLogWriter.Retention.KEEP_ALL);
+    }
+
+    /**
+     * @param retention what to do with the {@code <file>.N} segments of earlier runs
+     */
+    public BinaryLogWriter(Path file, AsyncLogWriter.Retention retention) throws IOException {
+        this.path = file.normalize().toAbsolutePath();
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        if (!fresh) Files.move(path, rotatedName(path));
+        this.archiver = retention.equals(AsyncLogWriter.Retention.KEEP_ALL) ? null : new LogArchiver(retention);
+        if (archiver != null) archiver.sweep(path);
+        this.out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.lastMillis = System.currentTimeMillis();
+        put(MAGIC);
+        put(VERSION);
+        putLong(lastMillis);
+    }
+
+    /** The process-wide writer for the text log {@code logFilePath}; closed at JVM exit. */
+    public static BinaryLogWriter forLog(String logFilePath) {
+        Path p = Paths.get(logFilePath + SUFFIX).normalize().toAbsolutePath();
+        return OPEN.computeIfAbsent(p, k -> {
+            try {
+                BinaryLogWriter w = new BinaryLogWriter(k, AsyncLogWriter.Retention.fromSystemProperties());
+                startFlusher();
+                return w;
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot open binary log " + k, e);
+            }
+        });
+    }
+
+    /** Whether {@code -Dgw.log.binary=true} is set. */
+    public static boolean enabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Records one event. {@code level} is one of {@link FileLogger#ERROR_LEVEL} ...
+     * {@link FileLogger#DEBUG_LEVEL}; {@code component} may be {@code null}.
+     *
+     * @return {@code false} if the writer is closed and the event was not recorded
+     */
+    public synchronized boolean write(int level, String component, String template, Throwable error, Object... args) {
+        if (closed) return false;
+        int t = id(templates, TEMPLATE, template == null ? "null" : template);
+        int c = component == null ? 0 : id(names, NAME, component);
+        long now = System.currentTimeMillis();
+        long thread = Thread.currentThread().threadId();
+
+        int head = EVENT | (level & LEVEL_MASK);
+        if (thread == lastThread) head |= SAME_THREAD;
+        if (c == lastComponent) head |= SAME_COMPONENT;
+        if (error != null) head |= HAS_ERROR;
+        put(head);
+        putVar(t);
+        putVar(zigzag(now - lastMillis));
+        if (thread != lastThread) putVar(thread);
+        if (c != lastComponent) putVar(c);
+        lastMillis = now;
+        lastThread = thread;
+        lastComponent = c;
+
+        int argc = args == null ? 0 : args.length;
+        putVar(argc);
+        for (int i = 0; i < argc; i++) putArg(args[i]);
+
+        if (error != null) {
+            StringWriter sw = new StringWriter(1024);
+            error.printStackTrace(new PrintWriter(sw));
+            putString(sw.toString());
+        }
+        if (pos >= BUFFER - 512) drain();
+        return true;
+    }
+
+    /** Writes buffered events to the file. */
+    public synchronized void flush() {
+        if (closed) return;
+        drain();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        drain();
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+        OPEN.remove(path, this);
+        if (archiver != null) archiver.close();
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /* ==================================================================== */
+    /*  Encoding                                                            */
+    /* ==================================================================== */
+
+    private int id(Map<String, Integer> ids, int kind, String text) {
+        Integer id = ids.get(text);
+        if (id != null) return id;
+        int next = ids.size() + 1;
+        ids.put(text, next);
+        put(kind);
+        putVar(next);
+        putString(text);
+        return next;
+    }
+
+    private void putArg(Object a) {
+        switch (a) {
+            case null -> put(A_NULL);
+            case Integer i -> { put(A_INT); putVar(zigzag(i)); }
+            case Long l -> { put(A_LONG); putVar(zigzag(l)); }
+            case Short s -> { put(A_INT); putVar(zigzag(s)); }
+            case Byte b -> { put(A_INT); putVar(zigzag(b)); }
+            case Double d when (double) (float) (double) d == d -> { put(A_DOUBLE_AS_FLOAT); putInt(Float.floatToRawIntBits((float) (double) d)); }
+            case Double d -> { put(A_DOUBLE); putLong(Double.doubleToRawLongBits(d)); }
+            case Float f -> { put(A_FLOAT); putInt(Float.floatToRawIntBits(f)); }
+            case Boolean b -> put(b ? A_TRUE : A_FALSE);
+            case Character ch -> { put(A_CHAR); putVar(ch); }
+            default -> { put(A_STRING); putString(String.valueOf(a)); }
+        }
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private void ensure(int n) {
+        if (pos + n > buf.length) {
+            drain();
+            if (n > buf.length) buf = new byte[n];
+        }
+    }
+
+    private void put(int b) {
+        ensure(1);
+        buf[pos++] = (byte) b;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void putVar(long v) {
+        ensure(10);
+        while ((v & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[pos++] = (byte) v;
+    }
+
+    private void putInt(int v) {
+        ensure(4);
+        for (int s = 24; s >= 0; s -= 8) buf[pos++] = (byte) (v >>> s);
+    }
+
+    private void putLong(long v) {
+        ensure(8);
+        for (int s = 56; s >= 0; s -= 8) buf[pos++] = (byte) (v >>> s);
+    }
+
+    private void putString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        putVar(bytes.length);
+        put(bytes);
+    }
+
+    private void drain() {
+        if (pos == 0) return;
+        try {
+            out.write(buf, 0, pos);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to write binary log " + path + ": " + e.getMessage());
+        }
+        pos = 0;
+    }
+
+    /* ==================================================================== */
+    /*  Shared writers                                                      */
+    /* ==================================================================== */
+
+    /** The segment after the newest one left next to {@code p}, compressed or not. */
+    private static Path rotatedName(Path p) {
+        List<Path> segments = LogArchiver.segments(p);
+        int idx = segments.isEmpty() ? 1 : LogArchiver.index(p, segments.get(segments.size() - 1)) + 1;
+        Path r;
+        do {
+            r = p.resolveSibling(p.getFileName() + "." + idx++);
+        } while (Files.exists(r) || Files.exists(r.resolveSibling(r.getFileName() + ".gz")));
+        return r;
+    }
+
+    private static void startFlusher() {
+        if (flusher != null) return;
+        synchronized (BinaryLogWriter.class) {
+            if (flusher != null) return;
+            ScheduledExecutorService s = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "gw-binlog-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            s.scheduleWithFixedDelay(() -> OPEN.values().forEach(BinaryLogWriter::flush),
+                FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> OPEN.values().forEach(BinaryLogWriter::close), "gw-binlog-shutdown"));
+            flusher = s;
+        }
+    }
+}
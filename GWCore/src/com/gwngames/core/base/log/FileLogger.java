@@ -3,15 +3,25 @@ package com.gwngames.core.base.log;
 import com.gwngames.core.api.base.cfg.IApplicationLogger;
 import com.gwngames.core.api.plugin.LoggingPlugin;
 import com.gwngames.core.base.BaseComponent;
+import com.gwngames.core.base.cfg.ModuleClassLoader;
 import com.gwngames.core.base.cfg.PluginRegistry;
 import com.gwngames.core.data.LogFiles;
 
-import java.util.Arrays;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
+/**
+ * Logger writing to one log file through the configured {@link IApplicationLogger}; lines are
+ * also tapped into the dashboard {@link LogBus} of the calling component.
+ * <p>
+ * The component is either bound when the logger is obtained ({@link #get(String, Class)}),
+ * which makes logging free of any stack inspection, or looked up with a short
+ * {@link StackWalker} walk that stops at the first component frame.
+ * </p>
+ */
 public class FileLogger {
-    private IApplicationLogger logger;
+    private volatile IApplicationLogger logger;
+    /** Used until the module loader is ready; not kept, so a plugin from a module jar can still take over. */
+    private static final IApplicationLogger BOOTSTRAP_LOGGER = new StdErrApplicationLogger();
     private boolean forceDefaultLog = false;
     public static final int ERROR_LEVEL = 0;
     public static final int INFO_LEVEL  = 1;
@@ -25,10 +35,18 @@ public class FileLogger {
     /** When true, all FileLogger instances log to LogFiles.TEST */
     private static volatile boolean forceTestLogFile = false;
 
+    /** {@code -Dgw.log.binary=true}: lines go to {@link BinaryLogWriter} instead of the text logger. */
+    private static final boolean BINARY = BinaryLogWriter.enabled();
+    private volatile BinaryLogWriter binary;
+
     private final String logFilePath;
 
-    private FileLogger(String logFilePath) {
+    /** Dashboard key bound at creation, or {@code null} to look the caller up per line. */
+    private final String componentKey;
+
+    private FileLogger(String logFilePath, String componentKey) {
         this.logFilePath = isRunningTests() ? LogFiles.TEST : logFilePath;
+        this.componentKey = componentKey;
     }
 
     private IApplicationLogger logger() {
@@ -43,6 +61,8 @@ public class FileLogger {
                 LoggingPlugin lg = PluginRegistry.get(LoggingPlugin.class);
                 if (lg != null) {
                     logger = lg.createApplicationLogger();
+                } else if (!ModuleClassLoader.isReady()) {
+                    return BOOTSTRAP_LOGGER;
                 } else {
                     logger = new StdErrApplicationLogger();
                 }
@@ -52,12 +72,24 @@ public class FileLogger {
     }
 
     public static FileLogger get(String logFilePath, boolean forceDefaultLog){
-        FileLogger lg = new FileLogger(logFilePath);
+        FileLogger lg = new FileLogger(logFilePath, null);
         lg.setForceDefaultLog(forceDefaultLog);
         return lg;
     }
-    public static FileLogger get(String logFilePath){ return new FileLogger(logFilePath); }
+    public static FileLogger get(String logFilePath){ return new FileLogger(logFilePath, null); }
+    /**
+     * Logger whose dashboard lines are attributed to {@code owner}, without walking the stack.
+     * Falls back to the per-line lookup when {@code owner} is not a component.
+     */
+    public static FileLogger get(String logFilePath, Class<?> owner){
+        return new FileLogger(logFilePath, owner != null && IS_COMPONENT.get(owner) ? owner.getName() : null);
+    }
     public static void setLevel (int level){ enabled_level = level; }
+    /** Whether lines of {@code level} ({@link #ERROR_LEVEL} ... {@link #DEBUG_LEVEL}) are logged. */
+    public static boolean isEnabled(int level){ return enabled_level >= level; }
+    public boolean isErrorEnabled(){ return isEnabled(ERROR_LEVEL); }
+    public boolean isInfoEnabled(){ return isEnabled(INFO_LEVEL); }
+    public boolean isDebugEnabled(){ return isEnabled(DEBUG_LEVEL); }
     public static void setDashboardTap(boolean on){ tapDashboard = on; }
     /** For tests (or launchers) to force all logs into LogFiles.TEST. */
     public static void setForceTestLogFile(boolean on) { forceTestLogFile = on; }
@@ -65,98 +97,151 @@ public class FileLogger {
     // ───────────────────────── public API ─────────────────────────
 
     public void info(String message, Object... args) {
-        if (enabled_level >= INFO_LEVEL) {
-            logger().log(logFilePath, message, args);
-            dashTap(LogBus.Level.INFO, message, null, args);
+        if (isEnabled(INFO_LEVEL)) {
+            if (!toBinary(INFO_LEVEL, message, null, args)) logger().log(logFilePath, message, args);
+            dashTap(componentKey, LogBus.Level.INFO, message, null, args);
         }
     }
 
     public void info(String message, Throwable exception, Object... args) {
-        if (enabled_level >= INFO_LEVEL) {
-            logger().log(logFilePath, message, exception, args);
-            dashTap(LogBus.Level.INFO, message, exception, args);
+        if (isEnabled(INFO_LEVEL)) {
+            if (!toBinary(INFO_LEVEL, message, exception, args)) logger().log(logFilePath, message, exception, args);
+            dashTap(componentKey, LogBus.Level.INFO, message, exception, args);
         }
     }
 
     public void error(String message, Object... args) {
-        if (enabled_level >= ERROR_LEVEL) {
-            logger().error(logFilePath, message, args);
-            dashTap(LogBus.Level.ERROR, message, null, args);
+        if (isEnabled(ERROR_LEVEL)) {
+            if (!toBinary(ERROR_LEVEL, message, null, args)) logger().error(logFilePath, message, args);
+            dashTap(componentKey, LogBus.Level.ERROR, message, null, args);
         }
     }
 
     public void error(String message, Throwable exception, Object... args) {
-        if (enabled_level >= ERROR_LEVEL) {
-            logger().error(logFilePath, message, exception, args);
-            dashTap(LogBus.Level.ERROR, message, exception, args);
+        if (isEnabled(ERROR_LEVEL)) {
+            if (!toBinary(ERROR_LEVEL, message, exception, args)) logger().error(logFilePath, message, exception, args);
+            dashTap(componentKey, LogBus.Level.ERROR, message, exception, args);
         }
     }
 
     public void debug(String message, Object... args) {
-        if (enabled_level >= DEBUG_LEVEL) {
-            logger().debug(logFilePath, message, args);
-            dashTap(LogBus.Level.DEBUG, message, null, args);
+        if (isEnabled(DEBUG_LEVEL)) {
+            if (!toBinary(DEBUG_LEVEL, message, null, args)) logger().debug(logFilePath, message, args);
+            dashTap(componentKey, LogBus.Level.DEBUG, message, null, args);
         }
     }
 
     public void debug(String message, Throwable exception, Object... args) {
-        if (enabled_level >= DEBUG_LEVEL) {
-            logger().debug(logFilePath, message, exception, args);
-            dashTap(LogBus.Level.DEBUG, message, exception, args);
+        if (isEnabled(DEBUG_LEVEL)) {
+            if (!toBinary(DEBUG_LEVEL, message, exception, args)) logger().debug(logFilePath, message, exception, args);
+            dashTap(componentKey, LogBus.Level.DEBUG, message, exception, args);
         }
     }
 
+    /*
+     * Fixed-arity forms of info and debug: a call below the level builds no argument array.
+     * The Throwable forms keep an exception from being taken as a plain argument.
+     */
+    private static final Object[] NO_ARGS = {};
+
+    public void info(String message) {
+        if (isEnabled(INFO_LEVEL)) info(message, NO_ARGS);
+    }
+
+    public void info(String message, Object arg) {
+        if (isEnabled(INFO_LEVEL)) info(message, new Object[]{arg});
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (isEnabled(INFO_LEVEL)) info(message, new Object[]{arg1, arg2});
+    }
+
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(INFO_LEVEL)) info(message, new Object[]{arg1, arg2, arg3});
+    }
+
+    public void info(String message, Throwable exception) {
+        if (isEnabled(INFO_LEVEL)) info(message, exception, NO_ARGS);
+    }
+
+    public void info(String message, Throwable exception, Object arg) {
+        if (isEnabled(INFO_LEVEL)) info(message, exception, new Object[]{arg});
+    }
+
+    public void info(String message, Throwable exception, Object arg1, Object arg2) {
+        if (isEnabled(INFO_LEVEL)) info(message, exception, new Object[]{arg1, arg2});
+    }
+
+    public void debug(String message) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, NO_ARGS);
+    }
+
+    public void debug(String message, Object arg) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, new Object[]{arg});
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, new Object[]{arg1, arg2});
+    }
+
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, new Object[]{arg1, arg2, arg3});
+    }
+
+    public void debug(String message, Throwable exception) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, exception, NO_ARGS);
+    }
+
+    public void debug(String message, Throwable exception, Object arg) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, exception, new Object[]{arg});
+    }
+
+    public void debug(String message, Throwable exception, Object arg1, Object arg2) {
+        if (isEnabled(DEBUG_LEVEL)) debug(message, exception, new Object[]{arg1, arg2});
+    }
+
     // ──────────────────────── internals ─────────────────────────
 
-    private static final Set<String> SKIP_PREFIX = Set.of(
-        "com.gwngames.core.base.log.", "java.", "sun.", "jdk.", "org.slf4j", "org.apache.logging"
-    );
-    private static final ConcurrentHashMap<String, Boolean> IS_BASECOMP_CACHE = new ConcurrentHashMap<>();
-
-    private static boolean skip(String cn) {
-        if (cn == null) return true;
-        for (String p : SKIP_PREFIX) if (cn.startsWith(p)) return true;
-        return false;
-    }
-
-    /** Find the first stack frame whose class is a BaseComponent subclass. */
-    private static String resolveCallerComponentClassKey() {
-        StackTraceElement[] st = new Throwable().getStackTrace();
-        for (int i = 2; i < st.length; i++) {
-            String cn = st[i].getClassName();
-            if (skip(cn)) continue;
-
-            Boolean hit = IS_BASECOMP_CACHE.get(cn);
-            if (hit == null) {
-                boolean is = false;
-                try {
-                    Class<?> c = Class.forName(cn, false,
-                        Thread.currentThread().getContextClassLoader());
-                    is = BaseComponent.class.isAssignableFrom(c);
-                } catch (Throwable ignored) {}
-                IS_BASECOMP_CACHE.put(cn, is);
-                hit = is;
+    /** Records the line in the binary log when enabled; {@code false} means "use the text logger". */
+    private boolean toBinary(int level, String template, Throwable ex, Object... args) {
+        if (!BINARY) return false;
+        BinaryLogWriter b = binary;
+        if (b == null) {
+            try {
+                binary = b = BinaryLogWriter.forLog(logFilePath);
+            } catch (IllegalStateException e) {
+                return false;
             }
-            if (hit) return cn; // class-level key
         }
-        return null;
+        return b.write(level, componentKey, template, ex, args); // closed at exit: text from then on
     }
 
-    private static String safeFormat(String msg, Object... args) {
-        try {
-            return (args == null || args.length == 0) ? msg : String.format(msg, args);
-        } catch (Exception e) {
-            return msg + " " + Arrays.toString(args);
+    /** Frames inspected before giving up on finding a component caller. */
+    private static final int MAX_CALLER_DEPTH = 32;
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ClassValue<Boolean> IS_COMPONENT = new ClassValue<>() {
+        @Override protected Boolean computeValue(Class<?> c) {
+            return BaseComponent.class.isAssignableFrom(c);
         }
+    };
+
+    /** Class name of the nearest calling BaseComponent subclass, or {@code null}. */
+    static String resolveCallerComponentClassKey() {
+        Optional<Class<?>> hit = WALKER.walk(frames -> frames
+            .limit(MAX_CALLER_DEPTH)
+            .<Class<?>>map(StackWalker.StackFrame::getDeclaringClass)
+            .filter(IS_COMPONENT::get)
+            .findFirst());
+        return hit.map(Class::getName).orElse(null); // class-level key
     }
 
-    private static void dashTap(LogBus.Level lvl, String template, Throwable ex, Object... args) {
+    /** Feeds the caller's dashboard buffer, where {@link LogBus} renders the line. */
+    private static void dashTap(String boundKey, LogBus.Level lvl, String template, Throwable ex, Object... args) {
         if (!tapDashboard) return;
         try {
-            String key = resolveCallerComponentClassKey();
+            String key = boundKey != null ? boundKey : resolveCallerComponentClassKey();
             if (key != null) {
-                String line = safeFormat(template, args);
-                LogBus.record(key, lvl, line, ex);
+                LogBus.record(key, lvl, template, ex, args);
             }
         } catch (Throwable ignored) {}
     }
@@ -169,17 +254,11 @@ public class FileLogger {
         if (Boolean.getBoolean("gw.tests")) return true;
 
         // JUnit 4/5 / Gradle test worker classnames
-        StackTraceElement[] st = Thread.currentThread().getStackTrace();
-        for (StackTraceElement e : st) {
-            String cn = e.getClassName();
-            if (cn.startsWith("org.junit.")
+        return WALKER.walk(frames -> frames.map(StackWalker.StackFrame::getClassName).anyMatch(cn ->
+            cn.startsWith("org.junit.")
                 || cn.startsWith("org.gradle.api.internal.tasks.testing.")
                 || cn.startsWith("org.gradle.internal.dispatch.")
-                || cn.startsWith("org.testng.")) {
-                return true;
-            }
-        }
-        return false;
+                || cn.startsWith("org.testng.")));
     }
 
     public boolean isForceDefaultLog() {
@@ -6,40 +6,60 @@ import org.slf4j.Marker;
 import org.slf4j.event.Level;
 final class GwLogger implements Logger {
     private final String name;
+    private final String prefix;
+    private final String warnPrefix;
     private final FileLogger log = FileLogger.get(LogFiles.EXT);
 
-    GwLogger(String name) { this.name = name; }
+    GwLogger(String name) {
+        this.name = name;
+        this.prefix = "[" + name + "] ";
+        this.warnPrefix = "[WARN][" + name + "] ";
+    }
 
     @Override public String getName() { return name; }
 
     /* ── level checks (map to your FileLogger’s enabled level) ── */
     @Override public boolean isTraceEnabled() { return isDebugEnabled(); } // no trace in FileLogger; map to debug
-    @Override public boolean isDebugEnabled() { return false; }
-    @Override public boolean isInfoEnabled()  { return true; }
-    @Override public boolean isWarnEnabled()  { return true; }
-    @Override public boolean isErrorEnabled() { return true; }
+    @Override public boolean isDebugEnabled() { return log.isDebugEnabled(); }
+    @Override public boolean isInfoEnabled()  { return log.isInfoEnabled(); }
+    @Override public boolean isWarnEnabled()  { return log.isInfoEnabled(); } // warn is logged as info
+    @Override public boolean isErrorEnabled() { return log.isErrorEnabled(); }
+
+    private boolean enabled(Level lvl) {
+        return switch (lvl) {
+            case TRACE, DEBUG -> isDebugEnabled();
+            case INFO, WARN   -> isInfoEnabled();
+            case ERROR        -> isErrorEnabled();
+        };
+    }
 
+    /*
+     * The level is checked before anything is concatenated; the fixed-arity methods check it
+     * before their varargs call too, so a disabled call only costs the check.
+     */
     private void log(Level lvl, String msg, Object... args) {
+        if (!enabled(lvl)) return;
         switch (lvl) {
-            case TRACE, DEBUG -> log.debug("[" + name + "] " + msg, args);
-            case INFO          -> log.info ("[" + name + "] " + msg, args);
-            case WARN          -> log.info ("[WARN][" + name + "] " + msg, args); // FileLogger has no warn; map to info or error
-            case ERROR         -> log.error("[" + name + "] " + msg, args);
+            case TRACE, DEBUG -> log.debug(prefix + msg, args);
+            case INFO          -> log.info (prefix + msg, args);
+            case WARN          -> log.info (warnPrefix + msg, args); // FileLogger has no warn; map to info or error
+            case ERROR         -> log.error(prefix + msg, args);
         }
     }
     private void log(Level lvl, String msg, Throwable t) {
+        if (!enabled(lvl)) return;
         switch (lvl) {
-            case TRACE, DEBUG -> log.debug("[" + name + "] " + msg, t);
-            case INFO          -> log.info ("[" + name + "] " + msg, t);
-            case WARN          -> log.info ("[WARN][" + name + "] " + msg, t);
-            case ERROR         -> log.error("[" + name + "] " + msg, t);
+            case TRACE, DEBUG -> log.debug(prefix + msg, t);
+            case INFO          -> log.info (prefix + msg, t);
+            case WARN          -> log.info (warnPrefix + msg, t);
+            case ERROR         -> log.error(prefix + msg, t);
         }
     }
 
     /* ── TRACE ── */
-    @Override public void trace(String msg) { log(Level.TRACE, msg); }
-    @Override public void trace(String format, Object arg) { log(Level.TRACE, format, arg); }
-    @Override public void trace(String format, Object arg1, Object arg2) { log(Level.TRACE, format, arg1, arg2); }
+    @Override public void trace(String msg) { if (isTraceEnabled()) log(Level.TRACE, msg); }
+    @Override public void trace(String format, Object arg) { if (isTraceEnabled()) log(Level.TRACE, format, arg); }
+    @Override public void trace(String format, Object arg1, Object arg2) { if (isTraceEnabled()) log(Level.TRACE, format, arg1, arg2); }
     @Override public void trace(String format, Object... arguments) { log(Level.TRACE, format, arguments); }
     @Override public void trace(String msg, Throwable t) { log(Level.TRACE, msg, t); }
     @Override public boolean isTraceEnabled(Marker marker) { return isTraceEnabled(); }
@@ -50,9 +70,9 @@ final class GwLogger implements Logger {
     @Override public void trace(Marker marker, String msg, Throwable t) { trace(msg, t); }
 
     /* ── DEBUG ── */
-    @Override public void debug(String msg) { log(Level.DEBUG, msg); }
-    @Override public void debug(String format, Object arg) { log(Level.DEBUG, format, arg); }
-    @Override public void debug(String format, Object arg1, Object arg2) { log(Level.DEBUG, format, arg1, arg2); }
+    @Override public void debug(String msg) { if (isDebugEnabled()) log(Level.DEBUG, msg); }
+    @Override public void debug(String format, Object arg) { if (isDebugEnabled()) log(Level.DEBUG, format, arg); }
+    @Override public void debug(String format, Object arg1, Object arg2) { if (isDebugEnabled()) log(Level.DEBUG, format, arg1, arg2); }
     @Override public void debug(String format, Object... arguments) { log(Level.DEBUG, format, arguments); }
     @Override public void debug(String msg, Throwable t) { log(Level.DEBUG, msg, t); }
     @Override public boolean isDebugEnabled(Marker marker) { return isDebugEnabled(); }
@@ -63,9 +83,9 @@ final class GwLogger implements Logger {
     @Override public void debug(Marker marker, String msg, Throwable t) { debug(msg, t); }
 
     /* ── INFO ── */
-    @Override public void info(String msg) { log(Level.INFO, msg); }
-    @Override public void info(String format, Object arg) { log(Level.INFO, format, arg); }
-    @Override public void info(String format, Object arg1, Object arg2) { log(Level.INFO, format, arg1, arg2); }
+    @Override public void info(String msg) { if (isInfoEnabled()) log(Level.INFO, msg); }
+    @Override public void info(String format, Object arg) { if (isInfoEnabled()) log(Level.INFO, format, arg); }
+    @Override public void info(String format, Object arg1, Object arg2) { if (isInfoEnabled()) log(Level.INFO, format, arg1, arg2); }
     @Override public void info(String format, Object... arguments) { log(Level.INFO, format, arguments); }
     @Override public void info(String msg, Throwable t) { log(Level.INFO, msg, t); }
     @Override public boolean isInfoEnabled(Marker marker) { return isInfoEnabled(); }
@@ -76,10 +96,10 @@ final class GwLogger implements Logger {
     @Override public void info(Marker marker, String msg, Throwable t) { info(msg, t); }
 
     /* ── WARN ── */
-    @Override public void warn(String msg) { log(Level.WARN, msg); }
-    @Override public void warn(String format, Object arg) { log(Level.WARN, format, arg); }
+    @Override public void warn(String msg) { if (isWarnEnabled()) log(Level.WARN, msg); }
+    @Override public void warn(String format, Object arg) { if (isWarnEnabled()) log(Level.WARN, format, arg); }
     @Override public void warn(String format, Object... arguments) { log(Level.WARN, format, arguments); }
-    @Override public void warn(String format, Object arg1, Object arg2) { log(Level.WARN, format, arg1, arg2); }
+    @Override public void warn(String format, Object arg1, Object arg2) { if (isWarnEnabled()) log(Level.WARN, format, arg1, arg2); }
     @Override public void warn(String msg, Throwable t) { log(Level.WARN, msg, t); }
     @Override public boolean isWarnEnabled(Marker marker) { return isWarnEnabled(); }
     @Override public void warn(Marker marker, String msg) { warn(msg); }
@@ -89,9 +109,9 @@ final class GwLogger implements Logger {
     @Override public void warn(Marker marker, String msg, Throwable t) { warn(msg, t); }
 
     /* ── ERROR ── */
-    @Override public void error(String msg) { log(Level.ERROR, msg); }
-    @Override public void error(String format, Object arg) { log(Level.ERROR, format, arg); }
-    @Override public void error(String format, Object arg1, Object arg2) { log(Level.ERROR, format, arg1, arg2); }
+    @Override public void error(String msg) { if (isErrorEnabled()) log(Level.ERROR, msg); }
+    @Override public void error(String format, Object arg) { if (isErrorEnabled()) log(Level.ERROR, format, arg); }
+    @Override public void error(String format, Object arg1, Object arg2) { if (isErrorEnabled()) log(Level.ERROR, format, arg1, arg2); }
     @Override public void error(String format, Object... arguments) { log(Level.ERROR, format, arguments); }
     @Override public void error(String msg, Throwable t) { log(Level.ERROR, msg, t); }
     @Override public boolean isErrorEnabled(Marker marker) { return isErrorEnabled(); }
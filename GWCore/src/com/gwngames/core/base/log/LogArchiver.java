@@ -0,0 +1,164 @@
+package com.gwngames.core.base.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses rotated log segments and enforces the {@link AsyncLogWriter.Retention} limits, on
+ * its own thread: the writer only renames the full file and queues it here, so logging never
+ * waits for gzip or for the file system scan.
+ * <p>
+ * Segments of {@code app.log} are {@code app.log.N} or, once compressed, {@code app.log.N.gz};
+ * a higher {@code N} is a newer segment. The live file is never touched.
+ * </p>
+ */
+final class LogArchiver implements AutoCloseable {
+
+    private static final Pattern SEGMENT = Pattern.compile("\\.(\\d+)(\\.gz)?");
+
+    private final AsyncLogWriter.Retention retention;
+    private final ExecutorService pool;
+
+    LogArchiver(AsyncLogWriter.Retention retention) {
+        this(retention, Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "gw-log-archive");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    /** Archives on {@code pool}, which must run tasks one at a time; it is shut down by {@link #close()}. */
+    LogArchiver(AsyncLogWriter.Retention retention, ExecutorService pool) {
+        this.retention = retention;
+        this.pool = pool;
+    }
+
+    /** {@code segment} was just rotated out of {@code live}. */
+    void rotated(Path live, Path segment) {
+        submit(() -> {
+            if (retention.compress()) gzip(segment);
+            enforce(live);
+        });
+    }
+
+    /** Archives what earlier runs left behind next to {@code live}. */
+    void sweep(Path live) {
+        submit(() -> {
+            if (retention.compress()) {
+                for (Path p : segments(live)) {
+                    if (!p.getFileName().toString().endsWith(".gz")) gzip(p);
+                }
+            }
+            enforce(live);
+        });
+    }
+
+    /** Finishes the queued work. */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(30, TimeUnit.SECONDS)) pool.shutdownNow();
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Runs {@code work} on the pool or, once {@link #close()} has shut it down, on the caller. */
+    private void submit(Runnable work) {
+        try {
+            pool.execute(work);
+        } catch (RejectedExecutionException closed) {
+            work.run(); // a synchronous append after close still rotates: archive it here
+        }
+    }
+
+    /** Rotation index of {@code file} as a segment of {@code live}, or -1. */
+    static int index(Path live, Path file) {
+        String prefix = live.getFileName().toString();
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix)) return -1;
+        Matcher m = SEGMENT.matcher(name.substring(prefix.length()));
+        if (!m.matches()) return -1;
+        try {
+            return Integer.parseInt(m.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Segments of {@code live}, oldest first. */
+    static List<Path> segments(Path live) {
+        List<Path> out = new ArrayList<>();
+        Path dir = live.getParent();
+        if (dir == null || !Files.isDirectory(dir)) return out;
+        try (Stream<Path> s = Files.list(dir)) {
+            s.filter(p -> index(live, p) >= 0).forEach(out::add);
+        } catch (IOException e) {
+            System.err.println("Failed to list log segments of " + live + ": " + e.getMessage());
+        }
+        out.sort(Comparator.comparingInt(p -> index(live, p)));
+        return out;
+    }
+
+    private void gzip(Path segment) {
+        Path gz = segment.resolveSibling(segment.getFileName() + ".gz");
+        Path tmp = segment.resolveSibling(segment.getFileName() + ".gz.tmp");
+        if (!Files.exists(segment)) return; // already handled by a sweep
+        try {
+            FileTime rotatedAt = Files.getLastModifiedTime(segment);
+            try (InputStream in = Files.newInputStream(segment);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                in.transferTo(out);
+            }
+            Files.move(tmp, gz, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.setLastModifiedTime(gz, rotatedAt); // age counts from rotation, not compression
+            Files.delete(segment);
+        } catch (IOException e) {
+            System.err.println("Failed to compress log " + segment + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /** Deletes the oldest segments beyond the size budget, and any older than the age limit. */
+    private void enforce(Path live) {
+        List<Path> segments = segments(live);
+        long cutoff = retention.maxAge() == null ? Long.MIN_VALUE
+            : System.currentTimeMillis() - retention.maxAge().toMillis();
+        long kept = 0;
+        for (int i = segments.size() - 1; i >= 0; i--) { // newest first
+            Path p = segments.get(i);
+            try {
+                long size = Files.size(p);
+                boolean tooOld = Files.getLastModifiedTime(p).toMillis() < cutoff;
+                if (tooOld || kept + size > retention.maxTotalBytes()) {
+                    Files.deleteIfExists(p);
+                } else {
+                    kept += size;
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to apply log retention to " + p + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -7,11 +7,18 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Minimal per-component log index used by the dashboard.
+ * <p>
+ * Lines below the {@link FileLogger} level are dropped before anything is built. Kept lines
+ * are rendered to text (timestamp, formatted message, stack trace) when recorded, so the
+ * dashboard shows the state at logging time and the buffer holds no references to the
+ * logged objects.
+ * </p>
  */
 public final class LogBus {
     public enum Level {DEBUG, INFO, ERROR}
@@ -39,17 +46,30 @@ public final class LogBus {
         return BY_COMP.computeIfAbsent(key, k -> new Buf());
     }
 
-    public static void record(String compKey, Level lvl, String msg, Throwable ex) {
-        String ts = Instant.now().toString();
+    /** Whether lines of {@code lvl} pass the current {@link FileLogger} level. */
+    public static boolean isEnabled(Level lvl) {
+        return switch (lvl) {
+            case ERROR -> FileLogger.isEnabled(FileLogger.ERROR_LEVEL);
+            case INFO  -> FileLogger.isEnabled(FileLogger.INFO_LEVEL);
+            case DEBUG -> FileLogger.isEnabled(FileLogger.DEBUG_LEVEL);
+        };
+    }
+
+    /**
+     * Records a line for {@code compKey}. {@code template} is a {@link String#format} pattern
+     * applied to {@code args}; nothing is evaluated when {@code lvl} is disabled.
+     */
+    public static void record(String compKey, Level lvl, String template, Throwable ex, Object... args) {
+        if (!isEnabled(lvl)) return;
         StringBuilder sb = new StringBuilder(256)
-            .append(ts).append(" ").append(lvl).append(" ").append(compKey).append(" — ").append(msg);
+            .append(Instant.now()).append(" ").append(lvl).append(" ").append(compKey)
+            .append(" — ").append(format(template, args));
         if (ex != null) {
             StringWriter sw = new StringWriter(2048);
             ex.printStackTrace(new PrintWriter(sw));
             sb.append("\n").append(sw);
         }
-        boolean isErr = (lvl == Level.ERROR);
-        buf(compKey).add(sb.toString(), isErr);
+        buf(compKey).add(sb.toString(), lvl == Level.ERROR);
     }
 
     public static int errorCount(String compKey) {
@@ -57,7 +77,25 @@ public final class LogBus {
     }
 
     public static List<String> recent(String compKey) {
-        List<String> r = buf(compKey).snapshot();
-        return Collections.unmodifiableList(r);
+        return Collections.unmodifiableList(buf(compKey).snapshot());
+    }
+
+    /** Never throws: a bad pattern or a failing {@code toString()} degrades to the raw values. */
+    private static String format(String msg, Object... args) {
+        try {
+            return (args == null || args.length == 0) ? msg : String.format(msg, args);
+        } catch (RuntimeException e) {
+            StringJoiner raw = new StringJoiner(", ", msg + " [", "]");
+            for (Object a : args) raw.add(valueOf(a));
+            return raw.toString();
+        }
+    }
+
+    private static String valueOf(Object a) {
+        try {
+            return String.valueOf(a);
+        } catch (RuntimeException e) {
+            return "<" + a.getClass().getName() + ": " + e + ">";
+        }
     }
 }
@@ -20,7 +20,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 @Init(module = CoreModule.CORE)
 public class CoreDashboard extends BaseComponent implements IDashboard, AutoCloseable {
-    private final FileLogger log = FileLogger.get(LogFiles.MONITOR);
+    private final FileLogger log = FileLogger.get(LogFiles.MONITOR, CoreDashboard.class);
 
     @Inject
     private IConfig config;
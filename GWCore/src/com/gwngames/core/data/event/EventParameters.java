@@ -17,6 +17,61 @@ public final class EventParameters {
     public static final IParam<Integer> LOGIC_EVENT_MAX_THREAD =
         ParamKey.of("event.logic.max_thread", Integer.class);
 
+    /* per sub-queue capacity (pending + running events, {@code <= 0} = unbounded) and overflow handling */
+    public static final IParam<Integer> INPUT_EVENT_CAPACITY =
+        ParamKey.of("event.input.capacity", Integer.class);
+    public static final IParam<OverflowPolicy> INPUT_EVENT_OVERFLOW =
+        ParamKey.of("event.input.overflow", OverflowPolicy.class);
+    public static final IParam<Integer> RENDER_EVENT_CAPACITY =
+        ParamKey.of("event.render.capacity", Integer.class);
+    public static final IParam<OverflowPolicy> RENDER_EVENT_OVERFLOW =
+        ParamKey.of("event.render.overflow", OverflowPolicy.class);
+    public static final IParam<Integer> COMM_EVENT_CAPACITY =
+        ParamKey.of("event.comm.capacity", Integer.class);
+    public static final IParam<OverflowPolicy> COMM_EVENT_OVERFLOW =
+        ParamKey.of("event.comm.overflow", OverflowPolicy.class);
+    public static final IParam<Integer> SYSTEM_EVENT_CAPACITY =
+        ParamKey.of("event.system.capacity", Integer.class);
+    public static final IParam<OverflowPolicy> SYSTEM_EVENT_OVERFLOW =
+        ParamKey.of("event.system.overflow", OverflowPolicy.class);
+    public static final IParam<Integer> LOGIC_EVENT_CAPACITY =
+        ParamKey.of("event.logic.capacity", Integer.class);
+    public static final IParam<OverflowPolicy> LOGIC_EVENT_OVERFLOW =
+        ParamKey.of("event.logic.overflow", OverflowPolicy.class);
+
+    /* execution mode per sub-queue; the virtual limit caps concurrently running events in VIRTUAL mode */
+    public static final IParam<ExecutionMode> INPUT_EVENT_EXECUTION =
+        ParamKey.of("event.input.execution", ExecutionMode.class);
+    public static final IParam<Integer> INPUT_EVENT_VIRTUAL_LIMIT =
+        ParamKey.of("event.input.virtual_limit", Integer.class);
+    public static final IParam<ExecutionMode> RENDER_EVENT_EXECUTION =
+        ParamKey.of("event.render.execution", ExecutionMode.class);
+    public static final IParam<Integer> RENDER_EVENT_VIRTUAL_LIMIT =
+        ParamKey.of("event.render.virtual_limit", Integer.class);
+    public static final IParam<ExecutionMode> COMM_EVENT_EXECUTION =
+        ParamKey.of("event.comm.execution", ExecutionMode.class);
+    public static final IParam<Integer> COMM_EVENT_VIRTUAL_LIMIT =
+        ParamKey.of("event.comm.virtual_limit", Integer.class);
+    public static final IParam<ExecutionMode> SYSTEM_EVENT_EXECUTION =
+        ParamKey.of("event.system.execution", ExecutionMode.class);
+    public static final IParam<Integer> SYSTEM_EVENT_VIRTUAL_LIMIT =
+        ParamKey.of("event.system.virtual_limit", Integer.class);
+    public static final IParam<ExecutionMode> LOGIC_EVENT_EXECUTION =
+        ParamKey.of("event.logic.execution", ExecutionMode.class);
+    public static final IParam<Integer> LOGIC_EVENT_VIRTUAL_LIMIT =
+        ParamKey.of("event.logic.virtual_limit", Integer.class);
+
+    /** Depth/latency tracking of every sub-queue (overflow counters are always kept). */
+    public static final IParam<Boolean> METRICS_ENABLED =
+        ParamKey.of("event.metrics.enabled", Boolean.class);
+
     public static final IParam<Float> STATUS_LOG_SECONDS_PER_LOG =
         ParamKey.of("event.status.log_seconds", Float.class);
+
+    /** Max executed events / completed macros the master queue remembers outside the events themselves. */
+    public static final IParam<Integer> HISTORY_MAX_ENTRIES =
+        ParamKey.of("event.history.max_entries", Integer.class);
+    /** How long (seconds) an entry may stay in the execution history; {@code <= 0} disables age eviction. */
+    public static final IParam<Float> HISTORY_RETENTION_SECONDS =
+        ParamKey.of("event.history.retention_seconds", Float.class);
 }
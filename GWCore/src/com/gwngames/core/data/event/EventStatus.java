@@ -8,5 +8,7 @@ import com.gwngames.core.api.event.IEventStatus;
 public enum EventStatus implements IEventStatus {
     WAITING,
     EXECUTING,
-    COMPLETED;
+    COMPLETED,
+    /** Dropped or coalesced away by a full sub-queue; never executed. */
+    DISCARDED;
 }
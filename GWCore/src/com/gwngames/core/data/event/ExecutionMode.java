@@ -0,0 +1,15 @@
+package com.gwngames.core.data.event;
+
+/**
+ * How a sub-queue runs its events.
+ *
+ * <ul>
+ *   <li>{@code PLATFORM} – a fixed pool of {@code max_thread} platform threads;</li>
+ *   <li>{@code VIRTUAL} – one virtual thread per event, at most {@code virtual_limit} running at once.
+ *       Meant for handlers that block (I/O, comm), which then no longer starve the pool.</li>
+ * </ul>
+ */
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,22 @@
+package com.gwngames.core.data.event;
+
+/**
+ * What a bounded sub-queue does with an event that arrives while it is full.
+ *
+ * <ul>
+ *   <li>{@code BLOCK} – the producer waits for a free slot; the frame thread and the threads running
+ *       events never wait (they free the slots) and are rejected like {@code DROP_NEWEST} instead.
+ *       A macro waits for all its slots on a queue at once; one with more events than the queue
+ *       holds is admitted as far as it fits, the rest rejected. Only meant for queues fed by dedicated producer threads;</li>
+ *   <li>{@code DROP_OLDEST} – the oldest event not yet dispatched is discarded to make room;</li>
+ *   <li>{@code DROP_NEWEST} – the incoming event is discarded;</li>
+ *   <li>{@code COALESCE} – the incoming event replaces a pending one with the same
+ *       {@link com.gwngames.core.api.event.IEvent#getCoalesceKey() key}, otherwise it is discarded.</li>
+ * </ul>
+ */
+public enum OverflowPolicy {
+    BLOCK,
+    DROP_OLDEST,
+    DROP_NEWEST,
+    COALESCE
+}
@@ -9,12 +9,18 @@ import com.gwngames.core.base.BaseComponent;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractEvent extends BaseComponent implements IEvent {
     private IMacroEvent macroEvent;
     private IEventStatus status = EventStatus.WAITING;
     private long executionStartTime;
     private long executionDuration;
+    /** How the master queue settled this event: {@link #OPEN}, {@link #EXECUTED} or {@link #DISCARDED}. */
+    private final AtomicInteger outcome = new AtomicInteger(OPEN);
+    private static final int OPEN = 0, EXECUTED = 1, DISCARDED = 2;
+    /** {@link System#nanoTime()} of the sub-queue enqueue, {@code 0} once dispatched; metrics only. */
+    private volatile long queuedAt;
     private final List<IExecutionCondition> conditions = new ArrayList<>();
 
     @Override
@@ -34,6 +40,22 @@ public abstract class AbstractEvent extends BaseComponent implements IEvent {
 
     public long getExecutionDuration() { return executionDuration; }
 
+    public long getQueuedAt() { return queuedAt; }
+    public void setQueuedAt(long queuedAt) { this.queuedAt = queuedAt; }
+
+    /** Set once by the master queue after a successful run; survives history eviction. */
+    public boolean isExecuted() { return outcome.get() == EXECUTED; }
+    /** @return {@code true} only for the call that settled the event */
+    public boolean markExecuted() { return outcome.compareAndSet(OPEN, EXECUTED); }
+    /** @return {@code true} only for the call that settled the event */
+    public boolean markDiscarded() { return outcome.compareAndSet(OPEN, DISCARDED); }
+
+    /** Makes a finished event runnable again; triggers fire the same instance repeatedly. */
+    public void restart() {
+        outcome.set(OPEN);
+        setStatus(EventStatus.WAITING);
+    }
+
 
     /** Attach a dependency rule to <em>this</em> event. */
     @Override
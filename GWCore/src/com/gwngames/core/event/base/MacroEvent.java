@@ -9,21 +9,45 @@ import com.gwngames.core.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Init(module = CoreModule.CORE)
 public class MacroEvent extends BaseComponent implements IMacroEvent {
     private String id;
     private final List<IEvent> events = new ArrayList<>();
+    /** Children not executed yet; the macro completes when this reaches zero. */
+    private final AtomicInteger remaining = new AtomicInteger();
+    private volatile boolean completed;
 
     @Override
     public void addEvent(IEvent event) {
         event.setMacroEvent(this);
         events.add(event);
+        remaining.incrementAndGet();
     }
 
     @Override
     public List<IEvent> getEvents() { return events; }
 
+    public boolean isCompleted() { return completed; }
+
+    /**
+     * Counts one child as executed; O(1), no rescan of the children.
+     * @return {@code true} for the call that completed the macro
+     */
+    public boolean countDown() {
+        if (remaining.decrementAndGet() != 0) return false;
+        completed = true;
+        return true;
+    }
+
+    /** Counts every child again once the macro completed, for a trigger enqueueing it anew. */
+    public void restart() {
+        if (!completed) return;
+        completed = false;
+        remaining.set(events.size());
+    }
+
     @Override
     public String getId() {
         return id;
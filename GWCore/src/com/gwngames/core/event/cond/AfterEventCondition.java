@@ -19,6 +19,10 @@ public class AfterEventCondition extends StrictCondition {
         return q.hasExecuted(prerequisite) ? TRUE : WAIT;
     }
 
+    public IEvent getPrerequisite() {
+        return prerequisite;
+    }
+
     public void setPrerequisite(IEvent prerequisite) {
         this.prerequisite = prerequisite;
     }
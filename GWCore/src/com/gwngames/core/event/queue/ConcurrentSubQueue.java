@@ -3,21 +3,89 @@ package com.gwngames.core.event.queue;
 import com.gwngames.core.api.base.cfg.IConfig;
 import com.gwngames.core.api.build.Inject;
 import com.gwngames.core.api.event.IEventQueue;
+import com.gwngames.core.api.event.IExecutionCondition;
 import com.gwngames.core.api.event.IMasterEventQueue;
 import com.gwngames.core.base.BaseComponent;
-import com.gwngames.core.data.cfg.BuildParameters;
+import com.gwngames.core.base.log.FileLogger;
+import com.gwngames.core.data.LogFiles;
+import com.gwngames.core.data.event.EventParameters;
 import com.gwngames.core.data.event.EventStatus;
+import com.gwngames.core.data.event.ExecutionMode;
+import com.gwngames.core.data.event.OverflowPolicy;
 import com.gwngames.core.api.event.IEvent;
 import com.gwngames.core.api.ex.EventException;
+import com.gwngames.core.event.base.AbstractEvent;
+import com.gwngames.core.event.cond.AfterEventCondition;
 
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Base sub-queue with dependency-aware scheduling.
+ * <p>
+ * Events live in one of three places:
+ * <ul>
+ *   <li>{@code ready} – candidates evaluated on the next frame;</li>
+ *   <li>{@code parked} – blocked on an {@link AfterEventCondition}, keyed by the prerequisite
+ *       and moved back to {@code ready} by {@link #onExecuted} when it runs;</li>
+ *   <li>{@code blocked} – blocked on anything else, re-evaluated every frame.</li>
+ * </ul>
+ * A frame therefore costs time proportional to ready and generically blocked events,
+ * never to the events parked on prerequisites.
+ * </p>
+ * <p>
+ * With a positive {@link #capacity}, every admitted event holds a slot until it finishes
+ * (or leaves the queue any other way), which bounds both this queue and the executor's
+ * backlog; what happens when no slot is free is decided by the {@link OverflowPolicy}. A
+ * dropped event is still reported to the master ({@link IMasterEventQueue#markDiscarded}), so
+ * its macro completes; the events ordered after it can never run and are discarded as well.
+ * The first drops of a queue are logged, then every time their count doubles.
+ * </p>
+ * <p>
+ * Events run on a fixed platform pool of {@link #maxParallel} threads, or, in
+ * {@link ExecutionMode#VIRTUAL} mode, on one virtual thread each, gated by a fair
+ * semaphore of {@link #virtualLimit} permits so blocking handlers do not need a bigger pool.
+ * </p>
+ */
 public abstract class ConcurrentSubQueue<T extends IEvent>
     extends BaseComponent implements IEventQueue {
+    private static final FileLogger log = FileLogger.get(LogFiles.EVENT);
+
     protected int maxParallel;
     protected ExecutorService executor;
-    protected final Deque<T> eventQueue = new ConcurrentLinkedDeque<>();
+    protected ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    /** Max events running at once in {@link ExecutionMode#VIRTUAL} mode. */
+    protected int virtualLimit = 256;
+    /** Concurrency gate of virtual mode, {@code null} for the platform pool. */
+    private Semaphore running;
+    protected final Queue<T> ready = new ConcurrentLinkedQueue<>();
+    protected final Deque<T> blocked = new ConcurrentLinkedDeque<>();
+    protected final Map<IEvent, List<T>> parked = new ConcurrentHashMap<>();
+
+    /** Max pending + running events, {@code <= 0} for unbounded. */
+    protected int capacity;
+    protected OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Semaphore slots;
+    /** Where a slot holder is: admitted by a producer, queued here, or running. */
+    private enum Claim { ADMITTED, QUEUED, RUNNING }
+    private final Map<IEvent, Claim> claims = new ConcurrentHashMap<>();
+    /** Events dropped for lack of room, for the log. */
+    private final AtomicLong drops = new AtomicLong();
+    /** Admission order, only fed under {@link OverflowPolicy#DROP_OLDEST}. */
+    private final Queue<IEvent> arrivals = new ConcurrentLinkedQueue<>();
+    /** Latest pending event per key, only fed under {@link OverflowPolicy#COALESCE}. */
+    private final Map<Object, IEvent> pendingByKey = new ConcurrentHashMap<>();
+    protected final SubQueueMetrics metrics = new SubQueueMetrics();
+    /** Thread running {@link #processAllEligible}; it frees pending slots, so it must never block. */
+    private volatile Thread drainer;
+    /** Set while a thread runs an event of some sub-queue; such threads must never block either. */
+    private static final ThreadLocal<ConcurrentSubQueue<?>> WORKER = new ThreadLocal<>();
 
     @Inject
     protected IMasterEventQueue master;
@@ -28,41 +96,314 @@ public abstract class ConcurrentSubQueue<T extends IEvent>
      * Concrete SubQueues should call this in their @PostInject.
      */
     protected void init() {
-        this.executor = Executors.newFixedThreadPool(maxParallel);
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(getClass().getSimpleName() + "-vt-", 0).factory());
+            this.running = new Semaphore(Math.max(1, virtualLimit), true);
+        } else {
+            this.executor = Executors.newFixedThreadPool(maxParallel);
+        }
+        this.slots = capacity > 0 ? new Semaphore(capacity) : null;
+        if (config != null) metrics.setEnabled(config.get(EventParameters.METRICS_ENABLED));
+    }
+
+    /* ───────────────────────── admission control ──────────────────────── */
+
+    /**
+     * Reserves a slot for {@code ev}, applying the overflow policy when the queue is full.
+     * Safe to call from producer threads ahead of {@link #enqueue}; a rejected event is
+     * marked {@link EventStatus#DISCARDED} and counted.
+     *
+     * @return {@code true} if the event may be enqueued
+     */
+    public boolean admit(IEvent ev) {
+        if (slots == null || claims.containsKey(ev)) return true;
+        if (slots.tryAcquire() || (overflowPolicy == OverflowPolicy.BLOCK && mayWait() && acquireBlocking(1))) {
+            track(ev);
+            return true;
+        }
+        return overflow(ev);
+    }
+
+    /**
+     * Admits the events of one macro bound for this queue. Their slots are reserved all at once
+     * or not at all: a producer never waits while holding slots for events it has not published
+     * yet. When they could never fit, or this thread must not wait, each event is admitted
+     * without blocking instead.
+     */
+    public void admitAll(List<? extends IEvent> evs) {
+        if (slots == null) return;
+        List<IEvent> fresh = new ArrayList<>(evs.size());
+        for (IEvent ev : evs) {
+            if (!claims.containsKey(ev)) fresh.add(ev);
+        }
+        int n = fresh.size();
+        if (n == 0) return;
+        if (slots.tryAcquire(n)
+            || (overflowPolicy == OverflowPolicy.BLOCK && n <= capacity && mayWait() && acquireBlocking(n))) {
+            for (IEvent ev : fresh) track(ev);
+            return;
+        }
+        for (IEvent ev : fresh) {
+            if (slots.tryAcquire()) track(ev);
+            else overflow(ev);
+        }
+    }
+
+    /** The drainer and the workers free the slots: waiting there could never end. */
+    private boolean mayWait() {
+        return Thread.currentThread() != drainer && WORKER.get() == null;
+    }
+
+    private boolean acquireBlocking(int n) {
+        try {
+            slots.acquire(n);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** No slot is free and waiting is not an option: make room as the policy says, or reject {@code ev}. */
+    private boolean overflow(IEvent ev) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                IEvent oldest;
+                while ((oldest = arrivals.poll()) != null) {
+                    if (discard(oldest)) {       // slot handed over to the newcomer
+                        metrics.onRejected();
+                        reportDrop(oldest);
+                        track(ev);
+                        return true;
+                    }
+                }
+            }
+            case COALESCE -> {
+                Object key = ev.getCoalesceKey();
+                IEvent previous = key == null ? null : pendingByKey.get(key);
+                if (previous != null && discard(previous)) {
+                    metrics.onCoalesced();
+                    track(ev);
+                    return true;
+                }
+            }
+            default -> { /* DROP_NEWEST, or BLOCK on a thread that must not wait: rejected below */ }
+        }
+        metrics.onRejected();
+        reportDrop(ev);
+        drop(ev);
+        return false;
+    }
+
+    private void reportDrop(IEvent ev) {
+        long n = drops.incrementAndGet();
+        if (Long.bitCount(n) == 1) {
+            log.error("{} full (capacity {}, {}): dropped {}, {} so far",
+                getClass().getSimpleName(), capacity, overflowPolicy, ev.getClass().getSimpleName(), n);
+        }
+    }
+
+    private void track(IEvent ev) {
+        claims.put(ev, Claim.ADMITTED);
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                arrivals.offer(ev);
+                /* keep the admission log short: dispatched heads are no longer candidates */
+                IEvent head;
+                while ((head = arrivals.peek()) != null && !isPending(claims.get(head)))
+                    arrivals.remove(head);
+            }
+            case COALESCE -> {
+                Object key = ev.getCoalesceKey();
+                if (key != null) pendingByKey.put(key, ev);
+            }
+            default -> { }
+        }
+    }
+
+    private static boolean isPending(Claim c) {
+        return c == Claim.ADMITTED || c == Claim.QUEUED;
+    }
+
+    /** Takes a still-pending event out of play; its slot stays reserved for the caller. */
+    private boolean discard(IEvent ev) {
+        Claim c = claims.get(ev);
+        if (!isPending(c) || !claims.remove(ev, c)) return false;
+        forgetKey(ev);
+        metrics.onDiscard(ev);
+        drop(ev);
+        return true;
     }
 
-    /* ─────────────────── smart enqueue (front vs back) ────────────────── */
+    private void drop(IEvent ev) {
+        ev.setStatus(EventStatus.DISCARDED);
+        if (master != null) master.markDiscarded(ev);
+    }
+
+    private void forgetKey(IEvent ev) {
+        Object key = ev.getCoalesceKey();
+        if (key != null) pendingByKey.remove(key, ev);
+    }
+
+    /** Gives back the slot of an event that ran. */
+    private void release(IEvent ev) {
+        if (slots != null && claims.remove(ev, Claim.RUNNING)) slots.release();
+    }
+
+    /** Takes a queued event out without running it, giving back its slot unless a discard already took it. */
+    private void abandon(IEvent ev) {
+        metrics.onDiscard(ev);
+        if (slots != null && claims.remove(ev, Claim.QUEUED)) {
+            forgetKey(ev);
+            slots.release();
+        }
+    }
+
+    /** Events rejected or dropped because the queue was full. */
+    public long getRejectedCount() { return metrics.getRejectedCount(); }
+
+    /** Pending events superseded by a newer one with the same coalesce key. */
+    public long getCoalescedCount() { return metrics.getCoalescedCount(); }
+
+    public SubQueueMetrics getMetrics() { return metrics; }
+
+    /* ─────────────────── smart enqueue (ready vs held) ────────────────── */
     @SuppressWarnings("unchecked")
     public void enqueue(IEvent ev) {
-        if (master.canExecute(ev))
-            eventQueue.offerFirst((T) ev);   // ready → front
-        else
-            eventQueue.offerLast((T) ev);    // waiting → back
+        if (!admit(ev)) return;
+        /* already queued or running: a trigger fired it again, the pending run serves both */
+        if (slots != null && !claims.replace(ev, Claim.ADMITTED, Claim.QUEUED)) return;
+        metrics.onEnqueue(ev);
+        if (master.canExecute(ev)) {
+            ready.offer((T) ev);
+        } else {
+            metrics.onConditionRejected();
+            hold((T) ev);
+        }
     }
 
     /* ───────────────── run everything that is now eligible ────────────── */
     public void processAllEligible() {
-        for (T ev : eventQueue) {
-            if (ev.getStatus() == EventStatus.WAITING && master.canExecute(ev)) {
-                eventQueue.remove(ev);
-                ev.setStatus(EventStatus.EXECUTING);
-
-                executor.submit(() -> {
-                    try {
-                        processEvent(ev);
-                        ev.setStatus(EventStatus.COMPLETED);
-                        master.markExecuted(ev);
-                    } catch (EventException ee) {
-                        ev.setStatus(EventStatus.COMPLETED);
-                        master.handleEventException(ev, ee);
-                    } catch (Exception ex) {
-                        master.getLogger().error("Unexpected error: " + ex.getMessage(), ex);
-                    }
-                });
+        drainer = Thread.currentThread();
+        for (Iterator<T> it = blocked.iterator(); it.hasNext(); ) {
+            T ev = it.next();
+            if (ev.getStatus() != EventStatus.WAITING) {
+                it.remove();
+                abandon(ev);
+            } else if (master.canExecute(ev)) {
+                it.remove();
+                dispatch(ev);
+            } else {
+                metrics.onConditionRejected();
+                if (pendingPrerequisite(ev) != null) {
+                    it.remove();
+                    hold(ev);
+                }
+            }
+        }
+
+        T ev;
+        while ((ev = ready.poll()) != null) {
+            if (ev.getStatus() != EventStatus.WAITING) {
+                abandon(ev);
+                continue;
+            }
+            if (master.canExecute(ev)) {
+                dispatch(ev);
+            } else {
+                metrics.onConditionRejected();
+                hold(ev);
             }
         }
     }
 
+    /**
+     * Called by the master once {@code executed} has run: every event parked on it
+     * goes back to the ready set for the next frame.
+     */
+    public void onExecuted(IEvent executed) {
+        if (parked.isEmpty()) return;
+        List<T> woken = parked.remove(executed);
+        if (woken != null) ready.addAll(woken);
+    }
+
+    /**
+     * Called by the master once {@code discarded} was dropped: the events parked on it can
+     * never run, so they are discarded in turn.
+     */
+    public void onDiscarded(IEvent discarded) {
+        if (parked.isEmpty()) return;
+        List<T> orphans = parked.remove(discarded);
+        if (orphans == null) return;
+        for (T ev : orphans) {
+            abandon(ev);
+            drop(ev);
+        }
+    }
+
+    /** Parks the event on its first unmet prerequisite, or keeps it in the generic blocked set. */
+    private void hold(T ev) {
+        IEvent prerequisite = pendingPrerequisite(ev);
+        if (prerequisite == null) {
+            blocked.offer(ev);
+            return;
+        }
+        /* compute() keeps the append atomic w.r.t. onExecuted's remove() */
+        parked.compute(prerequisite, (k, list) -> {
+            if (list == null) list = new ArrayList<>();
+            list.add(ev);
+            return list;
+        });
+        /* the prerequisite may have finished, or been dropped, while we were parking */
+        if (master.hasExecuted(prerequisite)) onExecuted(prerequisite);
+        else if (prerequisite.getStatus() == EventStatus.DISCARDED) onDiscarded(prerequisite);
+    }
+
+    private IEvent pendingPrerequisite(T ev) {
+        if (!(ev instanceof AbstractEvent ae)) return null;
+        for (IExecutionCondition c : ae.getConditions()) {
+            if (c instanceof AfterEventCondition after) {
+                IEvent prerequisite = after.getPrerequisite();
+                if (prerequisite != null && !master.hasExecuted(prerequisite)) return prerequisite;
+            }
+        }
+        return null;
+    }
+
+    private void dispatch(T ev) {
+        if (slots != null) {
+            if (!claims.replace(ev, Claim.QUEUED, Claim.RUNNING)) return; // discarded meanwhile
+            forgetKey(ev);
+        }
+        metrics.onDispatch(ev);
+        ev.setStatus(EventStatus.EXECUTING);
+
+        executor.submit(() -> {
+            if (running != null) running.acquireUninterruptibly();
+            WORKER.set(this);
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+            boolean finished = false;
+            try {
+                processEvent(ev);
+                master.markExecuted(ev);
+                finished = true;
+            } catch (EventException ee) {
+                master.handleEventException(ev, ee);
+                finished = true;
+            } catch (Exception ex) {
+                master.getLogger().error("Unexpected error: " + ex.getMessage(), ex);
+            } finally {
+                WORKER.remove();
+                if (start != 0L) metrics.onCompleted(System.nanoTime() - start);
+                if (running != null) running.release();
+                release(ev);
+                /* last: once COMPLETED, a trigger may enqueue the same instance again */
+                if (finished) ev.setStatus(EventStatus.COMPLETED);
+            }
+        });
+    }
+
     protected abstract void processEvent(T ev) throws EventException;
 
     public void shutdown() {
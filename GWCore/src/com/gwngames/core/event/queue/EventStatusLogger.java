@@ -21,7 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 @Init(module = CoreModule.CORE, subComp = CoreSubComponent.EVENT_STATUS_LOGGER)
 public class EventStatusLogger extends BaseComponent implements IEventLogger {
-    private static final FileLogger logger = FileLogger.get(LogFiles.EVENT_STATUS);
+    private static final FileLogger logger = FileLogger.get(LogFiles.EVENT_STATUS, EventStatusLogger.class);
 
     @Inject
     private IMasterEventQueue masterQueue;
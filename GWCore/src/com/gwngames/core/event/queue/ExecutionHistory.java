@@ -0,0 +1,92 @@
+package com.gwngames.core.event.queue;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, thread-safe "has this happened?" window.
+ * <p>
+ * Entries are kept in insertion order and evicted from the head once the window holds
+ * more than {@code maxEntries} items or the oldest one is older than {@code maxAge}.
+ * {@link #contains} is a single hash lookup and never takes a lock.
+ * </p>
+ */
+public final class ExecutionHistory<T> {
+
+    private record Entry<T>(T item, long recordedAt) {}
+
+    /** Item to the time of its live entry; older entries for the same item no longer count. */
+    private final Map<T, Long> index = new ConcurrentHashMap<>();
+    private final Queue<Entry<T>> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile int maxEntries;
+    private volatile long maxAgeNanos;
+
+    /**
+     * @param maxEntries upper bound on retained entries (must be &gt; 0)
+     * @param maxAgeMs   retention time in milliseconds, {@code <= 0} keeps entries until size eviction
+     */
+    public ExecutionHistory(int maxEntries, long maxAgeMs) {
+        setRetention(maxEntries, maxAgeMs);
+    }
+
+    public void setRetention(int maxEntries, long maxAgeMs) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        this.maxEntries = maxEntries;
+        this.maxAgeNanos = maxAgeMs <= 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+        trim();
+    }
+
+    /**
+     * Adds {@code item} to the window; duplicates are ignored.
+     * @return {@code true} if the item was not already retained
+     */
+    public boolean record(T item) {
+        long now = System.nanoTime();
+        if (index.putIfAbsent(item, now) != null) return false;
+        order.offer(new Entry<>(item, now));
+        size.incrementAndGet();
+        trim();
+        return true;
+    }
+
+    public boolean contains(T item) {
+        return index.containsKey(item);
+    }
+
+    /** Drops {@code item} before its time, so it can be recorded again. */
+    public void forget(T item) {
+        index.remove(item);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /** Evicts everything past the retention policy; cheap when nothing is due. */
+    public void trim() {
+        long now = System.nanoTime();
+        Entry<T> head;
+        while ((head = order.peek()) != null
+            && (size.get() > maxEntries || now - head.recordedAt() > maxAgeNanos)) {
+            if (order.remove(head)) {
+                size.decrementAndGet();
+                index.remove(head.item(), head.recordedAt());
+            }
+        }
+    }
+
+    public void clear() {
+        Entry<T> e;
+        while ((e = order.poll()) != null) {
+            size.decrementAndGet();
+            index.remove(e.item(), e.recordedAt());
+        }
+    }
+}
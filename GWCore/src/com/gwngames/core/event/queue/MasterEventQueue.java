@@ -2,6 +2,7 @@ package com.gwngames.core.event.queue;
 
 import com.gwngames.core.CoreModule;
 import com.gwngames.core.CoreSubComponent;
+import com.gwngames.core.api.base.cfg.IConfig;
 import com.gwngames.core.api.build.Init;
 import com.gwngames.core.api.build.Inject;
 import com.gwngames.core.api.build.PostInject;
@@ -12,32 +13,67 @@ import com.gwngames.core.api.ex.UnknownEventException;
 import com.gwngames.core.base.BaseComponent;
 import com.gwngames.core.base.log.FileLogger;
 import com.gwngames.core.data.LogFiles;
+import com.gwngames.core.data.event.EventParameters;
+import com.gwngames.core.data.event.EventStatus;
 import com.gwngames.core.event.base.AbstractEvent;
 import com.gwngames.core.event.base.MacroEvent;
 import com.gwngames.core.event.cond.base.ConditionPolicy;
 import com.gwngames.core.event.cond.base.ConditionResult;
 import com.gwngames.core.event.cond.base.GlobalRule;
+import com.gwngames.core.event.trigger.TimeTrigger;
+import com.gwngames.core.event.trigger.TimerWheel;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 @Init(module = CoreModule.CORE)
 public class MasterEventQueue extends BaseComponent implements IMasterEventQueue {
     private static final FileLogger log = FileLogger.get(LogFiles.EVENT);
 
+    /** Monotonic id source for synthetic single-event macros (cheaper than UUIDs). */
+    private static final AtomicLong SINGLE_SEQ = new AtomicLong();
+    /** History bounds used until the configuration is injected. */
+    private static final int DEFAULT_HISTORY_ENTRIES = 16_384;
+    private static final long DEFAULT_HISTORY_AGE_MS = 600_000L;
+
     // auto starts the logging process
     @Inject(subComp = CoreSubComponent.EVENT_STATUS_LOGGER)
     private IEventLogger eventStatusLogger;
     @Inject(loadAll = true)
     private List<IEventQueue> concreteSubQueues;
-    private final Deque<IMacroEvent> macroQueue = new ArrayDeque<>();
-    private final Set<IEvent> executedEvents = new LinkedHashSet<>();
-    private final Set<IMacroEvent> completedMacros = new LinkedHashSet<>();
-    private final Map<Class<? extends IEvent>, ConcurrentSubQueue<? extends IEvent>> subQueues = new HashMap<>();
+    @Inject
+    private IConfig config;
+    /** Lock-free multi-producer ingestion queue, drained by {@link #process(float)}. */
+    private final Queue<IMacroEvent> macroQueue = new ConcurrentLinkedQueue<>();
+    /** Published-macro counter, lets a frame drain a bounded batch while producers keep going. */
+    private final AtomicInteger pendingMacros = new AtomicInteger();
+    /*
+     * Framework events/macros carry their own executed flag; these bounded windows only
+     * answer for foreign IEvent/IMacroEvent implementations, so memory stays flat.
+     */
+    private final ExecutionHistory<IEvent> executedEvents =
+        new ExecutionHistory<>(DEFAULT_HISTORY_ENTRIES, DEFAULT_HISTORY_AGE_MS);
+    private final ExecutionHistory<IEvent> discardedEvents =
+        new ExecutionHistory<>(DEFAULT_HISTORY_ENTRIES, DEFAULT_HISTORY_AGE_MS);
+    private final ExecutionHistory<IMacroEvent> completedMacros =
+        new ExecutionHistory<>(DEFAULT_HISTORY_ENTRIES, DEFAULT_HISTORY_AGE_MS);
+    /** Remaining-children counters for foreign macros still in flight. */
+    private final Map<IMacroEvent, AtomicInteger> foreignCountdowns = new ConcurrentHashMap<>();
+    private final Map<Class<? extends IEvent>, ConcurrentSubQueue<? extends IEvent>> subQueues = new ConcurrentHashMap<>();
     private final Map<String, GlobalRule> globalRules = new ConcurrentHashMap<>();
     private BiConsumer<IEvent, EventException> postExceptionAction;
     private final Map<String, IEventTrigger> triggers = new ConcurrentHashMap<>();
+    /** Triggers without a deadline, polled every frame. */
+    private final Map<String, IEventTrigger> polledTriggers = new ConcurrentHashMap<>();
+    /** Time triggers sleep in the wheel and cost nothing per frame until due. */
+    private final TimerWheel<TimeTrigger> timers = new TimerWheel<>(1, TimeUnit.MILLISECONDS, System.nanoTime());
+    /** Keyed by instance: a trigger id may still change after registration (post-inject). */
+    private final Map<TimeTrigger, TimerWheel.Timeout<TimeTrigger>> timerHandles = new ConcurrentHashMap<>();
 
     @PostInject
     public void registerSubQueues() {
@@ -46,6 +82,15 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
         }
     }
 
+    @PostInject
+    public void configureHistory() {
+        int maxEntries = config.get(EventParameters.HISTORY_MAX_ENTRIES);
+        long maxAgeMs = (long) (config.get(EventParameters.HISTORY_RETENTION_SECONDS) * 1000f);
+        executedEvents.setRetention(maxEntries, maxAgeMs);
+        discardedEvents.setRetention(maxEntries, maxAgeMs);
+        completedMacros.setRetention(maxEntries, maxAgeMs);
+    }
+
     @Override
     public void registerQueue(IEventQueue q){
         if (q instanceof ConcurrentSubQueue<? extends IEvent>) {
@@ -54,18 +99,57 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
         }
     }
 
+    /** Order in which a macro's slots are reserved; a fixed order keeps blocked producers from waiting on each other. */
+    private static final Comparator<ConcurrentSubQueue<? extends IEvent>> ADMISSION_ORDER =
+        Comparator.comparing(q -> q.getType().getName());
+
     @Override
-    public synchronized void enqueueMacroEvent(IMacroEvent macroEvent) {
-        macroQueue.addLast(macroEvent);
+    public void enqueueMacroEvent(IMacroEvent macroEvent) {
+        restart(macroEvent);
+        List<IEvent> events = macroEvent.getEvents();
+        for (IEvent e : events) restart(e);
+
+        /* back-pressure happens here, on the producer thread, before the macro is published;
+         * each queue reserves the macro's slots all at once, so no producer waits on its own events */
+        if (events.size() == 1) {
+            if (resolveQueueFor(events.get(0)) instanceof ConcurrentSubQueue<? extends IEvent> q) q.admitAll(events);
+        } else {
+            Map<ConcurrentSubQueue<? extends IEvent>, List<IEvent>> byQueue = new TreeMap<>(ADMISSION_ORDER);
+            for (IEvent e : events) {
+                if (resolveQueueFor(e) instanceof ConcurrentSubQueue<? extends IEvent> q)
+                    byQueue.computeIfAbsent(q, k -> new ArrayList<>()).add(e);
+            }
+            byQueue.forEach(ConcurrentSubQueue::admitAll);
+        }
+        macroQueue.offer(macroEvent);
+        pendingMacros.incrementAndGet();
+    }
+
+    /** Triggers enqueue the same payload on every firing: what finished last time starts over. */
+    private void restart(IMacroEvent macro) {
+        if (macro instanceof MacroEvent me) me.restart();
+        else if (completedMacros.contains(macro)) completedMacros.forget(macro);
+    }
+
+    private void restart(IEvent e) {
+        IEventStatus status = e.getStatus();
+        if (status != EventStatus.COMPLETED && status != EventStatus.DISCARDED) return;
+        if (e instanceof AbstractEvent ae) {
+            ae.restart();
+        } else {
+            executedEvents.forget(e);
+            discardedEvents.forget(e);
+            e.setStatus(EventStatus.WAITING);
+        }
     }
 
     /* ───────────── helper: enqueue *single* event ───────────── */
     @Override
-    public synchronized void enqueueEvent(IEvent ev) {
+    public void enqueueEvent(IEvent ev) {
         /* wrap into a synthetic macro so the usual flow works */
         // TODO create from event manager
         MacroEvent wrap = new MacroEvent();
-        wrap.setId("single-" + ev.getClass().getSimpleName() + "-" + UUID.randomUUID());
+        wrap.setId("single-" + ev.getClass().getSimpleName() + "-" + SINGLE_SEQ.incrementAndGet());
         wrap.addEvent(ev);
         enqueueMacroEvent(wrap);
     }
@@ -99,24 +183,48 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
     }
 
     @Override
-    public synchronized void markExecuted(IEvent event) {
-        executedEvents.add(event);
-        checkMacroCompletion(event.getMacroEvent());
+    public void markExecuted(IEvent event) {
+        boolean first = (event instanceof AbstractEvent ae) ? ae.markExecuted() : executedEvents.record(event);
+        if (!first) return;
+        IMacroEvent macro = event.getMacroEvent();
+        if (macro != null) countDown(macro);
+        for (ConcurrentSubQueue<? extends IEvent> q : subQueues.values()) q.onExecuted(event);
     }
 
-    private void checkMacroCompletion(IMacroEvent macroEvent) {
-        for (IEvent event : macroEvent.getEvents())
-            if (!executedEvents.contains(event)) return;
-        completedMacros.add(macroEvent);
+    /** Settles the macro like {@link #markExecuted}, but dependants are discarded instead of released. */
+    @Override
+    public void markDiscarded(IEvent event) {
+        boolean first = (event instanceof AbstractEvent ae) ? ae.markDiscarded()
+            : !executedEvents.contains(event) && discardedEvents.record(event);
+        if (!first) return;
+        IMacroEvent macro = event.getMacroEvent();
+        if (macro != null) countDown(macro);
+        for (ConcurrentSubQueue<? extends IEvent> q : subQueues.values()) q.onDiscarded(event);
+    }
+
+    /** O(1) per finished event: decrement the macro's countdown instead of rescanning it. */
+    private void countDown(IMacroEvent macroEvent) {
+        if (macroEvent instanceof MacroEvent me) {
+            me.countDown();
+            return;
+        }
+        AtomicInteger left = foreignCountdowns.computeIfAbsent(
+            macroEvent, m -> new AtomicInteger(m.getEvents().size()));
+        if (left.decrementAndGet() == 0) {
+            foreignCountdowns.remove(macroEvent);
+            completedMacros.record(macroEvent);
+        }
     }
 
     @Override
     public boolean hasExecuted(IEvent event) {
+        if (event instanceof AbstractEvent ae) return ae.isExecuted();
         return executedEvents.contains(event);
     }
 
     @Override
     public boolean isMacroEventCompleted(IMacroEvent macroEvent) {
+        if (macroEvent instanceof MacroEvent me) return me.isCompleted();
         return completedMacros.contains(macroEvent);
     }
 
@@ -127,23 +235,29 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
 
     @Override
     public void process(float delta) {
-        triggers.values().forEach(t -> t.pollAndFire(delta));
-
-        synchronized (this) {
-            for (IMacroEvent macro : macroQueue) {
-                for (IEvent e : macro.getEvents()) {
-
-                    IEventQueue q = resolveQueueFor(e);
-                    if (q == null) {
-                        throw new IllegalStateException(
-                            "No queue registered for event type " + e.getClass().getName()
-                                + " (known queue tokens: " + subQueues.keySet().stream().map(Class::getName).toList() + ")"
-                        );
-                    }
-                    q.enqueue(e);
+        polledTriggers.values().forEach(t -> t.pollAndFire(delta));
+        timers.advance(System.nanoTime(), t -> fireTimer(t, delta));
+        executedEvents.trim();
+        discardedEvents.trim();
+        completedMacros.trim();
+
+        /* drain only what producers published so far; late arrivals wait for the next frame */
+        for (int n = pendingMacros.get(); n > 0; n--) {
+            IMacroEvent macro = macroQueue.poll();
+            if (macro == null) break;
+            pendingMacros.decrementAndGet();
+            for (IEvent e : macro.getEvents()) {
+                if (e.getStatus() == EventStatus.DISCARDED) continue; // refused at admission
+
+                IEventQueue q = resolveQueueFor(e);
+                if (q == null) {
+                    throw new IllegalStateException(
+                        "No queue registered for event type " + e.getClass().getName()
+                            + " (known queue tokens: " + subQueues.keySet().stream().map(Class::getName).toList() + ")"
+                    );
                 }
+                q.enqueue(e);
             }
-            macroQueue.clear();
         }
         subQueues.values().forEach(ConcurrentSubQueue::processAllEligible);
     }
@@ -178,6 +292,13 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
         return null;
     }
 
+    /** Live metrics of every registered sub-queue, keyed by the event type it serves. */
+    public Map<Class<? extends IEvent>, SubQueueMetrics> getQueueMetrics() {
+        Map<Class<? extends IEvent>, SubQueueMetrics> out = new LinkedHashMap<>();
+        subQueues.forEach((type, q) -> out.put(type, q.getMetrics()));
+        return out;
+    }
+
     @Override
     public FileLogger getLogger() {
         return log;
@@ -240,16 +361,23 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
     @Override
     public void registerTrigger(IEventTrigger t) {
         triggers.put(t.getId(), t);
+        if (t instanceof TimeTrigger tt) schedule(tt);
+        else polledTriggers.put(t.getId(), t);
     }
 
     @Override
     public void removeTrigger(String id) {
-        triggers.remove(id);
+        IEventTrigger t = triggers.remove(id);
+        polledTriggers.remove(id);
+        if (t instanceof TimeTrigger tt) timers.cancel(timerHandles.remove(tt));
     }
 
     @Override
     public void enableTrigger(String id) {
-        triggers.get(id).setEnabled(true);
+        IEventTrigger t = triggers.get(id);
+        t.setEnabled(true);
+        /* a time trigger that came due while disabled left the wheel: file it again */
+        if (t instanceof TimeTrigger tt && !timerHandles.containsKey(tt)) schedule(tt);
     }
 
     @Override
@@ -257,4 +385,24 @@ public class MasterEventQueue extends BaseComponent implements IMasterEventQueue
         triggers.get(id).setEnabled(false);
     }
 
+    private void schedule(TimeTrigger t) {
+        TimerWheel.Timeout<TimeTrigger> handle = t.isDue(System.nanoTime())
+            ? timers.scheduleDue(t)
+            : timers.schedule(t, t.getDeadlineNanos());
+        TimerWheel.Timeout<TimeTrigger> previous = timerHandles.put(t, handle);
+        timers.cancel(previous);
+    }
+
+    private void fireTimer(TimeTrigger t, float delta) {
+        if (!timerHandles.containsKey(t)) return;    // removed meanwhile
+        if (!t.isEnabled()) {                        // dormant until enableTrigger(id)
+            timerHandles.remove(t);
+            return;
+        }
+        /* not due means the deadline was moved after registration: refile */
+        t.pollAndFire(delta);
+        if (t.isEnabled()) schedule(t);
+        else timerHandles.remove(t);                 // one-shot done
+    }
+
 }
@@ -0,0 +1,134 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.api.event.IEvent;
+import com.gwngames.core.event.base.AbstractEvent;
+import com.gwngames.core.util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime counters of one {@link ConcurrentSubQueue}.
+ * <p>
+ * Everything is lock-free (adders, atomic histograms, enqueue stamps kept on the events)
+ * and readable in-process through {@link #snapshot()}. Overflow counters are always kept;
+ * timing and depth tracking can be switched off with {@link #setEnabled(boolean)}.
+ * </p>
+ */
+public final class SubQueueMetrics {
+
+    /** Point-in-time view; latencies are in nanoseconds. */
+    public record Snapshot(
+        long enqueued,
+        long completed,
+        long depth,
+        long conditionRejections,
+        long rejected,
+        long coalesced,
+        double enqueueRatePerSecond,
+        long queuedP50, long queuedP99, long queuedMax,
+        long executionP50, long executionP90, long executionP99, long executionMax) {}
+
+    private volatile boolean enabled = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder conditionRejections = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder depth = new LongAdder();
+    /** Enqueue time of foreign events; framework events carry it in {@link AbstractEvent#getQueuedAt()}. */
+    private final Map<IEvent, Long> pendingSince = new ConcurrentHashMap<>();
+    private final LatencyHistogram queuedTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+
+    private long lastSnapshotAt = System.nanoTime();
+    private long lastEnqueued;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    /* ─────────────────────────── recording ─────────────────────────── */
+
+    void onEnqueue(IEvent ev) {
+        if (!enabled) return;
+        enqueued.increment();
+        depth.increment();
+        long now = System.nanoTime();
+        if (ev instanceof AbstractEvent ae) ae.setQueuedAt(now);
+        else pendingSince.put(ev, now);
+    }
+
+    void onConditionRejected() {
+        if (enabled) conditionRejections.increment();
+    }
+
+    void onDispatch(IEvent ev) {
+        long since = leave(ev);
+        if (since != 0L) queuedTime.record(System.nanoTime() - since);
+    }
+
+    void onDiscard(IEvent ev) {
+        leave(ev);
+    }
+
+    /** Clears the enqueue stamp; returns it, or {@code 0} if the event was never counted. */
+    private long leave(IEvent ev) {
+        long since;
+        if (ev instanceof AbstractEvent ae) {
+            since = ae.getQueuedAt();
+            ae.setQueuedAt(0L);
+        } else {
+            Long boxed = pendingSince.remove(ev);
+            since = boxed == null ? 0L : boxed;
+        }
+        if (since != 0L) depth.decrement();
+        return since;
+    }
+
+    void onCompleted(long executionNanos) {
+        if (!enabled) return;
+        completed.increment();
+        executionTime.record(executionNanos);
+    }
+
+    void onRejected() { rejected.increment(); }
+
+    void onCoalesced() { coalesced.increment(); }
+
+    /* ──────────────────────────── reading ──────────────────────────── */
+
+    public long getRejectedCount() { return rejected.sum(); }
+
+    public long getCoalescedCount() { return coalesced.sum(); }
+
+    public long getDepth() { return depth.sum(); }
+
+    public LatencyHistogram getQueuedTime() { return queuedTime; }
+
+    public LatencyHistogram getExecutionTime() { return executionTime; }
+
+    /** Builds a snapshot; the enqueue rate covers the time since the previous call. */
+    public synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        long total = enqueued.sum();
+        double seconds = Math.max(1e-9, (now - lastSnapshotAt) / (double) TimeUnit.SECONDS.toNanos(1));
+        double rate = (total - lastEnqueued) / seconds;
+        lastSnapshotAt = now;
+        lastEnqueued = total;
+
+        return new Snapshot(
+            total,
+            completed.sum(),
+            getDepth(),
+            conditionRejections.sum(),
+            rejected.sum(),
+            coalesced.sum(),
+            rate,
+            queuedTime.percentile(50), queuedTime.percentile(99), queuedTime.max(),
+            executionTime.percentile(50), executionTime.percentile(90),
+            executionTime.percentile(99), executionTime.max());
+    }
+}
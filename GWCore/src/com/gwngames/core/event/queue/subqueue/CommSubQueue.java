@@ -15,6 +15,10 @@ public class CommSubQueue extends ConcurrentSubQueue<ICommEvent> {
     @Override
     protected void init(){
         this.maxParallel = config.get(EventParameters.COMM_EVENT_MAX_THREAD);
+        this.capacity = config.get(EventParameters.COMM_EVENT_CAPACITY);
+        this.overflowPolicy = config.get(EventParameters.COMM_EVENT_OVERFLOW);
+        this.executionMode = config.get(EventParameters.COMM_EVENT_EXECUTION);
+        this.virtualLimit = config.get(EventParameters.COMM_EVENT_VIRTUAL_LIMIT);
         super.init();
     }
     @Override
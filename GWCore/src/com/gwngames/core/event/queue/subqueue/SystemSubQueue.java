@@ -15,6 +15,10 @@ public class SystemSubQueue extends ConcurrentSubQueue<ISystemEvent> {
     @Override
     protected void init(){
         this.maxParallel = config.get(EventParameters.SYSTEM_EVENT_MAX_THREAD);
+        this.capacity = config.get(EventParameters.SYSTEM_EVENT_CAPACITY);
+        this.overflowPolicy = config.get(EventParameters.SYSTEM_EVENT_OVERFLOW);
+        this.executionMode = config.get(EventParameters.SYSTEM_EVENT_EXECUTION);
+        this.virtualLimit = config.get(EventParameters.SYSTEM_EVENT_VIRTUAL_LIMIT);
         super.init();
     }
     @Override
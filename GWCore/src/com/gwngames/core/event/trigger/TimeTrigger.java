@@ -7,9 +7,18 @@ import com.gwngames.core.api.event.IMacroEvent;
 import com.gwngames.core.api.event.trigger.ITimeTrigger;
 import com.gwngames.core.event.base.AbstractEventTrigger;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Fires at fixed time intervals (in milliseconds).
  * If {@code repeat} is {@code false} it behaves like a one-shot timer.
+ * <p>
+ * Deadlines live on the monotonic {@link System#nanoTime()} scale, so wall-clock
+ * adjustments never make the trigger fire early or late; {@link #setNextFireAt(long)}
+ * only reads the wall clock once, to convert its epoch-millis argument.
+ * The master queue files registered time triggers in a {@link TimerWheel} instead of
+ * polling them every frame; (re)schedule them before registering.
+ * </p>
  */
 @Init(module = CoreModule.CORE)
 public class TimeTrigger extends AbstractEventTrigger implements ITimeTrigger {
@@ -18,15 +27,18 @@ public class TimeTrigger extends AbstractEventTrigger implements ITimeTrigger {
     private boolean repeat;
     private IMacroEvent macroPayload;   // alternative to single event
     private IEvent singlePayload;  // alternative to macro
-    private long nextFireAt;
+    /** Monotonic deadline; {@link #DUE_NOW} until one is set. */
+    private long deadlineNanos = DUE_NOW;
+
+    private static final long DUE_NOW = Long.MIN_VALUE;
 
     @Override
     public boolean pollAndFire(float delta) {
 
         if (!isEnabled()) return false;
 
-        long now = System.currentTimeMillis();
-        if (now < nextFireAt) return false;
+        long now = System.nanoTime();
+        if (!isDue(now)) return false;
 
         /* -- enqueue payload -- */
         if (macroPayload != null)
@@ -36,7 +48,10 @@ public class TimeTrigger extends AbstractEventTrigger implements ITimeTrigger {
 
         /* -- schedule next tick -- */
         if (repeat) {
-            nextFireAt = now + intervalMs;
+            /* fixed rate; resync instead of bursting when we fell more than a period behind */
+            long period = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+            long next = deadlineNanos == DUE_NOW ? now + period : deadlineNanos + period;
+            deadlineNanos = next - now <= 0 ? now + period : next;
         } else {
             setEnabled(false);             // one-shot complete
         }
@@ -75,11 +90,29 @@ public class TimeTrigger extends AbstractEventTrigger implements ITimeTrigger {
         this.singlePayload = singlePayload;
     }
 
+    /** @return {@code true} if the deadline has been reached at {@code nowNanos} */
+    public boolean isDue(long nowNanos) {
+        return deadlineNanos == DUE_NOW || nowNanos - deadlineNanos >= 0;
+    }
+
+    /** Monotonic deadline on the {@link System#nanoTime()} scale, {@code Long.MIN_VALUE} if due now. */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /** Schedules the next firing {@code delayMs} from now, on the monotonic clock. */
+    public void fireAfter(long delayMs) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+    }
+
+    /** Next firing as epoch millis (derived from the monotonic deadline). */
     public long getNextFireAt() {
-        return nextFireAt;
+        if (deadlineNanos == DUE_NOW) return 0L;
+        return System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
     }
 
+    /** Schedules the next firing at an absolute epoch-millis time; values in the past fire on the next poll. */
     public void setNextFireAt(long nextFireAt) {
-        this.nextFireAt = nextFireAt;
+        fireAfter(nextFireAt - System.currentTimeMillis());
     }
 }
@@ -0,0 +1,186 @@
+package com.gwngames.core.event.trigger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel on the monotonic clock ({@link System#nanoTime()}).
+ * <p>
+ * {@value #LEVELS} levels of {@value #SLOTS} slots each; level {@code n} slots span
+ * {@code 64^n} ticks. A timer is filed in the coarsest level its distance needs and
+ * cascades one level down each time its slot comes up, so it is touched at most
+ * {@value #LEVELS} times before firing. Advancing costs one slot check per elapsed tick,
+ * independent of how many timers are pending.
+ * </p>
+ * <p>
+ * Deadlines are rounded up to the next tick: a timer never fires early, and late by at
+ * most one tick plus the caller's polling period. All methods are synchronized; the wheel
+ * is advanced by one thread (the frame) and scheduled into from anywhere.
+ * </p>
+ */
+public final class TimerWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 7;
+
+    /** Handle of a scheduled timer; pass it to {@link #cancel} to unschedule. */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev, next;
+        private Bucket<T> bucket;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() { return item; }
+
+        public boolean isPending() { return bucket != null; }
+    }
+
+    /** Intrusive doubly-linked list, O(1) insert and unlink. */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> t) {
+            t.bucket = this;
+            t.prev = null;
+            t.next = head;
+            if (head != null) head.prev = t;
+            head = t;
+        }
+
+        void unlink(Timeout<T> t) {
+            if (t.prev != null) t.prev.next = t.next;
+            else head = t.next;
+            if (t.next != null) t.next.prev = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+        }
+
+        /** Detaches and returns the whole chain. */
+        Timeout<T> drain() {
+            Timeout<T> h = head;
+            head = null;
+            return h;
+        }
+    }
+
+    private final long tickNanos;
+    private final long originNanos;
+    private final Bucket<T>[][] wheel;
+    /** Timers whose deadline was already reached when filed. */
+    private final Bucket<T> due = new Bucket<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tick, TimeUnit unit, long nowNanos) {
+        this.tickNanos = Math.max(1L, unit.toNanos(tick));
+        this.originNanos = nowNanos;
+        this.wheel = new Bucket[LEVELS][SLOTS];
+        for (Bucket<T>[] level : wheel)
+            for (int s = 0; s < SLOTS; s++) level[s] = new Bucket<>();
+    }
+
+    /** Schedules {@code item} to fire once {@code deadlineNanos} (on the nanoTime scale) is reached. */
+    public synchronized Timeout<T> schedule(T item, long deadlineNanos) {
+        long rel = deadlineNanos - originNanos;
+        /* ceil so that we never fire before the deadline */
+        long tick = rel <= 0 ? 0 : (rel + tickNanos - 1) / tickNanos;
+        Timeout<T> t = new Timeout<>(item, tick);
+        place(t);
+        size++;
+        return t;
+    }
+
+    /** Files {@code item} as already expired: it fires on the next {@link #advance}. */
+    public synchronized Timeout<T> scheduleDue(T item) {
+        Timeout<T> t = new Timeout<>(item, currentTick);
+        due.add(t);
+        size++;
+        return t;
+    }
+
+    public synchronized boolean cancel(Timeout<T> t) {
+        if (t == null || t.bucket == null) return false;
+        t.bucket.unlink(t);
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowNanos}, handing every expired item to {@code fire}
+     * (outside of any slot iteration, so the callback may schedule again).
+     */
+    public void advance(long nowNanos, Consumer<T> fire) {
+        List<T> expired = collect(nowNanos);
+        for (int i = 0; i < expired.size(); i++) fire.accept(expired.get(i));
+    }
+
+    private synchronized List<T> collect(long nowNanos) {
+        List<T> out = new ArrayList<>();
+        takeAll(due, out);
+
+        long target = Math.floorDiv(nowNanos - originNanos, tickNanos);
+        if (size == 0) {                       // nothing to walk through
+            if (target > currentTick) currentTick = target;
+            return out;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            cascade();
+            takeAll(due, out);                 // cascaded timers landing exactly on this tick
+            takeAll(wheel[0][(int) (currentTick & MASK)], out);
+            if (size == 0 && target > currentTick) currentTick = target;
+        }
+        return out;
+    }
+
+    /** Refiles the higher-level slots that just came up, from level 1 upwards. */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) return;
+            Timeout<T> t = wheel[level][(int) ((currentTick >>> (SLOT_BITS * level)) & MASK)].drain();
+            while (t != null) {
+                Timeout<T> next = t.next;
+                t.bucket = null;
+                place(t);
+                t = next;
+            }
+        }
+    }
+
+    private void takeAll(Bucket<T> bucket, List<T> out) {
+        Timeout<T> t = bucket.drain();
+        while (t != null) {
+            Timeout<T> next = t.next;
+            t.prev = t.next = null;
+            t.bucket = null;
+            out.add(t.item);
+            size--;
+            t = next;
+        }
+    }
+
+    private void place(Timeout<T> t) {
+        long delta = t.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(t);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) level++;
+        long deadline = Math.min(t.deadlineTick, currentTick + (1L << (SLOT_BITS * LEVELS)) - 1);
+        wheel[level][(int) ((deadline >>> (SLOT_BITS * level)) & MASK)].add(t);
+    }
+}
@@ -1,13 +1,14 @@
 package com.gwngames.core.generated;
 
 import com.gwngames.catalog.ModulePriorities;
+import com.gwngames.core.util.ComponentIndex;
 import com.gwngames.core.util.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
@@ -17,15 +18,23 @@ import java.util.logging.Logger;
  * Runtime module priority lookup.
  * This class is NOT generated.
  * It bootstraps by scanning the runtime classpath for classes annotated with {@link ModulePriorities}
- * and caching their entries.
+ * and caching their entries. Jars / directories carrying a {@link ComponentIndex} only load the
+ * classes it lists; the others are checked from the class bytes before anything is loaded.
+ * <p>
+ * The entries are published as one immutable snapshot: lookups read a volatile field and never
+ * lock, and {@link #reload()} builds a complete new snapshot before swapping it in, so readers
+ * see either the old or the new priorities, never a partly filled map.
+ * </p>
  */
 public final class ModulePriorityRegistry {
     private ModulePriorityRegistry() {}
 
     private static final Logger LOG = Logger.getLogger(ModulePriorityRegistry.class.getName());
 
-    private static final ConcurrentHashMap<String, Integer> CACHE = new ConcurrentHashMap<>();
-    private static volatile boolean initialized = false;
+    /** Normalized module id → priority, and the version it was published under. */
+    private record Snapshot(Map<String, Integer> priorities, int version) { }
+
+    private static volatile Snapshot snapshot;
 
     /**
      * Returns priority for the given module id (case-insensitive).
@@ -35,13 +44,17 @@ public final class ModulePriorityRegistry {
         if (StringUtils.isEmpty(moduleId)) {
             throw new IllegalStateException("Module id is null/empty");
         }
-        ensureInit();
+        Map<String, Integer> priorities = snapshot().priorities();
+
+        // ids are normally spelled like their key already: skip normalizing for those
+        Integer p = priorities.get(moduleId);
+        if (p != null) return p;
 
         String key = norm(moduleId);
-        Integer p = CACHE.get(key);
+        p = priorities.get(key);
         if (p == null) {
             // Log + throw (as requested)
-            String known = String.join(", ", new TreeSet<>(CACHE.keySet()));
+            String known = String.join(", ", new TreeSet<>(priorities.keySet()));
             LOG.severe(() -> "Unknown module id \"" + moduleId + "\". Known module ids: [" + known + "]");
             throw new IllegalStateException(
                 "Unknown module id \"" + moduleId + "\" (normalized: \"" + key + "\"). " +
@@ -51,72 +64,83 @@ public final class ModulePriorityRegistry {
         return p;
     }
 
-    /** Optional: force re-scan (useful in tests). */
+    /**
+     * Re-scans the classpath and publishes the result as a new snapshot (hot reload, tests).
+     * Lookups running meanwhile keep using the previous snapshot.
+     */
     public static synchronized void reload() {
-        initialized = false;
-        CACHE.clear();
-        ensureInit();
+        Snapshot old = snapshot;
+        snapshot = new Snapshot(scan(), old == null ? 0 : old.version() + 1);
+    }
+
+    /** Changes whenever priorities may have changed (see {@link #reload()}). */
+    public static int version() {
+        Snapshot s = snapshot;
+        return s == null ? 0 : s.version();
     }
 
     /** Snapshot of the registry (sorted, unmodifiable). */
     public static Map<String, Integer> asMap() {
-        ensureInit();
-        return Collections.unmodifiableMap(new TreeMap<>(CACHE));
+        return Collections.unmodifiableMap(new TreeMap<>(snapshot().priorities()));
     }
 
     // ------------------------------------------------------------
 
-    private static void ensureInit() {
-        if (initialized) return;
+    private static Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
         synchronized (ModulePriorityRegistry.class) {
-            if (initialized) return;
-
-            long t0 = System.currentTimeMillis();
-            LOG.info("ModulePriorityRegistry: initializing (scanning @ModulePriorities on classpath) ...");
+            if (snapshot == null) snapshot = new Snapshot(scan(), 0);
+            return snapshot;
+        }
+    }
 
-            // Optional minimal defaults (remove if you want "annotations only" hard strictness)
-            loadBuiltInDefaults();
+    private static Map<String, Integer> scan() {
+        long t0 = System.currentTimeMillis();
+        LOG.info("ModulePriorityRegistry: initializing (scanning @ModulePriorities on classpath) ...");
 
-            int annotatedClasses = 0;
-            int entries = 0;
+        Map<String, Integer> into = new HashMap<>();
+        // Optional minimal defaults (remove if you want "annotations only" hard strictness)
+        loadBuiltInDefaults(into);
 
-            try {
-                ScanResult r = scanClasspathForModulePriorities();
-                annotatedClasses = r.annotatedClasses;
-                entries = r.entries;
-            } catch (Throwable t) {
-                LOG.log(Level.SEVERE, "ModulePriorityRegistry: classpath scan failed", t);
-                // We keep defaults, but if you want hard-fail on scan issues:
-                // throw new IllegalStateException("Failed to scan @ModulePriorities", t);
-            }
+        int annotatedClasses = 0;
+        int entries = 0;
 
-            initialized = true;
+        try {
+            ScanResult r = scanClasspathForModulePriorities(into);
+            annotatedClasses = r.annotatedClasses;
+            entries = r.entries;
+        } catch (Throwable t) {
+            LOG.log(Level.SEVERE, "ModulePriorityRegistry: classpath scan failed", t);
+            // We keep defaults, but if you want hard-fail on scan issues:
+            // throw new IllegalStateException("Failed to scan @ModulePriorities", t);
+        }
 
-            long dt = System.currentTimeMillis() - t0;
-            int finalEntries = entries;
-            int finalAnnotatedClasses = annotatedClasses;
-            LOG.info(() ->
-                "ModulePriorityRegistry: initialized. annotatedClasses=" + finalAnnotatedClasses +
-                    ", entries=" + finalEntries +
-                    ", cachedKeys=" + CACHE.size() +
-                    ", timeMs=" + dt
-            );
-            if (LOG.isLoggable(Level.FINE)) {
-                LOG.fine(() -> "ModulePriorityRegistry: map=" + new TreeMap<>(CACHE));
-            }
+        long dt = System.currentTimeMillis() - t0;
+        int finalEntries = entries;
+        int finalAnnotatedClasses = annotatedClasses;
+        LOG.info(() ->
+            "ModulePriorityRegistry: initialized. annotatedClasses=" + finalAnnotatedClasses +
+                ", entries=" + finalEntries +
+                ", cachedKeys=" + into.size() +
+                ", timeMs=" + dt
+        );
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine(() -> "ModulePriorityRegistry: map=" + new TreeMap<>(into));
         }
+        return Map.copyOf(into);
     }
 
     /** Minimal safe defaults so runtime never explodes early (optional). */
-    private static void loadBuiltInDefaults() {
-        CACHE.putIfAbsent("unimplemented", 0);
-        CACHE.putIfAbsent("interface", 1);
-        CACHE.putIfAbsent("core", 5);
+    private static void loadBuiltInDefaults(Map<String, Integer> into) {
+        into.putIfAbsent("unimplemented", 0);
+        into.putIfAbsent("interface", 1);
+        into.putIfAbsent("core", 5);
     }
 
     private record ScanResult(int annotatedClasses, int entries) {}
 
-    private static ScanResult scanClasspathForModulePriorities() throws IOException {
+    private static ScanResult scanClasspathForModulePriorities(Map<String, Integer> into) throws IOException {
         String cp = System.getProperty("java.class.path", "");
         if (cp.isBlank()) {
             LOG.warning("ModulePriorityRegistry: java.class.path is blank; cannot scan. Using defaults only.");
@@ -138,12 +162,12 @@ public final class ModulePriorityRegistry {
 
             if (Files.isDirectory(path)) {
                 // scan directory of .class files
-                ScanResult r = scanDirectory(path, cl);
+                ScanResult r = scanDirectory(path, cl, into);
                 annotatedClasses += r.annotatedClasses;
                 entries += r.entries;
             } else if (p.endsWith(".jar")) {
                 // scan jar entries
-                ScanResult r = scanJar(path.toFile(), cl);
+                ScanResult r = scanJar(path.toFile(), cl, into);
                 annotatedClasses += r.annotatedClasses;
                 entries += r.entries;
             }
@@ -152,11 +176,14 @@ public final class ModulePriorityRegistry {
         return new ScanResult(annotatedClasses, entries);
     }
 
-    private static ScanResult scanJar(File jarFile, ClassLoader cl) {
+    private static ScanResult scanJar(File jarFile, ClassLoader cl, Map<String, Integer> into) {
         int annotatedClasses = 0;
         int entries = 0;
 
         try (JarFile jf = new JarFile(jarFile)) {
+            ComponentIndex idx = ComponentIndex.isEnabled() ? ComponentIndex.of(jf) : null;
+            if (idx != null) return registerFromIndex(idx, cl, into);
+
             Enumeration<JarEntry> it = jf.entries();
             while (it.hasMoreElements()) {
                 JarEntry e = it.nextElement();
@@ -165,8 +192,14 @@ public final class ModulePriorityRegistry {
                 if (!name.endsWith(".class")) continue;
                 if (name.contains("module-info.class")) continue;
 
+                byte[] bytes;
+                try (InputStream in = jf.getInputStream(e)) {
+                    bytes = in.readAllBytes();
+                }
+                if (!declaresPriorities(bytes, name)) continue;
+
                 String fqn = name.substring(0, name.length() - 6).replace('/', '.');
-                ScanResult r = tryRegisterFromClassName(fqn, cl);
+                ScanResult r = tryRegisterFromClassName(fqn, cl, into);
                 annotatedClasses += r.annotatedClasses;
                 entries += r.entries;
             }
@@ -177,7 +210,10 @@ public final class ModulePriorityRegistry {
         return new ScanResult(annotatedClasses, entries);
     }
 
-    private static ScanResult scanDirectory(Path root, ClassLoader cl) throws IOException {
+    private static ScanResult scanDirectory(Path root, ClassLoader cl, Map<String, Integer> into) throws IOException {
+        ComponentIndex idx = ComponentIndex.isEnabled() ? ComponentIndex.of(root.toFile()) : null;
+        if (idx != null) return registerFromIndex(idx, cl, into);
+
         int annotatedClasses = 0;
         int entries = 0;
 
@@ -195,12 +231,14 @@ public final class ModulePriorityRegistry {
                 String abs = cls.toString();
                 if (abs.endsWith("module-info.class")) continue;
 
+                if (!declaresPriorities(Files.readAllBytes(cls), abs)) continue;
+
                 String rel = abs.substring(rootLen);
                 String fqn = rel
                     .replace(File.separatorChar, '.')
                     .replaceAll("\\.class$", "");
 
-                ScanResult r = tryRegisterFromClassName(fqn, cl);
+                ScanResult r = tryRegisterFromClassName(fqn, cl, into);
                 annotatedClasses += r.annotatedClasses;
                 entries += r.entries;
             }
@@ -209,7 +247,28 @@ public final class ModulePriorityRegistry {
         return new ScanResult(annotatedClasses, entries);
     }
 
-    private static ScanResult tryRegisterFromClassName(String fqn, ClassLoader cl) {
+    private static ScanResult registerFromIndex(ComponentIndex idx, ClassLoader cl, Map<String, Integer> into) {
+        int annotatedClasses = 0;
+        int entries = 0;
+        for (String fqn : idx.classNames(ModulePriorities.class)) {
+            ScanResult r = tryRegisterFromClassName(fqn, cl, into);
+            annotatedClasses += r.annotatedClasses;
+            entries += r.entries;
+        }
+        return new ScanResult(annotatedClasses, entries);
+    }
+
+    /** Peeks the class bytes; unreadable files are let through so that loading decides. */
+    private static boolean declaresPriorities(byte[] bytes, String source) {
+        try {
+            return ComponentIndex.isAnnotated(bytes, ModulePriorities.class);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.FINER, "ModulePriorityRegistry: cannot parse " + source, e);
+            return true;
+        }
+    }
+
+    private static ScanResult tryRegisterFromClassName(String fqn, ClassLoader cl, Map<String, Integer> into) {
         try {
             // Don't initialize class (avoid side effects)
             Class<?> c = Class.forName(fqn, false, cl);
@@ -223,7 +282,7 @@ public final class ModulePriorityRegistry {
                 if (StringUtils.isEmpty(id)) continue;
 
                 String key = norm(id);
-                Integer prev = CACHE.putIfAbsent(key, pr);
+                Integer prev = into.putIfAbsent(key, pr);
                 if (prev != null && prev != pr) {
                     // Duplicate with different priority: log it loudly
                     LOG.severe(() ->
@@ -33,9 +33,9 @@ public final class Cdi {
         // 1) Wire @Inject fields
         List<Field> fields = ClassUtils.getAnnotatedFields(target.getClass(), Inject.class);
         for (Field f : fields) {
-            boolean restore = f.canAccess(target);
             try {
-                f.setAccessible(true);
+                // fields are shared through ClassUtils' cache: open them once, never close again
+                if (!f.canAccess(target)) f.setAccessible(true);
                 Inject inj = f.getAnnotation(Inject.class);
 
                 if (inj.loadAll()) {
@@ -104,8 +104,6 @@ public final class Cdi {
 
             } catch (IllegalAccessException e) {
                 throw new RuntimeException("Injection failed for field " + f + " on " + target.getClass().getName(), e);
-            } finally {
-                f.setAccessible(restore);
             }
         }
 
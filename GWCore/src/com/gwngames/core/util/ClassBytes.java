@@ -0,0 +1,141 @@
+package com.gwngames.core.util;
+
+import com.gwngames.core.base.log.FileLogger;
+import com.gwngames.core.data.LogFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Reads the class files of project jars / class directories, one root per thread.
+ * <p>
+ * Only the I/O and byte-level filtering run in parallel; the caller defines the classes
+ * afterwards, in root order, handing the bytes to the loader (see
+ * {@link TransformingURLClassLoader#prefetch}) so that every class file is read once.
+ * </p>
+ * Set {@code -Dgw.scan.parallel=false} to read the roots one after another.
+ */
+public final class ClassBytes {
+    private static final FileLogger log = FileLogger.get(LogFiles.SYSTEM);
+
+    public static final String PARALLEL_PROPERTY = "gw.scan.parallel";
+
+    /** One class file. */
+    public record Entry(String className, byte[] bytes) { }
+
+    /**
+     * A jar or class directory to read. {@code names} selects by class name before anything is
+     * read, {@code content} by class bytes afterwards.
+     */
+    public record Source(File root, Predicate<String> names, Predicate<byte[]> content) { }
+
+    private ClassBytes() { }
+
+    public static boolean isParallel() {
+        return !"false".equalsIgnoreCase(System.getProperty(PARALLEL_PROPERTY));
+    }
+
+    /** {@link #read} of every source, results in source order; an unreadable root yields no entries. */
+    public static List<List<Entry>> readAll(List<Source> sources) {
+        return readAll(sources, isParallel());
+    }
+
+    public static List<List<Entry>> readAll(List<Source> sources, boolean parallel) {
+        int threads = parallel ? Math.min(sources.size(), Runtime.getRuntime().availableProcessors()) : 1;
+        if (threads <= 1) {
+            List<List<Entry>> out = new ArrayList<>(sources.size());
+            for (Source s : sources) out.add(readQuietly(s));
+            return out;
+        }
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "gw-class-scan");
+            t.setDaemon(true);
+            return t;
+        })) {
+            List<Future<List<Entry>>> futures = new ArrayList<>(sources.size());
+            for (Source s : sources) futures.add(pool.submit(() -> readQuietly(s)));
+
+            List<List<Entry>> out = new ArrayList<>(sources.size());
+            for (Future<List<Entry>> f : futures) out.add(f.get());
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning class files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Class file scan failed", e.getCause());
+        }
+    }
+
+    /** Class files of one jar (entry order) or directory (path order) passing both filters. */
+    public static List<Entry> read(Source source) throws IOException {
+        File root = source.root();
+        if (root.isDirectory()) return readDirectory(source);
+        if (root.getName().endsWith(".jar")) return readJar(source);
+        return List.of();
+    }
+
+    private static List<Entry> readQuietly(Source s) {
+        try {
+            return read(s);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Error reading class files of {}", s.root(), e);
+            return List.of();
+        }
+    }
+
+    private static List<Entry> readJar(Source source) throws IOException {
+        List<Entry> out = new ArrayList<>();
+        try (JarFile jar = new JarFile(source.root())) {
+            Enumeration<JarEntry> e = jar.entries();
+            while (e.hasMoreElements()) {
+                JarEntry je = e.nextElement();
+                String cn = classNameOf(je.getName(), '/');
+                if (cn == null || !source.names().test(cn)) continue;
+                try (InputStream in = jar.getInputStream(je)) {
+                    byte[] bytes = in.readAllBytes();
+                    if (source.content().test(bytes)) out.add(new Entry(cn, bytes));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static List<Entry> readDirectory(Source source) throws IOException {
+        Path root = source.root().toPath();
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(root)) {
+            files = s.filter(p -> p.toString().endsWith(".class")).sorted().toList();
+        }
+
+        List<Entry> out = new ArrayList<>();
+        for (Path p : files) {
+            String cn = classNameOf(root.relativize(p).toString(), File.separatorChar);
+            if (cn == null || !source.names().test(cn)) continue;
+            byte[] bytes = Files.readAllBytes(p);
+            if (source.content().test(bytes)) out.add(new Entry(cn, bytes));
+        }
+        return out;
+    }
+
+    private static String classNameOf(String path, char separator) {
+        if (!path.endsWith(".class")) return null;
+        String cn = path.substring(0, path.length() - ".class".length()).replace(separator, '.');
+        return cn.endsWith("module-info") ? null : cn;
+    }
+}
@@ -19,6 +19,7 @@ import java.lang.reflect.WildcardType;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -36,8 +37,27 @@ public final class ClassUtils {
     /* ──────────────────────────────────────────────────────────────────────
      *  Field utilities (existing)
      * ─────────────────────────────────────────────────────────────────── */
+    /** {@link #getAnnotatedFields} results, per class and annotation. */
+    private static final ClassValue<Map<Class<? extends Annotation>, List<Field>>> ANNOTATED_FIELDS =
+        new ClassValue<>() {
+            @Override
+            protected Map<Class<? extends Annotation>, List<Field>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    /**
+     * Fields of {@code clazz} and its superclasses carrying {@code anno}, subclass first.
+     * Computed once per class and annotation; the returned list is unmodifiable and its
+     * {@link Field} objects are shared, so callers must not rely on toggling their accessibility.
+     */
     public static List<Field> getAnnotatedFields(Class<?> clazz,
                                                  Class<? extends Annotation> anno) {
+        if (clazz == null) return List.of();
+        return ANNOTATED_FIELDS.get(clazz).computeIfAbsent(anno, a -> scanAnnotatedFields(clazz, a));
+    }
+
+    private static List<Field> scanAnnotatedFields(Class<?> clazz, Class<? extends Annotation> anno) {
         List<Field> out = new ArrayList<>();
         while (clazz != null && clazz != Object.class) {
             for (Field f : clazz.getDeclaredFields()) {
@@ -45,7 +65,7 @@ public final class ClassUtils {
             }
             clazz = clazz.getSuperclass();
         }
-        return out;
+        return List.copyOf(out);
     }
 
     /**
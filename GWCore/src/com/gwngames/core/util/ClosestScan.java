@@ -20,7 +20,7 @@ public final class ClosestScan {
     private static final String CLOSEST_COMPONENT_INT =
         "com/gwngames/core/base/ClosestComponent";
     private static final String CLOSEST_OVER_ANNOTATION_DESC =
-        "Lcom/gwngames/core/base/cfg/ClosestOver;";
+        "Lcom/gwngames/core/api/build/ClosestOver;";
 
     // @Init is in api.build per your codebase
     private static final String INIT_ANNOTATION_DESC =
@@ -76,6 +76,12 @@ public final class ClosestScan {
                                 scan.hintSubEnumSimple = value;
                             }
                         }
+
+                        @Override
+                        public void visit(String name, Object value) {
+                            // String catalog ids are recorded like enum simple names
+                            if (value instanceof String s) visitEnum(name, null, s);
+                        }
                     };
                 } else if (INIT_ANNOTATION_DESC.equals(desc)) {
                     return new AnnotationVisitor(ASM9) {
@@ -90,6 +96,11 @@ public final class ClosestScan {
                                 scan.initSubEnumSimple = value;
                             }
                         }
+
+                        @Override
+                        public void visit(String name, Object value) {
+                            if (value instanceof String s) visitEnum(name, null, s);
+                        }
                     };
                 }
                 return super.visitAnnotation(desc, visible);
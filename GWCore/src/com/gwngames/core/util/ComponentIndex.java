@@ -0,0 +1,267 @@
+package com.gwngames.core.util;
+
+import com.gwngames.catalog.ModulePriorities;
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.api.build.ParamClass;
+
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Build-time index of the {@link Init @Init}, {@link ParamClass @ParamClass} and
+ * {@link ModulePriorities @ModulePriorities} types of one project jar / class directory,
+ * stored as {@value #RESOURCE}.
+ * <p>
+ * The index is written by the {@code componentIndex} Gradle task straight from the compiled
+ * class files (no class is loaded), and read at startup so that only the listed classes are
+ * loaded instead of every class of every project. A jar without the resource is scanned.
+ * </p>
+ * Format: one line per annotated type, tab separated:
+ * {@code <annotation FQN> <class FQN> [attribute=value ...]}; attributes are the values
+ * declared on the type itself (not the merged ones).
+ */
+public final class ComponentIndex {
+    public static final String RESOURCE = "META-INF/gw/components.idx";
+
+    /** Set {@code -Dgw.component.index=false} to ignore indexes and always scan. */
+    public static final String ENABLED_PROPERTY = "gw.component.index";
+
+    private static final String HEADER = "# GW component index - generated at build time, do not edit";
+
+    /** Annotations an index is complete for. */
+    private static final Map<String, String> INDEXED = Map.of(
+        descriptorOf(Init.class), Init.class.getName(),
+        descriptorOf(ParamClass.class), ParamClass.class.getName(),
+        descriptorOf(ModulePriorities.class), ModulePriorities.class.getName());
+
+    public record Entry(String annotation, String className, Map<String, String> attributes) {}
+
+    private final List<Entry> entries;
+
+    private ComponentIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    }
+
+    public List<Entry> entries() { return entries; }
+
+    /** Whether this index lists every type carrying {@code ann} (otherwise the caller must scan). */
+    public boolean covers(Class<? extends Annotation> ann) {
+        return INDEXED.containsValue(ann.getName());
+    }
+
+    public List<String> classNames(Class<? extends Annotation> ann) {
+        String name = ann.getName();
+        List<String> out = new ArrayList<>();
+        for (Entry e : entries) if (e.annotation().equals(name)) out.add(e.className());
+        return out;
+    }
+
+    /* ==================================================================== */
+    /*  Reading                                                             */
+    /* ==================================================================== */
+
+    /** Index packaged in {@code jar}, or {@code null} if it has none. */
+    public static ComponentIndex of(JarFile jar) throws IOException {
+        ZipEntry e = jar.getEntry(RESOURCE);
+        if (e == null) return null;
+        try (InputStream in = jar.getInputStream(e)) {
+            return read(in);
+        }
+    }
+
+    /** Index stored under the class directory {@code root}, or {@code null} if it has none. */
+    public static ComponentIndex of(File root) throws IOException {
+        File f = new File(root, RESOURCE);
+        if (!f.isFile()) return null;
+        try (InputStream in = new FileInputStream(f)) {
+            return read(in);
+        }
+    }
+
+    public static ComponentIndex read(InputStream in) throws IOException {
+        List<Entry> out = new ArrayList<>();
+        BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        for (String line; (line = r.readLine()) != null; ) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            String[] cols = line.split("\t");
+            if (cols.length < 2) throw new IOException("Malformed component index line: " + line);
+
+            Map<String, String> attrs = new LinkedHashMap<>();
+            for (int i = 2; i < cols.length; i++) {
+                int eq = cols[i].indexOf('=');
+                if (eq > 0) attrs.put(cols[i].substring(0, eq), cols[i].substring(eq + 1));
+            }
+            out.add(new Entry(cols[0], cols[1], Collections.unmodifiableMap(attrs)));
+        }
+        return new ComponentIndex(out);
+    }
+
+    /* ==================================================================== */
+    /*  Building                                                            */
+    /* ==================================================================== */
+
+    /** Indexes every {@code .class} file below the given class directories. */
+    public static ComponentIndex build(Collection<Path> classRoots) throws IOException {
+        List<Entry> out = new ArrayList<>();
+        for (Path root : classRoots) {
+            if (!Files.isDirectory(root)) continue;
+            List<Path> classes;
+            try (Stream<Path> s = Files.walk(root)) {
+                classes = s.filter(p -> p.toString().endsWith(".class")).sorted().toList();
+            }
+            for (Path p : classes) out.addAll(scan(Files.readAllBytes(p)));
+        }
+        out.sort(Comparator.comparing(Entry::annotation).thenComparing(Entry::className));
+        return new ComponentIndex(out);
+    }
+
+    public void write(Path outputRoot) throws IOException {
+        Path file = outputRoot.resolve(RESOURCE);
+        Files.createDirectories(file.getParent());
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (Entry e : entries) {
+            sb.append(e.annotation()).append('\t').append(e.className());
+            e.attributes().forEach((k, v) -> sb.append('\t').append(k).append('=').append(v));
+            sb.append('\n');
+        }
+        Files.writeString(file, sb, StandardCharsets.UTF_8);
+    }
+
+    /** Build entry point: {@code ComponentIndex <outputDir> <classesDir>...}. */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ComponentIndex <outputDir> <classesDir>...");
+            System.exit(2);
+        }
+        List<Path> roots = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) roots.add(Path.of(args[i]));
+
+        ComponentIndex index = build(roots);
+        index.write(Path.of(args[0]));
+        System.out.println("Component index: " + index.entries.size() + " types -> "
+            + Path.of(args[0]).resolve(RESOURCE));
+    }
+
+    /* ==================================================================== */
+    /*  Class-file reader (annotations on the type only, no class loading)  */
+    /* ==================================================================== */
+
+    /**
+     * Whether the class file declares {@code ann} (one of the indexed annotations) on the type,
+     * decided from the bytes alone; lets un-indexed jars be scanned without loading every class.
+     */
+    public static boolean isAnnotated(byte[] classBytes, Class<? extends Annotation> ann) throws IOException {
+        for (Entry e : scan(classBytes)) if (e.annotation().equals(ann.getName())) return true;
+        return false;
+    }
+
+    static List<Entry> scan(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != 0xCAFEBABE) throw new IOException("Not a class file");
+        in.readUnsignedShort();                       // minor
+        in.readUnsignedShort();                       // major
+
+        int cpCount = in.readUnsignedShort();
+        Object[] cp = new Object[cpCount];
+        int[] classNameIdx = new int[cpCount];
+        for (int i = 1; i < cpCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> cp[i] = in.readUTF();
+                case 3 -> cp[i] = in.readInt();
+                case 4 -> in.readInt();
+                case 5, 6 -> { in.readLong(); i++; }  // 8-byte constants take two slots
+                case 7 -> classNameIdx[i] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.readUnsignedShort();
+                case 9, 10, 11, 12, 17, 18 -> in.readInt();
+                case 15 -> { in.readUnsignedByte(); in.readUnsignedShort(); }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        in.readUnsignedShort();                       // access flags
+        String thisName = (String) cp[classNameIdx[in.readUnsignedShort()]];
+        in.readUnsignedShort();                       // super class
+        in.skipBytes(2 * in.readUnsignedShort());     // interfaces
+        skipMembers(in);                              // fields
+        skipMembers(in);                              // methods
+
+        List<Entry> out = new ArrayList<>();
+        int attrs = in.readUnsignedShort();
+        for (int a = 0; a < attrs; a++) {
+            String name = (String) cp[in.readUnsignedShort()];
+            int len = in.readInt();
+            if (!"RuntimeVisibleAnnotations".equals(name)) {
+                in.skipBytes(len);
+                continue;
+            }
+            int n = in.readUnsignedShort();
+            for (int k = 0; k < n; k++) {
+                String annotation = INDEXED.get((String) cp[in.readUnsignedShort()]);
+                Map<String, String> values = new LinkedHashMap<>();
+                int pairs = in.readUnsignedShort();
+                for (int p = 0; p < pairs; p++) {
+                    String key = (String) cp[in.readUnsignedShort()];
+                    String value = readElementValue(in, cp);
+                    if (value != null) values.put(key, value);
+                }
+                if (annotation != null) {
+                    out.add(new Entry(annotation, thisName.replace('/', '.'), Collections.unmodifiableMap(values)));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(6);                          // access, name, descriptor
+            int attrs = in.readUnsignedShort();
+            for (int a = 0; a < attrs; a++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    /** Reads one element_value; returns strings and booleans, {@code null} for anything else. */
+    private static String readElementValue(DataInputStream in, Object[] cp) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 's' -> { return (String) cp[in.readUnsignedShort()]; }
+            case 'Z' -> { return String.valueOf(((Integer) cp[in.readUnsignedShort()]) != 0); }
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'c' -> in.readUnsignedShort();
+            case 'e' -> in.skipBytes(4);
+            case '@' -> {
+                in.readUnsignedShort();
+                int pairs = in.readUnsignedShort();
+                for (int p = 0; p < pairs; p++) {
+                    in.readUnsignedShort();
+                    readElementValue(in, cp);
+                }
+            }
+            case '[' -> {
+                int n = in.readUnsignedShort();
+                for (int i = 0; i < n; i++) readElementValue(in, cp);
+            }
+            default -> throw new IOException("Unknown element_value tag " + (char) tag);
+        }
+        return null;
+    }
+
+    private static String descriptorOf(Class<?> c) {
+        return "L" + c.getName().replace('.', '/') + ";";
+    }
+}
@@ -2,6 +2,8 @@ package com.gwngames.core.util;
 
 import com.gwngames.core.api.base.IBaseComp;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Map;
 import java.util.Optional;
@@ -9,20 +11,38 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /** Manages miscellaneous operations regarding component infrastructure<br>
- * Hands out unique mult-ids across the whole JVM for enums + objects. */
+ * Hands out unique mult-ids across the whole JVM for enums + objects.
+ * <p>
+ * The id → instance registry holds weak references only; references cleared by the GC are
+ * queued and purged on the next registration or lookup, so its size follows the number of
+ * live components rather than the number ever created.
+ * </p> */
 public final class ComponentUtils {
     private static final AtomicInteger seq = new AtomicInteger(0);
 
     // enums never die, singletons almost never die; but for safety keep WeakReference
-    private static final Map<Integer, WeakReference<IBaseComp>> byId = new ConcurrentHashMap<>();
+    private static final Map<Integer, IdRef> byId = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<IBaseComp> cleared = new ReferenceQueue<>();
 
+    /** Weak reference remembering its id, so a dequeued reference knows which entry to drop. */
+    private static final class IdRef extends WeakReference<IBaseComp> {
+        final int id;
+
+        IdRef(IBaseComp referent, int id) {
+            super(referent, cleared);
+            this.id = id;
+        }
+    }
+
+    private ComponentUtils() { }
 
     /** Next unique id. */
     public static int next() { return seq.getAndIncrement(); }
 
     /** Assign and register id for a normal object (BaseComponent subclass). */
     public static int register(IBaseComp obj, int id) {
-        byId.put(id, new WeakReference<>(obj));
+        expunge();
+        byId.put(id, new IdRef(obj, id));
         return id;
     }
 
@@ -32,8 +52,11 @@ public final class ComponentUtils {
         return register(obj, id);
     }
 
-    /** Assign & push to the enum through setMultId. */
+    /** Assign & push to the enum through setMultId; an enum constant keeps the id it already has. */
     public static int assignEnum(IBaseComp enumConst) {
+        Integer known = IBaseComp.ENUM_IDS.get(enumConst);
+        if (known != null) return known;
+
         int id = next();
         enumConst.setMultId(id);           // enum branch in IBaseComp will accept this
         return register(enumConst, id);
@@ -41,7 +64,21 @@ public final class ComponentUtils {
 
     /** Reverse lookup: id → live instance (if still reachable). */
     public static Optional<IBaseComp> lookup(int id) {
-        WeakReference<IBaseComp> ref = byId.get(id);
+        expunge();
+        IdRef ref = byId.get(id);
         return Optional.ofNullable(ref == null ? null : ref.get());
     }
+
+    /** Number of registry entries, including ones cleared but not yet purged. */
+    public static int trackedCount() {
+        expunge();
+        return byId.size();
+    }
+
+    private static void expunge() {
+        for (Reference<? extends IBaseComp> r; (r = cleared.poll()) != null; ) {
+            IdRef ref = (IdRef) r;
+            byId.remove(ref.id, ref);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.gwngames.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed-size histogram for non-negative long values (typically nanoseconds).
+ * <p>
+ * Values are bucketed by power of two with 8 linear sub-buckets each, so any reported
+ * percentile is within 12.5% of the true value. Recording is a single atomic increment;
+ * reads walk the 512 buckets and are meant for occasional sampling, not hot paths.
+ * </p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile in {@code [0, 100]}
+     * @return upper bound of the bucket holding that percentile, {@code 0} when empty
+     */
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+
+        long target = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB) return (int) value;
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exp - SUB_BITS)) & (SUB - 1));
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB) return index;
+        int exp = index / SUB + SUB_BITS - 1;
+        int sub = index % SUB;
+        return (1L << exp) + ((long) sub << (exp - SUB_BITS));
+    }
+
+    static long upperBound(int index) {
+        return index + 1 >= BUCKETS ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+}
@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class TransformingURLClassLoader extends URLClassLoader {
     private static final FileLogger LOG = FileLogger.get(LogFiles.SYSTEM);
@@ -21,12 +22,31 @@ public class TransformingURLClassLoader extends URLClassLoader {
     // tiny cache to avoid re-reading the same class bytes
     private final ConcurrentHashMap<String, Boolean> closestCache = new java.util.concurrent.ConcurrentHashMap<>();
 
+    /**
+     * Class bytes already in memory, consumed by the next {@link #loadClass}/{@link #findClass}
+     * of that name: handed in by the bootstrap scan ({@link #prefetch}) or kept from the
+     * Closest peek for the define step, so each class file is read once.
+     */
+    private final ConcurrentHashMap<String, byte[]> pendingBytes = new ConcurrentHashMap<>();
+
+    /** Persistent weaving results; resolved on the first Closest class, may yield {@code null}. */
+    private volatile Supplier<WeaveCache> weaveCache = () -> null;
+
     public TransformingURLClassLoader(String name, URL[] urls, ClassLoader parent, IClassLoader gw) {
         super(name, urls, parent);
         LOG.debug("[XFormCL] INIT name=%s urls=%d", name, urls.length);
         this.gw = gw;
     }
 
+    public void setWeaveCache(Supplier<WeaveCache> weaveCache) {
+        this.weaveCache = weaveCache;
+    }
+
+    /** Offers the bytes of {@code name}, read from this loader's own jar / directory. */
+    public void prefetch(String name, byte[] bytes) {
+        if (findLoadedClass(name) == null) pendingBytes.put(name, bytes);
+    }
+
     @Override
     public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
         // Already defined by *this* loader?
@@ -42,8 +62,14 @@ public class TransformingURLClassLoader extends URLClassLoader {
 
         // We have the bytes locally. Peek them to decide: Closest → child-first; otherwise parent-first.
         boolean isClosest = closestCache.computeIfAbsent(name, n -> {
-            try (InputStream in = localRes.openStream()) {
-                byte[] bytes = in.readAllBytes();
+            try {
+                byte[] bytes = pendingBytes.get(n);
+                if (bytes == null) {
+                    try (InputStream in = localRes.openStream()) {
+                        bytes = in.readAllBytes();
+                    }
+                    pendingBytes.put(n, bytes);          // for findClass, if we end up defining it
+                }
                 return ClosestScan.of(bytes).isClosest();
             } catch (Throwable t) {
                 // be conservative: if we can't decide, do parent-first
@@ -55,9 +81,11 @@ public class TransformingURLClassLoader extends URLClassLoader {
         if (!isClosest) {
             // Prefer parent for non-closest (APIs, data enums, etc.) → single class identity
             try {
-                return super.loadClass(name, resolve);
+                Class<?> loaded = super.loadClass(name, resolve);
+                pendingBytes.remove(name);   // the parent had it: our copy of the bytes is not needed
+                return loaded;
             } catch (ClassNotFoundException ignore) {
-                // parent doesn't know it, define here
+                // parent doesn't know it: define here, from the bytes already read
             }
         }
 
@@ -74,10 +102,9 @@ public class TransformingURLClassLoader extends URLClassLoader {
 
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-        String path = name.replace('.', '/') + ".class";
-        try (InputStream in = getResourceAsStream(path)) {
-            if (in == null) throw new ClassNotFoundException(name);
-            byte[] bytes = in.readAllBytes();
+        try {
+            byte[] bytes = pendingBytes.remove(name);
+            if (bytes == null) bytes = readBytes(name);
 
             ClosestScan scan = ClosestScan.of(bytes);
             LOG.debug("[XFormCL] scan this=%s super=%s closest=%s hintedComp=%s hintedSub=%s initModule=%s initCompIfNotAuto=%s initSubIfNotAuto=%s",
@@ -88,7 +115,14 @@ public class TransformingURLClassLoader extends URLClassLoader {
                 scan.initComponentEnumSimpleIfNotAuto().orElse("-"),
                 scan.initSubEnumSimpleIfNotAuto().orElse("-"));
 
-            if (scan.isClosest()) {
+            WeaveCache cache = scan.isClosest() ? weaveCache.get() : null;
+            byte[] cached = cache != null ? cache.get(bytes) : null;
+            if (cached != null) {
+                // same class, modules and priorities as when it was woven: reuse it as is
+                bytes = cached;
+                LOG.debug("[XFormCL] weave cache hit: %s", name);
+            } else if (scan.isClosest()) {
+                byte[] original = bytes;
                 // resolve comp/sub/prio without loading the class
                 String moduleSimple = scan.initModuleEnumSimple()
                     .orElseThrow(() -> new IllegalStateException("Missing @Init.module() on " + scan.thisInternalName()));
@@ -114,6 +148,7 @@ public class TransformingURLClassLoader extends URLClassLoader {
 
                 // weave
                 bytes = weaver.weave(bytes, lowerInt);
+                if (cache != null) cache.put(original, bytes);
                 LOG.debug("[XFormCL] weave complete: %s -> super=%s", name, lowerInt);
             } else {
                 LOG.debug("[XFormCL] no weaving for %s (not Closest)", name);
@@ -132,6 +167,13 @@ public class TransformingURLClassLoader extends URLClassLoader {
         }
     }
 
+    private byte[] readBytes(String name) throws IOException, ClassNotFoundException {
+        try (InputStream in = getResourceAsStream(name.replace('.', '/') + ".class")) {
+            if (in == null) throw new ClassNotFoundException(name);
+            return in.readAllBytes();
+        }
+    }
+
     private void ensureCompatibleConstructor(String chosenSuperInternal, String ctorDesc) throws Exception {
         String className = chosenSuperInternal.replace('/', '.');
         Class<?> superClass = Class.forName(className, false, getParent());
@@ -0,0 +1,241 @@
+package com.gwngames.core.util;
+
+import com.gwngames.core.base.log.FileLogger;
+import com.gwngames.core.data.LogFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of {@link ClosestWeaver} output, so later startups define pre-woven classes
+ * without re-resolving the lower implementation or running ASM.
+ * <p>
+ * Entries live in {@code <dir>/<fingerprint>/<sha-256 of the input class>.class}. The
+ * fingerprint ({@link #fingerprint}) covers everything the woven bytes depend on besides the
+ * class itself: the content of every module jar / class directory (which decides the lower
+ * implementation), the module priorities and the weaver with all its nested classes. Any
+ * change there selects a fresh folder; folders unused for {@value #RETENTION_DAYS} days are
+ * deleted.
+ * </p>
+ * <p>
+ * Cached bytes are defined as classes unchecked, so the cache must be private to the user:
+ * its folders are made owner-only where the file system allows, and a folder owned by
+ * someone else is refused.
+ * </p>
+ * Directory: {@code -Dgw.weave.cache=<dir>} (default {@code <user.home>/.gwngames/weave-cache}),
+ * {@code -Dgw.weave.cache=off} disables the cache.
+ */
+public final class WeaveCache {
+    private static final FileLogger log = FileLogger.get(LogFiles.SYSTEM);
+
+    public static final String DIR_PROPERTY = "gw.weave.cache";
+
+    /** Bump when the entry layout or the weaving contract changes. */
+    private static final int FORMAT = 1;
+    private static final int RETENTION_DAYS = 7;
+
+    private final Path dir;
+
+    private WeaveCache(Path dir) {
+        this.dir = dir;
+    }
+
+    /** The cache configured by {@value #DIR_PROPERTY} for {@code fingerprint}, or {@code null} if disabled. */
+    public static WeaveCache open(String fingerprint) {
+        String prop = System.getProperty(DIR_PROPERTY);
+        if (prop != null && (prop.equalsIgnoreCase("off") || prop.equalsIgnoreCase("false"))) return null;
+        Path root = prop != null && !prop.isBlank()
+            ? Path.of(prop)
+            : Path.of(System.getProperty("user.home"), ".gwngames", "weave-cache");
+        return open(root, fingerprint);
+    }
+
+    /**
+     * Cache folder of {@code fingerprint} below {@code root}; {@code null} if it can't be created
+     * or is not private to the current user.
+     */
+    public static WeaveCache open(Path root, String fingerprint) {
+        try {
+            Path dir = root.resolve(fingerprint);
+            Files.createDirectories(dir);
+            if (!isPrivate(root) || !isPrivate(dir)) {
+                log.error("Weave cache {} is owned by another user; weaving every class", root);
+                return null;
+            }
+            Files.setLastModifiedTime(dir, FileTime.fromMillis(System.currentTimeMillis()));
+            prune(root, dir);
+            log.debug("Weave cache: {}", dir);
+            return new WeaveCache(dir);
+        } catch (IOException e) {
+            log.error("Weave cache unavailable in {}; weaving every class", root, e);
+            return null;
+        }
+    }
+
+    public Path dir() { return dir; }
+
+    /**
+     * Whether {@code folder} belongs to whoever runs this process, judged by the owner of a file
+     * created in it; on success it is also made owner-only where POSIX permissions exist.
+     */
+    private static boolean isPrivate(Path folder) throws IOException {
+        Path probe = Files.createTempFile(folder, "owner", ".tmp");
+        try {
+            if (!Files.getOwner(folder).equals(Files.getOwner(probe))) return false;
+        } catch (UnsupportedOperationException e) {
+            return true; // no owners on this file system
+        } finally {
+            Files.deleteIfExists(probe);
+        }
+        if (Files.getFileStore(folder).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(folder, PosixFilePermissions.fromString("rwx------"));
+        }
+        return true;
+    }
+
+    /** Woven bytes previously stored for {@code input}, or {@code null}. */
+    public byte[] get(byte[] input) {
+        Path f = dir.resolve(sha256(input) + ".class");
+        try {
+            return Files.isRegularFile(f) ? Files.readAllBytes(f) : null;
+        } catch (IOException e) {
+            log.debug("Unreadable weave cache entry {}", f, e);
+            return null;
+        }
+    }
+
+    /** Stores {@code woven} for {@code input}; failures only cost the next startup a re-weave. */
+    public void put(byte[] input, byte[] woven) {
+        Path f = dir.resolve(sha256(input) + ".class");
+        try {
+            Path tmp = Files.createTempFile(dir, "w", ".tmp");
+            Files.write(tmp, woven);
+            try {
+                Files.move(tmp, f, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, f, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.debug("Cannot store weave cache entry {}", f, e);
+        }
+    }
+
+    /* ==================================================================== */
+    /*  Fingerprint                                                         */
+    /* ==================================================================== */
+
+    /**
+     * Hash of the module roots and priorities. Jars contribute every entry's name, size and
+     * CRC (read from the central directory, so a rebuilt jar with identical timestamps is still
+     * noticed); class directories every class file's path, size and modification time.
+     */
+    public static String fingerprint(Collection<File> moduleRoots, Map<String, Integer> priorities) {
+        return fingerprint(moduleRoots, priorities, ClosestWeaver.class);
+    }
+
+    /** As {@link #fingerprint(Collection, Map)}, for the classes of {@code weaver}. */
+    public static String fingerprint(Collection<File> moduleRoots, Map<String, Integer> priorities, Class<?> weaver) {
+        MessageDigest md = sha256();
+        update(md, "format=" + FORMAT);
+        for (Class<?> c : weaverClasses(weaver)) update(md, "weaver " + c.getName() + "=" + sha256(classBytes(c)));
+        new TreeMap<>(priorities).forEach((k, v) -> update(md, "prio " + k + "=" + v));
+
+        for (File root : moduleRoots) {
+            update(md, "root " + root.getAbsolutePath());
+            try {
+                if (root.isDirectory()) fingerprintDirectory(md, root.toPath());
+                else if (root.isFile()) fingerprintJar(md, root);
+            } catch (IOException e) {
+                // unreadable root: make the fingerprint unique so nothing stale is reused
+                update(md, "unreadable " + System.nanoTime());
+            }
+        }
+        return HexFormat.of().formatHex(md.digest()).substring(0, 32);
+    }
+
+    private static void fingerprintJar(MessageDigest md, File jar) throws IOException {
+        try (JarFile jf = new JarFile(jar)) {
+            Enumeration<JarEntry> e = jf.entries();
+            while (e.hasMoreElements()) {
+                JarEntry je = e.nextElement();
+                update(md, je.getName() + ":" + je.getSize() + ":" + je.getCrc());
+            }
+        }
+    }
+
+    private static void fingerprintDirectory(MessageDigest md, Path root) throws IOException {
+        try (Stream<Path> s = Files.walk(root)) {
+            for (Path p : s.filter(x -> x.toString().endsWith(".class")).sorted().toList()) {
+                update(md, root.relativize(p) + ":" + Files.size(p) + ":" + Files.getLastModifiedTime(p).toMillis());
+            }
+        }
+    }
+
+    /**
+     * {@code weaver} and every class nested in it (inner, anonymous and local classes, which
+     * hold most of the rewriting), sorted by name.
+     */
+    public static List<Class<?>> weaverClasses(Class<?> weaver) {
+        List<Class<?>> out = new ArrayList<>(List.of(weaver.getNestHost().getNestMembers()));
+        out.sort(Comparator.comparing(Class::getName));
+        return out;
+    }
+
+    private static byte[] classBytes(Class<?> c) {
+        String name = c.getName();
+        try (InputStream in = c.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+            return in == null ? new byte[0] : in.readAllBytes();
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    /* ==================================================================== */
+    /*  Housekeeping                                                        */
+    /* ==================================================================== */
+
+    private static void prune(Path root, Path keep) {
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_DAYS);
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path d : dirs) {
+                if (d.equals(keep) || Files.getLastModifiedTime(d).toMillis() >= cutoff) continue;
+                try (Stream<Path> s = Files.walk(d)) {
+                    for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+                }
+                log.debug("Pruned stale weave cache {}", d);
+            }
+        } catch (IOException e) {
+            log.debug("Weave cache pruning failed in {}", root, e);
+        }
+    }
+
+    private static void update(MessageDigest md, String s) {
+        md.update(s.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) '\n');
+    }
+
+    private static String sha256(byte[] bytes) {
+        return HexFormat.of().formatHex(sha256().digest(bytes));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.gwngames.core.base;
+
+import com.gwngames.core.api.base.IBaseComp;
+import com.gwngames.core.util.ComponentUtils;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * The mult-id registry must not keep an entry per component ever created: entries of
+ * collected components are purged, live ones stay reachable by id, and enum constants keep
+ * a single id however often they are registered.
+ */
+public class ComponentRegistryTest extends BaseTest {
+
+    static final class Temp extends BaseComponent {}
+
+    enum Kind implements IBaseComp { A, B }
+
+    @Override
+    protected void runTest() throws Exception {
+        Temp live = new Temp();
+        int before = ComponentUtils.trackedCount();
+
+        /* short-lived components, as created by createNew in services */
+        final int created = 200_000;
+        for (int i = 0; i < created; i++) new Temp();
+
+        int after = before;
+        for (int round = 0; round < 20; round++) {
+            System.gc();
+            Thread.sleep(50);
+            new Temp(); // registration purges the queue
+            after = ComponentUtils.trackedCount();
+            if (after - before < created / 10) break;
+        }
+        log.info("Registry: {} entries before, {} after creating {} components", before, after, created);
+        Assertions.assertTrue(after - before < created / 10,
+            "cleared entries must be purged: " + before + " -> " + after);
+
+        /* live components are still found */
+        Assertions.assertSame(live, ComponentUtils.lookup(live.getMultId()).orElseThrow());
+
+        /* enum ids are stable and registered once */
+        int a = ComponentUtils.assignEnum(Kind.A);
+        int size = ComponentUtils.trackedCount();
+        for (int i = 0; i < 1_000; i++) Assertions.assertEquals(a, ComponentUtils.assignEnum(Kind.A));
+        Assertions.assertEquals(a, Kind.A.getMultId());
+        Assertions.assertTrue(ComponentUtils.trackedCount() <= size, "re-registering an enum must not add entries");
+        Assertions.assertNotEquals(a, ComponentUtils.assignEnum(Kind.B));
+        Assertions.assertSame(Kind.A, ComponentUtils.lookup(a).orElseThrow());
+    }
+}
@@ -0,0 +1,87 @@
+package com.gwngames.core.base;
+
+import com.gwngames.core.api.build.Inject;
+import com.gwngames.core.api.build.PostInject;
+import com.gwngames.core.api.event.IEvent;
+import com.gwngames.core.api.event.IMasterEventQueue;
+import com.gwngames.core.util.ClassUtils;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InjectionPlanTest extends BaseTest {
+
+    static class Base {
+        final List<String> calls = new ArrayList<>();
+        @Inject private IMasterEventQueue baseQueue;
+
+        @PostInject void baseHook() { calls.add("base"); }
+    }
+
+    static final class Host extends Base {
+        @Inject private IMasterEventQueue queue;
+        @Inject(loadAll = true) private List<IEvent> events;
+        private IMasterEventQueue notInjected;
+
+        @PostInject private void hostHook() { calls.add("host"); }
+    }
+
+    static final class Misdeclared {
+        @Inject(subTypeOf = IEvent.class) private IMasterEventQueue queue;
+    }
+
+    static final class Failing {
+        @PostInject void boom() { throw new IllegalArgumentException("boom"); }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        /* 1) computed once per class */
+        InjectionPlan plan = InjectionPlan.of(Host.class);
+        Assertions.assertSame(plan, InjectionPlan.of(Host.class));
+        Assertions.assertSame(ClassUtils.getAnnotatedFields(Host.class, Inject.class),
+            ClassUtils.getAnnotatedFields(Host.class, Inject.class));
+
+        /* 2) fields subclass first, settings and element type resolved up front */
+        List<String> names = plan.fields().stream().map(s -> s.field().getName()).toList();
+        Assertions.assertEquals(List.of("queue", "events", "baseQueue"), names);
+        InjectionPlan.FieldStep events = plan.fields().get(1);
+        Assertions.assertTrue(events.inject().loadAll());
+        Assertions.assertEquals(IEvent.class, events.elemType());
+        Assertions.assertTrue(events.elemMeta().allowMultiple());
+        Assertions.assertNull(plan.fields().get(0).elemType());
+
+        /* 3) setters and hooks work on private members, hooks superclass first */
+        Host host = new Host();
+        IMasterEventQueue value = LazyProxy.of(IMasterEventQueue.class, () -> { throw new AssertionError("not used"); });
+        for (InjectionPlan.FieldStep step : plan.fields()) step.set(host, step.inject().loadAll() ? List.of() : value);
+        for (InjectionPlan.Hook hook : plan.hooks()) hook.run(host);
+        Assertions.assertSame(value, host.queue);
+        Assertions.assertSame(value, ((Base) host).baseQueue);
+        Assertions.assertEquals(List.of(), host.events);
+        Assertions.assertNull(host.notInjected);
+        Assertions.assertEquals(List.of("base", "host"), host.calls);
+
+        /* 4) validation at plan time, hook failures wrapped as before */
+        IllegalStateException bad = Assertions.assertThrows(IllegalStateException.class,
+            () -> InjectionPlan.of(Misdeclared.class));
+        Assertions.assertTrue(bad.getMessage().contains("requires loadAll=true"));
+        IllegalStateException hook = Assertions.assertThrows(IllegalStateException.class,
+            () -> InjectionPlan.of(Failing.class).hooks().get(0).run(new Failing()));
+        Assertions.assertTrue(hook.getCause() instanceof IllegalArgumentException);
+
+        /* 5) wiring more instances reuses the plan: no reflection after the first one */
+        int before = InjectionPlan.built();
+        for (int i = 0; i < 10_000; i++) {
+            Host h = new Host();
+            InjectionPlan p = InjectionPlan.of(Host.class);
+            for (InjectionPlan.FieldStep step : p.fields()) step.set(h, step.inject().loadAll() ? List.of() : value);
+            for (InjectionPlan.Hook hk : p.hooks()) hk.run(h);
+        }
+        Assertions.assertEquals(before, InjectionPlan.built(), "known class must not be planned again");
+        InjectionPlan.of(Failing.class);
+        InjectionPlan.of(Base.class);
+        Assertions.assertEquals(before + 1, InjectionPlan.built(), "only the new class is planned");
+    }
+}
@@ -0,0 +1,105 @@
+package com.gwngames.core.base;
+
+import com.gwngames.core.api.base.cfg.IConfig;
+import com.gwngames.core.api.build.Inject;
+import com.gwngames.core.api.event.IEventQueue;
+import com.gwngames.core.api.event.IMasterEventQueue;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Startup steps run after their dependencies, independent ones overlap, failures stay local,
+ * and the critical path is the longest dependent chain. The graph of a real root covers the
+ * shared components it injects and creates them.
+ */
+public class StartupGraphTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        /*        config(40)
+         *       /          \
+         *  assets(80)    audio(20)   net(60, fails)
+         *       \          /
+         *        game(10)
+         */
+        StartupGraph.Step config = step("config", 40, false);
+        StartupGraph.Step assets = step("assets", 80, false, config);
+        StartupGraph.Step audio = step("audio", 20, false, config);
+        StartupGraph.Step net = step("net", 60, true);
+        StartupGraph.Step game = step("game", 10, false, assets, audio);
+        StartupGraph graph = new StartupGraph(List.of(config, assets, audio, net, game));
+
+        StartupGraph.Report report = graph.start(4);
+        log.info("Synthetic startup:\n{}", report.format());
+        Map<String, StartupGraph.Timing> t = report.steps().stream()
+            .collect(Collectors.toMap(StartupGraph.Timing::name, Function.identity()));
+
+        Assertions.assertEquals(5, t.size());
+        assertAfter(t.get("assets"), t.get("config"));
+        assertAfter(t.get("audio"), t.get("config"));
+        assertAfter(t.get("game"), t.get("assets"));
+        assertAfter(t.get("game"), t.get("audio"));
+        Assertions.assertTrue(t.get("net").failed(), "a failing step is reported");
+        Assertions.assertFalse(t.get("game").failed(), "and does not stop the others");
+
+        Assertions.assertEquals(List.of("config", "assets", "game"),
+            report.criticalPath().stream().map(StartupGraph.Timing::name).toList());
+        Assertions.assertTrue(report.wallNanos() < report.totalNanos(),
+            "independent steps must overlap: " + report.wallNanos() + " vs " + report.totalNanos());
+        Assertions.assertTrue(report.format().contains("assets"));
+
+        /* sequential run: same steps, same critical path */
+        StartupGraph.Report seq = new StartupGraph(List.of(
+            step("a", 5, false), step("b", 5, false))).start(1);
+        Assertions.assertEquals(1, seq.threads());
+        Assertions.assertEquals(2, seq.steps().size());
+
+        /* real components: what a test class injects */
+        setupApplication();
+        StartupGraph real = StartupGraph.forDependenciesOf(StartupGraphTest.class);
+        StartupGraph.Report r = real.start();
+        log.info("Component startup:\n{}", r.format());
+        List<String> names = r.steps().stream().map(StartupGraph.Timing::name).toList();
+        Assertions.assertTrue(names.stream().anyMatch(n -> n.contains(IConfig.class.getSimpleName())), names.toString());
+        Assertions.assertTrue(names.stream().anyMatch(n -> n.contains(IMasterEventQueue.class.getSimpleName())), names.toString());
+        Assertions.assertTrue(r.steps().stream().noneMatch(StartupGraph.Timing::failed), names.toString());
+        Assertions.assertTrue(BaseComponent.allCachedInstances().contains(BaseComponent.getInstance(IConfig.class)));
+
+        /* several roots, and the shared dependencies behind a loadAll list */
+        List<String> listed = StartupGraph.forDependenciesOf(QueueListHost.class, ConfigHost.class).start(1)
+            .steps().stream().map(StartupGraph.Timing::name).toList();
+        Assertions.assertTrue(listed.stream().anyMatch(n -> n.contains(IMasterEventQueue.class.getSimpleName())), listed.toString());
+        Assertions.assertTrue(listed.stream().anyMatch(n -> n.contains(IConfig.class.getSimpleName())), listed.toString());
+    }
+
+    /** Only a loadAll list: the sub-queues inject the master queue and the configuration. */
+    static final class QueueListHost {
+        @Inject(loadAll = true) private List<IEventQueue> queues;
+    }
+
+    static final class ConfigHost {
+        @Inject private IConfig config;
+    }
+
+    private static StartupGraph.Step step(String name, long millis, boolean fail, StartupGraph.Step... deps) {
+        StartupGraph.Step s = new StartupGraph.Step(name, () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) throw new IllegalStateException("boom: " + name);
+        });
+        s.deps.addAll(List.of(deps));
+        return s;
+    }
+
+    private static void assertAfter(StartupGraph.Timing later, StartupGraph.Timing earlier) {
+        Assertions.assertTrue(later.startNanos() >= earlier.startNanos() + earlier.ownNanos(),
+            later.name() + " started before " + earlier.name() + " finished");
+    }
+}
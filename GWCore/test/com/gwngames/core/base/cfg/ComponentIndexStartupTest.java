@@ -0,0 +1,93 @@
+package com.gwngames.core.base.cfg;
+
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.util.ComponentIndex;
+import com.gwngames.core.util.ParamRegistry;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start benchmark of the module class loader with and without the build-time
+ * {@link ComponentIndex}: each variant runs in a fresh JVM, so timings and loaded-class
+ * counts are those of a real startup. Both must discover the same {@code @Init} types.
+ */
+public final class ComponentIndexStartupTest extends BaseTest {
+
+    private static final int RUNS = 3;
+
+    /** Child JVM entry point: boots the loader and prints one result line. */
+    public static final class Probe {
+        public static void main(String[] args) {
+            long t0 = System.nanoTime();
+            ModuleClassLoader mcl = ModuleClassLoader.getInstance();
+            ParamRegistry.loadAll();
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0);
+            long classes = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+
+            List<String> found = new ArrayList<>();
+            for (Class<?> c : mcl.scanForAnnotated(Init.class)) found.add(c.getName());
+            found.sort(null);
+            System.out.println("PROBE " + micros + " " + classes + " " + String.join(",", found));
+            System.exit(0);
+        }
+    }
+
+    private record Result(long micros, long classes, String types) {}
+
+    @Override
+    protected void runTest() throws Exception {
+        Result indexed = null, scanned = null;
+        for (int i = 0; i < RUNS; i++) {
+            indexed = best(indexed, probe(true));
+            scanned = best(scanned, probe(false));
+        }
+
+        log.info("cold start: scan = {} ms / {} classes, index = {} ms / {} classes",
+            scanned.micros / 1_000, scanned.classes, indexed.micros / 1_000, indexed.classes);
+
+        Assertions.assertFalse(indexed.types.isEmpty(), "no @Init types discovered");
+        Assertions.assertEquals(scanned.types, indexed.types, "index and scan disagree");
+        Assertions.assertTrue(indexed.classes < scanned.classes,
+            "the index should load fewer classes than a full scan");
+    }
+
+    private static Result best(Result a, Result b) {
+        return a == null || b.micros < a.micros ? b : a;
+    }
+
+    private static Result probe(boolean index) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        cmd.add("-D" + ComponentIndex.ENABLED_PROPERTY + "=" + index);
+        for (String p : List.of("gw.bin.dir", "gw.rootDir", "gw.tests", "configSet")) {
+            String v = System.getProperty(p);
+            if (v != null) cmd.add("-D" + p + "=" + v);
+        }
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(Probe.class.getName());
+
+        Process proc = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String result = null;
+        try (BufferedReader r = new BufferedReader(
+            new InputStreamReader(proc.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = r.readLine()) != null; ) {
+                if (line.startsWith("PROBE ")) result = line;
+            }
+        }
+        Assertions.assertTrue(proc.waitFor(60, TimeUnit.SECONDS), "probe JVM timed out");
+        Assertions.assertNotNull(result, "probe JVM printed no result (exit " + proc.exitValue() + ")");
+
+        String[] cols = result.split(" ", 4);
+        return new Result(Long.parseLong(cols[1]), Long.parseLong(cols[2]), cols.length > 3 ? cols[3] : "");
+    }
+}
@@ -0,0 +1,118 @@
+package com.gwngames.core.base.cfg;
+
+import com.gwngames.core.api.base.cfg.IClassLoader;
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.generated.ModulePriorityRegistry;
+import org.junit.jupiter.api.Assertions;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * The indexed lookups of {@link ModuleClassLoader} must answer exactly like the former linear
+ * scans over the registered types, and stay cheap under repeated dynamic lookups.
+ */
+public class ComponentLookupTableTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        setupApplication();
+        ModuleClassLoader mcl = ModuleClassLoader.getInstance();
+        List<Class<?>> interfaces = staticList("interfaceTypes");
+        List<Class<?>> concretes = staticList("concreteTypes");
+
+        int singles = 0, subs = 0;
+        for (Class<?> iface : interfaces) {
+            Init an = iface.getAnnotation(Init.class);
+            if (an == null) continue;
+            String comp = an.component();
+
+            /* single implementations */
+            List<Class<?>> expected = linear(iface, concretes, true);
+            if (expected.isEmpty()) {
+                Assertions.assertThrows(ClassNotFoundException.class, () -> mcl._findClass(comp));
+            } else {
+                Assertions.assertEquals(expected.get(0), mcl._findClass(comp), comp);
+                Assertions.assertEquals(expected, mcl.findClasses(comp), comp);
+                singles++;
+            }
+
+            /* sub-components */
+            if (!an.allowMultiple()) {
+                Assertions.assertThrows(IllegalStateException.class, () -> mcl.listSubComponents(comp));
+                continue;
+            }
+            List<Class<?>> expectedSubs = linear(iface, concretes, false);
+            Assertions.assertEquals(expectedSubs, mcl.listSubComponents(comp), comp);
+            for (Class<?> c : expectedSubs) {
+                String sub = IClassLoader.resolvedInit(c).subComp();
+                Class<?> best = expectedSubs.stream()
+                    .filter(o -> IClassLoader.resolvedInit(o).subComp().equalsIgnoreCase(sub))
+                    .findFirst().orElseThrow();
+                Assertions.assertEquals(best, mcl.findSubComponent(comp, sub), comp + "/" + sub);
+                Assertions.assertEquals(best, mcl.findSubComponent(comp, sub.toUpperCase(Locale.ROOT)));
+                subs++;
+            }
+            Assertions.assertThrows(ClassNotFoundException.class,
+                () -> mcl.findSubComponent(comp, "no-such-sub-component"));
+        }
+        Assertions.assertTrue(singles > 0 && subs > 0, "expected both kinds of components on the classpath");
+        Assertions.assertThrows(ClassNotFoundException.class, () -> mcl._findClass("no-such-component"));
+
+        /* returned lists are the caller's */
+        String someMulti = interfaces.stream().map(i -> i.getAnnotation(Init.class))
+            .filter(a -> a != null && a.allowMultiple()).map(Init::component)
+            .filter(c -> !mcl.listSubComponents(c).isEmpty()).findFirst().orElseThrow();
+        mcl.listSubComponents(someMulti).clear();
+        Assertions.assertFalse(mcl.listSubComponents(someMulti).isEmpty());
+
+        /* a priority reload rebuilds the tables */
+        ModulePriorityRegistry.reload();
+        Assertions.assertEquals(linear(interfaceOf(interfaces, someMulti), concretes, false),
+            mcl.listSubComponents(someMulti));
+
+        /* throughput */
+        List<String> comps = interfaces.stream().map(i -> i.getAnnotation(Init.class))
+            .filter(Objects::nonNull).map(Init::component)
+            .filter(c -> !linear(interfaceOf(interfaces, c), concretes, true).isEmpty()).toList();
+        final int rounds = 20_000;
+        long best = Long.MAX_VALUE;
+        int hits = 0;
+        for (int r = 0; r < 5; r++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                for (String c : comps) if (mcl._findClass(c) != null) hits++;
+            }
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        log.info("{} single components, {} sub-components: {} ns/lookup (hits {})",
+            singles, subs, best / ((long) rounds * comps.size()), hits);
+    }
+
+    /** The former linear search: assignable concretes filtered by sub kind, priority DESC, stable. */
+    private static List<Class<?>> linear(Class<?> iface, List<Class<?>> concretes, boolean singles) {
+        List<Class<?>> out = new ArrayList<>();
+        for (Class<?> c : concretes) {
+            if (!iface.isAssignableFrom(c)) continue;
+            String sub = IClassLoader.resolvedInit(c).subComp();
+            boolean none = sub == null || sub.isBlank() || sub.equalsIgnoreCase("none");
+            if (none == singles) out.add(c);
+        }
+        out.sort(Comparator.comparingInt((Class<?> c) ->
+            ModulePriorityRegistry.priorityOf(IClassLoader.resolvedInit(c).module())).reversed());
+        return out;
+    }
+
+    private static Class<?> interfaceOf(List<Class<?>> interfaces, String comp) {
+        return interfaces.stream().filter(i -> comp.equals(i.getAnnotation(Init.class).component()))
+            .findFirst().orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Class<?>> staticList(String name) throws ReflectiveOperationException {
+        Field f = ModuleClassLoader.class.getDeclaredField(name);
+        f.setAccessible(true);
+        return (List<Class<?>>) f.get(null);
+    }
+}
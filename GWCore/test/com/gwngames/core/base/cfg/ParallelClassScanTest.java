@@ -0,0 +1,127 @@
+package com.gwngames.core.base.cfg;
+
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.util.ClassBytes;
+import com.gwngames.core.util.ClassUtils;
+import com.gwngames.core.util.TransformingURLClassLoader;
+import groovyjarjarasm.asm.ClassWriter;
+import groovyjarjarasm.asm.MethodVisitor;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static groovyjarjarasm.asm.Opcodes.*;
+
+/**
+ * Bootstrap class-file reading: parallel and sequential reads of many module jars agree,
+ * and bytes handed to a {@link TransformingURLClassLoader} are the ones it defines
+ * (the jar is not read a second time).
+ */
+public class ParallelClassScanTest extends BaseTest {
+
+    private static final int JARS = 24;
+    private static final int CLASSES_PER_JAR = 300;
+    private static final int ANNOTATED_EVERY = 10;
+    private static final String INIT_DESC = "L" + Init.class.getName().replace('.', '/') + ";";
+
+    @Override
+    protected void runTest() throws Exception {
+        Path dir = Files.createTempDirectory("gw-scan");
+        List<ClassBytes.Source> sources = new ArrayList<>();
+        for (int j = 0; j < JARS; j++) {
+            File jar = dir.resolve("module" + j + ".jar").toFile();
+            writeJar(jar, j);
+            sources.add(new ClassBytes.Source(jar, n -> true, ParallelClassScanTest::hasInit));
+        }
+
+        /* same entries, same order */
+        List<List<ClassBytes.Entry>> seq = ClassBytes.readAll(sources, false);
+        List<List<ClassBytes.Entry>> par = ClassBytes.readAll(sources, true);
+        Assertions.assertEquals(JARS, par.size());
+        for (int j = 0; j < JARS; j++) {
+            Assertions.assertEquals(CLASSES_PER_JAR / ANNOTATED_EVERY, par.get(j).size(), "jar " + j);
+            Assertions.assertEquals(names(seq.get(j)), names(par.get(j)), "jar " + j);
+        }
+
+        /* the parallel read spreads the jars over one worker per cpu, never the caller */
+        int cpus = Runtime.getRuntime().availableProcessors();
+        Set<Thread> readers = ConcurrentHashMap.newKeySet();
+        List<ClassBytes.Source> recorded = new ArrayList<>();
+        for (ClassBytes.Source s : sources) {
+            recorded.add(new ClassBytes.Source(s.root(), n -> true, b -> {
+                readers.add(Thread.currentThread());
+                return hasInit(b);
+            }));
+        }
+        ClassBytes.readAll(recorded, true);
+        log.info("{} jars x {} classes read on {} threads ({} cpus)", JARS, CLASSES_PER_JAR, readers.size(), cpus);
+        Assertions.assertEquals(Math.min(JARS, cpus), readers.size());
+        if (cpus >= 2) Assertions.assertFalse(readers.contains(Thread.currentThread()));
+
+        /* prefetched bytes are the ones defined: the jar says 0, the prefetched copy says 42 */
+        File jar = sources.get(0).root();
+        try (TransformingURLClassLoader cl = new TransformingURLClassLoader(
+            "probe", new URL[]{jar.toURI().toURL()}, getClass().getClassLoader(), null)) {
+            cl.prefetch("gen.m0.C1", classBytes("gen/m0/C1", false, 42));
+            Class<?> c = cl.loadClass("gen.m0.C1");
+            Assertions.assertSame(cl, c.getClassLoader());
+            Assertions.assertEquals(42, c.getMethod("value").invoke(null));
+
+            Class<?> plain = cl.loadClass("gen.m0.C2");
+            Assertions.assertEquals(0, plain.getMethod("value").invoke(null), "without prefetch the jar is read");
+        }
+    }
+
+    private static boolean hasInit(byte[] bytes) {
+        try {
+            return ClassUtils.classfileHasAnnotation(new ByteArrayInputStream(bytes), INIT_DESC);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<String> names(List<ClassBytes.Entry> entries) {
+        return entries.stream().map(ClassBytes.Entry::className).toList();
+    }
+
+    private static void writeJar(File jar, int module) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < CLASSES_PER_JAR; i++) {
+                String internal = "gen/m" + module + "/C" + i;
+                out.putNextEntry(new JarEntry(internal + ".class"));
+                out.write(classBytes(internal, i % ANNOTATED_EVERY == 0, 0));
+                out.closeEntry();
+            }
+        }
+    }
+
+    /** {@code public class <name> { public static int value() { return <value>; } }}, optionally {@code @Init}. */
+    private static byte[] classBytes(String internalName, boolean annotated, int value) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V17, ACC_PUBLIC | ACC_SUPER, internalName, null, "java/lang/Object", null);
+        if (annotated) cw.visitAnnotation(INIT_DESC, true).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "value", "()I", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(value);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+}
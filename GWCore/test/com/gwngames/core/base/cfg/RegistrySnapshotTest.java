@@ -0,0 +1,98 @@
+package com.gwngames.core.base.cfg;
+
+import com.gwngames.DefaultModule;
+import com.gwngames.core.CoreModule;
+import com.gwngames.core.api.build.IPlugin;
+import com.gwngames.core.api.plugin.TestEnvironmentPlugin;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.generated.ModulePriorityRegistry;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Plugin and module-priority lookups read immutable snapshots: cached results (including
+ * "no provider") are stable, and a reload running next to many readers never exposes a
+ * half-built registry.
+ */
+public class RegistrySnapshotTest extends BaseTest {
+
+    /** A plugin type nobody provides. */
+    interface UnprovidedPlugin extends IPlugin { }
+
+    @Override
+    protected void runTest() throws Exception {
+        /* plugins: cached, negative results cached, override / reset / reload */
+        TestEnvironmentPlugin env = PluginRegistry.get(TestEnvironmentPlugin.class);
+        Assertions.assertSame(env, PluginRegistry.get(TestEnvironmentPlugin.class));
+        Assertions.assertNull(PluginRegistry.get(UnprovidedPlugin.class));
+        Assertions.assertTrue(PluginRegistry.list(UnprovidedPlugin.class).isEmpty());
+
+        UnprovidedPlugin manual = new UnprovidedPlugin() {
+            @Override public String id() { return "manual"; }
+            @Override public String module() { return CoreModule.CORE; }
+        };
+        PluginRegistry.override(UnprovidedPlugin.class, manual);
+        Assertions.assertSame(manual, PluginRegistry.get(UnprovidedPlugin.class));
+        PluginRegistry.reload();
+        Assertions.assertNull(PluginRegistry.get(UnprovidedPlugin.class), "reload drops overrides");
+        if (env != null) Assertions.assertEquals(env.getClass(), PluginRegistry.get(TestEnvironmentPlugin.class).getClass());
+
+        /* lookups made before the module loader is available are answered but not pinned */
+        PluginRegistry.reset();
+        Assertions.assertNull(PluginRegistry.lookup(UnprovidedPlugin.class, null));
+        Assertions.assertTrue(PluginRegistry.list(UnprovidedPlugin.class).isEmpty(), "bootstrap result must not be cached");
+        PluginRegistry.lookup(TestEnvironmentPlugin.class, null);
+        Assertions.assertTrue(PluginRegistry.list(TestEnvironmentPlugin.class).isEmpty());
+        if (env != null) Assertions.assertEquals(env.getClass(), PluginRegistry.get(TestEnvironmentPlugin.class).getClass());
+
+        /* priorities: readers never fail while reloads swap the snapshot */
+        int core = ModulePriorityRegistry.priorityOf(CoreModule.CORE);
+        int test = ModulePriorityRegistry.priorityOf(DefaultModule.TEST);
+        Assertions.assertEquals(core, ModulePriorityRegistry.priorityOf(" CORE "));
+
+        final int readers = 4;
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(readers);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            Thread t = new Thread(() -> {
+                long n = 0;
+                try {
+                    while (!stop.get()) {
+                        if (ModulePriorityRegistry.priorityOf(CoreModule.CORE) != core
+                            || ModulePriorityRegistry.priorityOf(DefaultModule.TEST) != test) {
+                            throw new AssertionError("priority changed");
+                        }
+                        n += 2;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    reads.addAndGet(n);
+                    done.countDown();
+                }
+            }, "priority-reader-" + i);
+            threads.add(t);
+            t.start();
+        }
+
+        int v0 = ModulePriorityRegistry.version();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < 2; i++) ModulePriorityRegistry.reload();
+        stop.set(true);
+        done.await();
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+
+        Assertions.assertNull(failure.get(), () -> "reader failed during reload: " + failure.get());
+        Assertions.assertEquals(v0 + 2, ModulePriorityRegistry.version());
+        log.info("{} priority reads by {} threads in {} ms across 2 reloads", reads.get(), readers, ms);
+    }
+}
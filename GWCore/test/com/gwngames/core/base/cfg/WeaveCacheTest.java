@@ -0,0 +1,160 @@
+package com.gwngames.core.base.cfg;
+
+import com.gwngames.DefaultModule;
+import com.gwngames.core.CoreComponent;
+import com.gwngames.core.CoreModule;
+import com.gwngames.core.CoreSubComponent;
+import com.gwngames.core.api.base.cfg.IClassLoader;
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.base.BaseComponent;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.base.ClosestComponent;
+import com.gwngames.core.util.ClosestWeaver;
+import com.gwngames.core.util.TransformingURLClassLoader;
+import com.gwngames.core.util.WeaveCache;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Woven Closest classes are stored on disk and reused by a later loader without resolving
+ * the lower implementation again; the fingerprint changes with module content and priorities.
+ */
+public class WeaveCacheTest extends BaseTest {
+
+    @Init(module = CoreModule.CORE)
+    public static class Lower extends BaseComponent {
+        private final String value;
+        public Lower() { this.value = initValue(); }
+        protected String initValue() { return "LOWER"; }
+        public String getInitValue() { return value; }
+    }
+
+    @Init(component = CoreComponent.PIPPO, subComp = CoreSubComponent.NONE, module = DefaultModule.TEST)
+    public static class Higher extends ClosestComponent {
+        protected String initValue() { return "HIGHER"; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        setupApplication();
+        Path root = Files.createTempDirectory("gw-weave");
+        URL classes = WeaveCacheTest.class.getProtectionDomain().getCodeSource().getLocation();
+        File classesRoot = new File(classes.toURI());
+        String fp = WeaveCache.fingerprint(List.of(classesRoot), Map.of(DefaultModule.TEST, 1));
+        WeaveCache cache = WeaveCache.open(root, fp);
+        Assertions.assertNotNull(cache);
+
+        /* 1) first load weaves and stores */
+        AtomicInteger lookups = new AtomicInteger();
+        long t0 = System.nanoTime();
+        Class<?> woven = load(classes, cache, lookups);
+        long weaveNs = System.nanoTime() - t0;
+        Assertions.assertEquals(1, lookups.get());
+        Assertions.assertEquals(Lower.class, woven.getSuperclass());
+        Assertions.assertEquals("HIGHER", value(woven));
+        try (var files = Files.list(cache.dir())) {
+            Assertions.assertEquals(1, files.filter(p -> p.toString().endsWith(".class")).count());
+        }
+
+        /* 2) a later loader defines the stored bytes without asking for the lower class */
+        t0 = System.nanoTime();
+        Class<?> cached = load(classes, WeaveCache.open(root, fp), lookups);
+        long cachedNs = System.nanoTime() - t0;
+        Assertions.assertEquals(1, lookups.get(), "cache hit must not resolve the lower implementation");
+        Assertions.assertEquals(Lower.class, cached.getSuperclass());
+        Assertions.assertEquals("HIGHER", value(cached));
+        log.info("Closest class defined in {} us woven, {} us from cache", weaveNs / 1000, cachedNs / 1000);
+
+        /* 3) fingerprint: priorities and jar content, even with unchanged size and timestamp */
+        Assertions.assertNotEquals(fp, WeaveCache.fingerprint(List.of(classesRoot), Map.of(DefaultModule.TEST, 2)));
+        File jar = root.resolve("module.jar").toFile();
+        writeJar(jar, "aaaa");
+        long mtime = jar.lastModified();
+        String before = WeaveCache.fingerprint(List.of(jar), Map.of());
+        Assertions.assertEquals(before, WeaveCache.fingerprint(List.of(jar), Map.of()));
+        writeJar(jar, "bbbb");
+        Assertions.assertTrue(jar.setLastModified(mtime));
+        Assertions.assertNotEquals(before, WeaveCache.fingerprint(List.of(jar), Map.of()));
+
+        /* 3b) the weaver, nested classes included: a different weaver misses the stored entry */
+        List<String> weaver = WeaveCache.weaverClasses(ClosestWeaver.class).stream().map(Class::getName).toList();
+        for (String nested : List.of("$1", "$1$1", "$CallSuperRewriter"))
+            Assertions.assertTrue(weaver.contains(ClosestWeaver.class.getName() + nested), weaver.toString());
+        String otherWeaver = WeaveCache.fingerprint(List.of(classesRoot), Map.of(DefaultModule.TEST, 1), Lower.class);
+        Assertions.assertNotEquals(fp, otherWeaver);
+        Class<?> rewoven = load(classes, WeaveCache.open(root, otherWeaver), lookups);
+        Assertions.assertEquals(2, lookups.get(), "a changed weaver must weave again");
+        Assertions.assertEquals("HIGHER", value(rewoven));
+
+        /* 4) stale folders are pruned, disabled cache yields null */
+        Path stale = Files.createDirectories(root.resolve("stale"));
+        Files.setLastModifiedTime(stale, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30)));
+        WeaveCache.open(root, fp);
+        Assertions.assertFalse(Files.exists(stale));
+        Assertions.assertTrue(Files.isDirectory(cache.dir()));
+
+        /* 5) the cache is private to the user: owner-only where POSIX permissions exist */
+        if (Files.getFileStore(root).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(root, PosixFilePermissions.fromString("rwxrwxrwx"));
+            WeaveCache.open(root, fp);
+            Assertions.assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(root)));
+            Assertions.assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cache.dir())));
+        }
+
+        String prev = System.getProperty(WeaveCache.DIR_PROPERTY);
+        System.setProperty(WeaveCache.DIR_PROPERTY, "off");
+        try {
+            Assertions.assertNull(WeaveCache.open(fp));
+        } finally {
+            if (prev == null) System.clearProperty(WeaveCache.DIR_PROPERTY);
+            else System.setProperty(WeaveCache.DIR_PROPERTY, prev);
+        }
+    }
+
+    private Class<?> load(URL classes, WeaveCache cache, AtomicInteger lookups) throws Exception {
+        IClassLoader gw = (IClassLoader) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{IClassLoader.class}, (proxy, m, args) -> {
+                if (m.getName().equals("findNextLowerFor")) {
+                    lookups.incrementAndGet();
+                    return Lower.class;
+                }
+                throw new UnsupportedOperationException(m.getName());
+            });
+        TransformingURLClassLoader cl = new TransformingURLClassLoader(
+            "weave-test", new URL[]{classes}, getClass().getClassLoader(), gw);
+        cl.setWeaveCache(() -> cache);
+        Class<?> c = cl.loadClass(Higher.class.getName());
+        Assertions.assertSame(cl, c.getClassLoader());
+        return c;
+    }
+
+    private static Object value(Class<?> c) throws Exception {
+        return c.getMethod("getInitValue").invoke(c.getDeclaredConstructor().newInstance());
+    }
+
+    private static void writeJar(File jar, String content) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            JarEntry e = new JarEntry("a/Res.txt");
+            e.setTime(0L);
+            out.putNextEntry(e);
+            out.write(content.getBytes());
+            out.closeEntry();
+        }
+    }
+}
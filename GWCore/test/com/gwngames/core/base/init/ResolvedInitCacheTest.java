@@ -0,0 +1,48 @@
+package com.gwngames.core.base.init;
+
+import com.gwngames.core.api.base.cfg.IClassLoader;
+import com.gwngames.core.api.build.Init;
+import com.gwngames.core.api.build.ResolvedInit;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.util.ClassUtils;
+import org.junit.jupiter.api.Assertions;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * {@link IClassLoader#resolvedInit(Class)} is computed once per class: repeated calls return
+ * the same immutable instance, which behaves like the annotation it replaces.
+ */
+public final class ResolvedInitCacheTest extends BaseTest {
+
+    @Override
+    protected void runTest() {
+        List<Class<?>> annotated = ClassUtils.getAnnotatedClasses(Init.class);
+        Assertions.assertFalse(annotated.isEmpty());
+
+        for (Class<?> type : annotated) {
+            Init first = IClassLoader.resolvedInit(type);
+            Assertions.assertSame(first, IClassLoader.resolvedInit(type), type.getName());
+            Assertions.assertFalse(Proxy.isProxyClass(first.getClass()), type.getName());
+            Assertions.assertEquals(Init.class, first.annotationType());
+
+            Init raw = type.getAnnotation(Init.class);
+            Assertions.assertEquals(raw.subComp(), first.subComp());
+            Assertions.assertEquals(raw.platform(), first.platform());
+            Assertions.assertEquals(raw.external(), first.external(), "external is never inherited");
+        }
+
+        Assertions.assertThrows(IllegalStateException.class, () -> ResolvedInit.of(String.class));
+        Assertions.assertThrows(IllegalStateException.class, () -> ResolvedInit.of(String.class),
+            "a missing @Init keeps failing, it is not cached as a value");
+
+        int calls = 1_000_000;
+        Class<?> type = annotated.get(0);
+        long t0 = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < calls; i++) sink += IClassLoader.resolvedInit(type).component().length();
+        long perCall = (System.nanoTime() - t0) / calls;
+        log.info("resolvedInit: ~{} ns per cached call ({})", perCall, sink);
+    }
+}
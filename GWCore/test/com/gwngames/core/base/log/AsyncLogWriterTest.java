@@ -0,0 +1,205 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.base.BaseTest;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Lines from many threads all reach disk in per-thread order, files rotate on line and byte
+ * limits, and sustained throughput is well above opening the file for every line.
+ */
+public class AsyncLogWriterTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        Path dir = Files.createTempDirectory("gw-async-log");
+        try {
+            /* rotation by lines, then by bytes */
+            String byLines = dir.resolve("lines.log").toString();
+            try (AsyncLogWriter w = new AsyncLogWriter(64, 10, Long.MAX_VALUE, null)) {
+                for (int i = 0; i < 25; i++) w.append(byLines, "line " + i);
+            }
+            Assertions.assertEquals(10, lineCount(dir.resolve("lines.log.1")));
+            Assertions.assertEquals(10, lineCount(dir.resolve("lines.log.2")));
+            Assertions.assertEquals(5, lineCount(dir.resolve("lines.log")));
+
+            String byBytes = dir.resolve("bytes.log").toString();
+            try (AsyncLogWriter w = new AsyncLogWriter(64, Integer.MAX_VALUE, 100, null)) {
+                for (int i = 0; i < 20; i++) w.append(byBytes, "0123456789abcdefghi"); // 20 bytes with '\n'
+                w.flush();
+                long written = 0;
+                for (Path p : files(dir, "bytes.log")) written += lineCount(p);
+                Assertions.assertEquals(20, written, "flush() writes everything queued");
+            }
+            Assertions.assertEquals(4, files(dir, "bytes.log").size());
+            Assertions.assertEquals(5, lineCount(dir.resolve("bytes.log.1")));
+
+            /* an existing file is counted once when first opened */
+            try (AsyncLogWriter w = new AsyncLogWriter(64, 10, Long.MAX_VALUE, null)) {
+                for (int i = 0; i < 5; i++) w.append(byLines, "more " + i);
+            }
+            Assertions.assertEquals(10, lineCount(dir.resolve("lines.log")));
+            Assertions.assertFalse(Files.exists(dir.resolve("lines.log.3")));
+
+            /* 8 producers, small ring: nothing lost, order kept per thread */
+            final int threads = 8, perThread = 25_000;
+            String shared = dir.resolve("shared.log").toString();
+            long asyncNanos;
+            try (AsyncLogWriter w = new AsyncLogWriter(1_024, 50_000, AsyncLogWriter.DEFAULT_MAX_BYTES, null)) {
+                asyncNanos = produce(threads, perThread, (t, i) -> w.append(shared, "[t" + t + "] message " + i));
+            }
+            List<String> all = new ArrayList<>();
+            for (Path p : files(dir, "shared.log")) all.addAll(Files.readAllLines(p));
+            Assertions.assertEquals(threads * perThread, all.size());
+            int[] next = new int[threads];
+            for (String l : all) {
+                int t = l.charAt(2) - '0';
+                Assertions.assertEquals("[t" + t + "] message " + next[t], l);
+                next[t]++;
+            }
+            Assertions.assertTrue(files(dir, "shared.log").size() > 1, "rotated under load");
+
+            /* producers racing close(), some blocked on a full ring: every line still lands */
+            String closing = dir.resolve("closing.log").toString();
+            AsyncLogWriter racing = new AsyncLogWriter(4, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Thread> racers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int id = t;
+                Thread th = new Thread(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 2_000; i++) racing.append(closing, "[t" + id + "] closing " + i);
+                }, "log-racer-" + t);
+                racers.add(th);
+                th.start();
+            }
+            go.countDown();
+            racing.close();
+            for (Thread th : racers) th.join();
+            Assertions.assertEquals(4 * 2_000, lineCount(Path.of(closing)), "lines lost around close()");
+
+            /* an interrupted producer writes its line itself and keeps its interrupt status */
+            String interrupted = dir.resolve("interrupted.log").toString();
+            try (AsyncLogWriter w = new AsyncLogWriter(4, Integer.MAX_VALUE, Long.MAX_VALUE, null)) {
+                Thread.currentThread().interrupt();
+                w.append(interrupted, "while interrupted");
+                Assertions.assertTrue(Thread.interrupted(), "interrupt status must be restored");
+            }
+            Assertions.assertEquals(List.of("while interrupted"), Files.readAllLines(Path.of(interrupted)));
+
+            /* a record that cannot be written costs only itself: the writer thread keeps going */
+            String survivor = dir.resolve("survivor.log").toString();
+            AsyncLogWriter sturdy = new AsyncLogWriter(4, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+            Thread feeder = new Thread(() -> {
+                sturdy.append("bad\0path.log", "unwritable"); // InvalidPathException on the writer thread
+                for (int i = 0; i < 1_000; i++) sturdy.append(survivor, "after " + i);
+                sturdy.flush();
+            }, "log-feeder");
+            feeder.start();
+            feeder.join(5_000);
+            Assertions.assertFalse(feeder.isAlive(), "producers hang once the writer thread died");
+            sturdy.close();
+            Assertions.assertEquals(1_000, lineCount(Path.of(survivor)));
+
+            /* baseline: open, count and append for every line, as before */
+            final int baselinePerThread = 250;
+            Path old = dir.resolve("old.log");
+            long oldNanos = produce(threads, baselinePerThread, (t, i) -> {
+                synchronized (AsyncLogWriterTest.class) {
+                    try {
+                        try (Stream<String> s = Files.exists(old) ? Files.lines(old) : Stream.empty()) {
+                            s.count();
+                        }
+                        try (BufferedWriter bw = Files.newBufferedWriter(old, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                            bw.write("[t" + t + "] message " + i);
+                            bw.newLine();
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+
+            long asyncRate = threads * perThread * 1_000_000_000L / Math.max(1, asyncNanos);
+            long oldRate = threads * baselinePerThread * 1_000_000_000L / Math.max(1, oldNanos);
+            log.info("{} threads: async {} lines/s, per-line open/append {} lines/s", threads, asyncRate, oldRate);
+            Assertions.assertTrue(asyncRate > oldRate * 5,
+                "async writer should sustain far more lines/s: " + asyncRate + " vs " + oldRate);
+        } finally {
+            try (Stream<Path> s = Files.walk(dir)) {
+                for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private interface Producer {
+        void line(int thread, int index);
+    }
+
+    /** Runs {@code threads} producers of {@code perThread} lines each; returns the wall time. */
+    private static long produce(int threads, int perThread, Producer producer) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> started = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            Thread th = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) producer.line(id, i);
+            }, "log-producer-" + t);
+            started.add(th);
+            th.start();
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread th : started) th.join();
+        return System.nanoTime() - t0;
+    }
+
+    private static List<Path> files(Path dir, String name) throws IOException {
+        Set<Path> out = new HashSet<>();
+        try (Stream<Path> s = Files.list(dir)) {
+            s.filter(p -> p.getFileName().toString().startsWith(name)).forEach(out::add);
+        }
+        // rotated files first (.1, .2, ...), the live file last
+        return out.stream().sorted(Comparator.comparingInt(AsyncLogWriterTest::rotationIndex)).toList();
+    }
+
+    private static int rotationIndex(Path p) {
+        String n = p.getFileName().toString();
+        int dot = n.lastIndexOf('.');
+        try {
+            return Integer.parseInt(n.substring(dot + 1));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static long lineCount(Path p) throws IOException {
+        if (!Files.exists(p)) return 0;
+        try (Stream<String> s = Files.lines(p)) {
+            return s.count();
+        }
+    }
+}
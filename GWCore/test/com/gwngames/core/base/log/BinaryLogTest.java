@@ -0,0 +1,134 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.util.StringUtils;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Binary log events decode back to the text layout with every argument type intact, a cut-off
+ * file decodes up to its last complete event, earlier runs are archived under the log retention,
+ * a closed writer refuses events, and a line is never formatted and costs far less disk than the
+ * formatted text path.
+ */
+public class BinaryLogTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        Path dir = Files.createTempDirectory("gw-binlog");
+        try {
+            /* round trip */
+            Path file = dir.resolve("game.log.bin");
+            long tid = Thread.currentThread().threadId();
+            try (BinaryLogWriter w = new BinaryLogWriter(file)) {
+                w.write(FileLogger.INFO_LEVEL, "com.gw.demo.Player", "hp {} of {}, speed {} {}", null, 42, 100L, 1.5, true);
+                w.write(FileLogger.DEBUG_LEVEL, null, "{} {} {} {} {} {}", null, 'x', -7, null, "é text", (double) 0.1f, 0.1);
+                w.write(FileLogger.ERROR_LEVEL, "com.gw.demo.Player", "failed", new IllegalStateException("boom"));
+                w.write(FileLogger.INFO_LEVEL, "com.gw.demo.Player", "hp {} of {}, speed {} {}", null, 41, 100L, 1.25f, false);
+            }
+            List<String> lines = decode(Files.readAllBytes(file));
+            Assertions.assertTrue(lines.get(0).endsWith(" - " + tid + " - Player] [INFO] hp 42 of 100, speed 1.5 true"), lines.get(0));
+            Assertions.assertTrue(lines.get(1).endsWith(" - -] [DEBUG] x -7 null é text " + (double) 0.1f + " 0.1"), lines.get(1));
+            Assertions.assertTrue(lines.get(2).endsWith("] [ERROR] failed"), lines.get(2));
+            Assertions.assertEquals("java.lang.IllegalStateException: boom", lines.get(3));
+            Assertions.assertTrue(lines.stream().anyMatch(l -> l.endsWith("[INFO] hp 41 of 100, speed 1.25 false")));
+            Assertions.assertTrue(lines.get(0).matches("\\[\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3} - .*"), lines.get(0));
+
+            /* a crash mid-event loses only that event */
+            byte[] bytes = Files.readAllBytes(file);
+            List<String> cut = decode(Arrays.copyOf(bytes, bytes.length - 3));
+            Assertions.assertTrue(cut.stream().noneMatch(l -> l.contains("hp 41")));
+            Assertions.assertTrue(cut.get(0).endsWith("hp 42 of 100, speed 1.5 true"));
+
+            /* a second run keeps the first file */
+            new BinaryLogWriter(file).close();
+            Assertions.assertTrue(Files.exists(dir.resolve("game.log.bin.1")));
+
+            /* earlier runs follow the retention: compressed, numbering continues, pruned by size */
+            AsyncLogWriter.Retention gzipOnly = new AsyncLogWriter.Retention(true, Long.MAX_VALUE, null);
+            try (BinaryLogWriter w = new BinaryLogWriter(file, gzipOnly)) {
+                Assertions.assertTrue(w.write(FileLogger.INFO_LEVEL, null, "third run {}", null, 3));
+            }
+            Assertions.assertEquals(List.of("game.log.bin.1.gz", "game.log.bin.2.gz"), segmentNames(file));
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve("game.log.bin.1.gz")))) {
+                Assertions.assertEquals(lines, decode(in.readAllBytes()));
+            }
+            long newest = Files.size(file);
+            new BinaryLogWriter(file, new AsyncLogWriter.Retention(false, newest, null)).close();
+            Assertions.assertEquals(List.of("game.log.bin.3"), segmentNames(file));
+            Assertions.assertEquals(List.of("third run 3"), decode(Files.readAllBytes(dir.resolve("game.log.bin.3")))
+                .stream().map(l -> l.substring(l.indexOf("[INFO] ") + 7)).toList());
+
+            /* a closed writer reports the event as not recorded, so callers can fall back to text */
+            BinaryLogWriter closed = new BinaryLogWriter(dir.resolve("closed.log.bin"));
+            closed.close();
+            Assertions.assertFalse(closed.write(FileLogger.INFO_LEVEL, null, "too late", null));
+
+            /* cost per line: binary vs formatted text through the async writer */
+            final int n = 200_000;
+            long textNanos = Long.MAX_VALUE, binNanos = Long.MAX_VALUE, textBytes = 0, binBytes = 0;
+            DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+            for (int r = 0; r < 3; r++) {
+                Path text = dir.resolve("text-" + r + ".log");
+                long t0 = System.nanoTime();
+                try (AsyncLogWriter w = new AsyncLogWriter(16_384, Integer.MAX_VALUE, Long.MAX_VALUE, null)) {
+                    for (int i = 0; i < n; i++) {
+                        String msg = StringUtils.formatBraces("Frame {} rendered {} sprites in {} ms", i, i & 511, 2.5);
+                        w.append(text.toString(), "[" + df.format(LocalDateTime.now()) + " - " + tid
+                            + " - Renderer:render] [INFO] " + msg);
+                    }
+                }
+                textNanos = Math.min(textNanos, System.nanoTime() - t0);
+                textBytes = Files.size(text);
+
+                Path bin = dir.resolve("bin-" + r + ".log.bin");
+                t0 = System.nanoTime();
+                try (BinaryLogWriter w = new BinaryLogWriter(bin)) {
+                    for (int i = 0; i < n; i++) {
+                        w.write(FileLogger.INFO_LEVEL, "com.gw.render.Renderer",
+                            "Frame {} rendered {} sprites in {} ms", null, i, i & 511, 2.5);
+                    }
+                }
+                binNanos = Math.min(binNanos, System.nanoTime() - t0);
+                binBytes = Files.size(bin);
+            }
+            log.info("{} lines: text {} ns/line {} B/line, binary {} ns/line {} B/line",
+                n, textNanos / n, textBytes / n, binNanos / n, binBytes / n);
+            Assertions.assertTrue(binBytes * 5 < textBytes, "binary should be much smaller: " + binBytes + " vs " + textBytes);
+            String raw = new String(Files.readAllBytes(dir.resolve("bin-0.log.bin")), StandardCharsets.ISO_8859_1);
+            Assertions.assertTrue(raw.contains("Frame {} rendered"), "template stored");
+            Assertions.assertEquals(raw.indexOf("Frame {} rendered"), raw.lastIndexOf("Frame {} rendered"), "template stored once");
+            Assertions.assertFalse(raw.contains("Frame 1 rendered"), "events must not be formatted");
+
+            try (InputStream in = Files.newInputStream(dir.resolve("bin-0.log.bin"))) {
+                Assertions.assertEquals(n, BinaryLogDecoder.decode(in, new StringBuilder()));
+            }
+        } finally {
+            try (Stream<Path> s = Files.walk(dir)) {
+                for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static List<String> segmentNames(Path live) {
+        return LogArchiver.segments(live).stream().map(p -> p.getFileName().toString()).toList();
+    }
+
+    private static List<String> decode(byte[] bytes) throws Exception {
+        StringBuilder out = new StringBuilder();
+        BinaryLogDecoder.decode(new ByteArrayInputStream(bytes), out);
+        return out.toString().lines().toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.base.BaseComponent;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.data.LogFiles;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.function.Supplier;
+
+/**
+ * Dashboard lines go to the calling component: found with a short stack walk when the
+ * logger is shared, or taken from the logger itself when it was bound to its owner.
+ */
+public class FileLoggerCallerTest extends BaseTest {
+
+    private static final FileLogger SHARED = FileLogger.get(LogFiles.TEST);
+
+    static final class Caller extends BaseComponent {
+        private static final FileLogger BOUND = FileLogger.get(LogFiles.TEST, Caller.class);
+
+        void viaShared(String msg) { SHARED.info(msg); }
+        void viaHelper(String msg) { Helper.log(msg); }
+        String key() { return FileLogger.resolveCallerComponentClassKey(); }
+    }
+
+    /** Not a component: lines logged here belong to the component calling it. */
+    static final class Helper {
+        static void log(String msg) { SHARED.info(msg); }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        String key = Caller.class.getName();
+        Caller caller = new Caller();
+
+        caller.viaShared("shared line");
+        caller.viaHelper("helper line");
+        Caller.BOUND.info("bound line"); // called from the test, not from Caller
+        Assertions.assertTrue(LogBus.recent(key).stream().anyMatch(l -> l.endsWith("shared line")));
+        Assertions.assertTrue(LogBus.recent(key).stream().anyMatch(l -> l.endsWith("helper line")));
+        Assertions.assertTrue(LogBus.recent(key).stream().anyMatch(l -> l.endsWith("bound line")));
+        Assertions.assertNull(FileLogger.resolveCallerComponentClassKey(), "no component on this stack");
+        Assertions.assertEquals(key, caller.key());
+
+        /* cost of finding the caller: short walk vs full stack capture, 100 frames deep */
+        long[] nanos = deep(100, () -> measure(caller));
+        final int n = 20_000;
+        log.info("caller lookup: StackWalker {} ns, full stack trace {} ns", nanos[0] / n, nanos[1] / n);
+        Assertions.assertTrue(nanos[0] * 2 < nanos[1], "walking to the caller should beat a full stack capture: "
+            + nanos[0] / n + " ns vs " + nanos[1] / n + " ns");
+    }
+
+    private static long[] measure(Caller caller) {
+        final int n = 20_000;
+        long walk = Long.MAX_VALUE, full = Long.MAX_VALUE;
+        int found = 0;
+        for (int r = 0; r < 5; r++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) if (caller.key() != null) found++;
+            walk = Math.min(walk, System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) if (new Throwable().getStackTrace().length > 0) found++;
+            full = Math.min(full, System.nanoTime() - t0);
+        }
+        Assertions.assertEquals(10 * n, found);
+        return new long[] {walk, full};
+    }
+
+    private static long[] deep(int depth, Supplier<long[]> body) {
+        return depth == 0 ? body.get() : deep(depth - 1, body);
+    }
+}
@@ -0,0 +1,90 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.base.BaseComponent;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.data.LogFiles;
+import org.junit.jupiter.api.Assertions;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logging below the level builds nothing: no formatting, no dashboard line, no allocation.
+ * Dashboard lines that are kept are formatted once, when recorded, and keep no arguments.
+ */
+public class LazyLoggingTest extends BaseTest {
+
+    static final class Chatty extends BaseComponent {
+        void debug(String msg, Object arg) { logDebug(msg, arg); }
+        @Override public String dashboardKey() { return "lazy-chatty"; }
+    }
+
+    /** Counts how often it is turned into text. */
+    static final class Probe {
+        final AtomicInteger rendered = new AtomicInteger();
+        @Override public String toString() { rendered.incrementAndGet(); return "probe"; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        int level = FileLogger.enabled_level;
+        FileLogger.setLevel(FileLogger.INFO_LEVEL);
+        try {
+            Chatty c = new Chatty();
+            Probe probe = new Probe();
+            FileLogger file = FileLogger.get(LogFiles.TEST, Chatty.class);
+            GwLogger ext = new GwLogger("ext");
+
+            /* below the level: nothing formatted, nothing recorded */
+            int kept = LogBus.recent(c.dashboardKey()).size();
+            c.debug("value %s", probe);
+            file.debug("value {}", probe);
+            ext.debug("value {}", probe);
+            LogBus.record(c.dashboardKey(), LogBus.Level.DEBUG, "value %s", null, probe);
+            Assertions.assertEquals(0, probe.rendered.get());
+            Assertions.assertEquals(kept, LogBus.recent(c.dashboardKey()).size());
+            Assertions.assertFalse(ext.isDebugEnabled());
+            Assertions.assertTrue(ext.isInfoEnabled());
+
+            /* kept dashboard lines are formatted when recorded, once, not again on read */
+            LogBus.record(c.dashboardKey(), LogBus.Level.INFO, "value %s", null, probe);
+            Assertions.assertEquals(1, probe.rendered.get(), "formatted while recording");
+            Assertions.assertTrue(LogBus.recent(c.dashboardKey()).get(kept).endsWith("value probe"));
+            LogBus.recent(c.dashboardKey());
+            Assertions.assertEquals(1, probe.rendered.get());
+
+            /* a failing toString() neither escapes record() nor recent() */
+            Object broken = new Object() {
+                @Override public String toString() { throw new IllegalStateException("no text"); }
+            };
+            LogBus.record(c.dashboardKey(), LogBus.Level.INFO, "value %s", null, broken);
+            String last = LogBus.recent(c.dashboardKey()).getLast();
+            Assertions.assertTrue(last.contains("value %s [<") && last.contains("no text"), last);
+
+            /* disabled calls allocate nothing: the fixed-arity forms build no varargs array */
+            Object arg = 42;
+            var mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long tid = Thread.currentThread().threadId();
+            final int n = 200_000;
+            long bytes = Long.MAX_VALUE;
+            for (int r = 0; r < 10; r++) {
+                long before = mx.getThreadAllocatedBytes(tid);
+                for (int i = 0; i < n; i++) {
+                    c.debug("tick %s", arg);
+                    file.debug("tick {}", arg);
+                    ext.debug("tick {}", arg);
+                }
+                bytes = Math.min(bytes, mx.getThreadAllocatedBytes(tid) - before);
+            }
+            log.info("{} disabled DEBUG calls allocated {} bytes", 3 * n, bytes);
+            Assertions.assertTrue(bytes < 3L * n, "disabled DEBUG calls must not allocate per call: " + bytes + " bytes");
+
+            /* library debug output follows the FileLogger level */
+            FileLogger.setLevel(FileLogger.DEBUG_LEVEL);
+            Assertions.assertTrue(ext.isDebugEnabled());
+            Assertions.assertTrue(ext.isTraceEnabled());
+        } finally {
+            FileLogger.setLevel(level);
+        }
+    }
+}
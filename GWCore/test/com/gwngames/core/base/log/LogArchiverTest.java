@@ -0,0 +1,134 @@
+package com.gwngames.core.base.log;
+
+import com.gwngames.core.base.BaseTest;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Rotated segments are gzipped off the writer thread, keep their content, and are pruned by
+ * total size and by age; segments left by an earlier run are picked up and numbering continues.
+ */
+public class LogArchiverTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        Path dir = Files.createTempDirectory("gw-log-archive");
+        try {
+            /* compression: every rotated segment becomes .gz with the same lines */
+            Path app = dir.resolve("app.log");
+            AsyncLogWriter.Retention gzipOnly = new AsyncLogWriter.Retention(true, Long.MAX_VALUE, null);
+            try (AsyncLogWriter w = new AsyncLogWriter(256, 100, Long.MAX_VALUE, null, gzipOnly)) {
+                for (int i = 0; i < 450; i++) w.append(app.toString(), "line " + i + " " + "x".repeat(60));
+            }
+            List<Path> segments = LogArchiver.segments(app);
+            Assertions.assertEquals(4, segments.size(), segments.toString());
+            int next = 0;
+            for (Path p : segments) {
+                Assertions.assertTrue(p.getFileName().toString().endsWith(".gz"), p.toString());
+                for (String l : gunzip(p)) Assertions.assertTrue(l.startsWith("line " + next++ + " "), l);
+            }
+            for (String l : Files.readAllLines(app)) Assertions.assertTrue(l.startsWith("line " + next++ + " "), l);
+            Assertions.assertEquals(450, next);
+            long compressed = 0;
+            for (Path p : segments) compressed += Files.size(p);
+            Assertions.assertTrue(compressed < 4 * 100 * 60 / 4, "gzip should shrink repetitive logs: " + compressed);
+
+            /* an earlier run's plain segments are compressed, numbering continues after them */
+            Path old = dir.resolve("old.log");
+            Files.write(old.resolveSibling("old.log.1"), List.of("a", "b"));
+            Files.write(old.resolveSibling("old.log.2"), List.of("c"));
+            try (AsyncLogWriter w = new AsyncLogWriter(16, 1, Long.MAX_VALUE, null, gzipOnly)) {
+                w.append(old.toString(), "d");
+                w.append(old.toString(), "e");
+            }
+            Assertions.assertEquals(List.of("old.log.1.gz", "old.log.2.gz", "old.log.3.gz"),
+                LogArchiver.segments(old).stream().map(p -> p.getFileName().toString()).toList());
+            Assertions.assertEquals(List.of("a", "b"), gunzip(old.resolveSibling("old.log.1.gz")));
+            Assertions.assertEquals(List.of("d"), gunzip(old.resolveSibling("old.log.3.gz")));
+
+            /* retention by size: only the newest segments within the budget survive */
+            Path big = dir.resolve("big.log");
+            AsyncLogWriter.Retention bySize = new AsyncLogWriter.Retention(false, 2_500, null);
+            try (AsyncLogWriter w = new AsyncLogWriter(256, 10, Long.MAX_VALUE, null, bySize)) {
+                for (int i = 0; i < 200; i++) w.append(big.toString(), String.format("%099d", i)); // 10 lines = 1000 bytes
+            }
+            List<Path> left = LogArchiver.segments(big);
+            Assertions.assertEquals(2, left.size(), left.toString());
+            Assertions.assertEquals(List.of(18, 19), left.stream().map(p -> LogArchiver.index(big, p)).toList());
+
+            /* retention by age: segments older than the limit go, the live file stays */
+            Path aged = dir.resolve("aged.log");
+            Files.write(aged.resolveSibling("aged.log.1"), List.of("ancient"));
+            Files.setLastModifiedTime(aged.resolveSibling("aged.log.1"),
+                FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(40).toMillis()));
+            Files.write(aged.resolveSibling("aged.log.2"), List.of("recent"));
+            AsyncLogWriter.Retention byAge = new AsyncLogWriter.Retention(false, Long.MAX_VALUE, Duration.ofDays(30));
+            try (AsyncLogWriter w = new AsyncLogWriter(16, 1_000, Long.MAX_VALUE, null, byAge)) {
+                w.append(aged.toString(), "now");
+            }
+            Assertions.assertEquals(List.of("aged.log.2"),
+                LogArchiver.segments(aged).stream().map(p -> p.getFileName().toString()).toList());
+            Assertions.assertEquals(List.of("now"), Files.readAllLines(aged));
+
+            /* the hot path does not wait for compression: with the archive thread stalled, appends
+             * keep rotating and every segment stays plain until it is released */
+            Path hot = dir.resolve("hot.log");
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService stalled = Executors.newSingleThreadExecutor();
+            stalled.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            try (AsyncLogWriter w = new AsyncLogWriter(4_096, 10_000, Long.MAX_VALUE, null, new LogArchiver(gzipOnly, stalled))) {
+                for (int i = 0; i < 50_000; i++) w.append(hot.toString(), "hot path line " + i);
+                w.flush();
+                List<String> pending = LogArchiver.segments(hot).stream().map(p -> p.getFileName().toString()).toList();
+                Assertions.assertEquals(List.of("hot.log.1", "hot.log.2", "hot.log.3", "hot.log.4"), pending);
+                release.countDown();
+            }
+            Assertions.assertEquals(List.of("hot.log.1.gz", "hot.log.2.gz", "hot.log.3.gz", "hot.log.4.gz"),
+                LogArchiver.segments(hot).stream().map(p -> p.getFileName().toString()).toList());
+
+            /* appends after close write themselves; their rotations are archived on the caller */
+            Path late = dir.resolve("late.log");
+            AsyncLogWriter lw = new AsyncLogWriter(16, 1, Long.MAX_VALUE, null, gzipOnly);
+            lw.append(late.toString(), "first");
+            lw.close();
+            lw.append(late.toString(), "second");
+            lw.append(late.toString(), "third");
+            Assertions.assertEquals(List.of("late.log.1.gz", "late.log.2.gz"),
+                LogArchiver.segments(late).stream().map(p -> p.getFileName().toString()).toList());
+            Assertions.assertEquals(List.of("second"), gunzip(late.resolveSibling("late.log.2.gz")));
+            Assertions.assertEquals(List.of("third"), Files.readAllLines(late));
+        } finally {
+            try (Stream<Path> s = Files.walk(dir)) {
+                for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static List<String> gunzip(Path p) throws IOException {
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(p)), StandardCharsets.UTF_8))) {
+            return r.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gwngames.core.base.proxy;
+
+import com.gwngames.core.api.base.IBaseComp;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.base.LazyProxy;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Generated {@link LazyProxy} dispatch: semantics (default methods reach the target's
+ * override, exceptions pass through untouched, identity-based Object methods) and a
+ * benchmark against a direct call and a reflective {@code InvocationHandler} proxy.
+ */
+public final class LazyProxyDispatchTest extends BaseTest {
+
+    private static final int CALLS = 5_000_000;
+    private static final int ROUNDS = 5;
+
+    public interface Counter extends IBaseComp {
+        int add(int delta);
+        long scale(long value, double factor);
+        void fail() throws IOException;
+        default String kind() { return "default"; }
+    }
+
+    /** Non-public: proxied through a hidden class instead of a child loader. */
+    private interface Hidden extends IBaseComp {
+        int add(int delta);
+    }
+
+    private static final class CounterImpl implements Counter, Hidden {
+        private int total;
+        @Override public int add(int delta) { return total += delta; }
+        @Override public long scale(long value, double factor) { return (long) (value * factor); }
+        @Override public void fail() throws IOException { throw new IOException("boom"); }
+        @Override public String kind() { return "override"; }
+        @Override public int getMultId() { return 0; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        semantics();
+        benchmark();
+    }
+
+    private void semantics() {
+        Counter counter = LazyProxy.of(Counter.class, CounterImpl::new, true);
+        Hidden hidden = LazyProxy.of(Hidden.class, CounterImpl::new, true);
+
+        Assertions.assertFalse(Proxy.isProxyClass(counter.getClass()), "public interface should be generated");
+        Assertions.assertFalse(Proxy.isProxyClass(hidden.getClass()), "private interface should be generated");
+
+        Assertions.assertEquals(3, counter.add(3));
+        Assertions.assertEquals(5, counter.add(2), "same target across calls");
+        Assertions.assertEquals(7, hidden.add(7));
+        Assertions.assertEquals(25L, counter.scale(10L, 2.5));
+        Assertions.assertEquals("override", counter.kind(), "default method must reach the target's override");
+
+        IOException io = Assertions.assertThrows(IOException.class, counter::fail);
+        Assertions.assertEquals("boom", io.getMessage());
+
+        Assertions.assertEquals(counter, counter);
+        Assertions.assertNotEquals(counter, LazyProxy.of(Counter.class, CounterImpl::new, true));
+        Assertions.assertEquals(System.identityHashCode(counter), counter.hashCode());
+        Assertions.assertTrue(counter.toString().startsWith("LazyProxy<"));
+    }
+
+    private void benchmark() {
+        CounterImpl direct = new CounterImpl();
+        Counter lazy = LazyProxy.of(Counter.class, CounterImpl::new, false);
+        Counter immortal = LazyProxy.of(Counter.class, CounterImpl::new, true);
+        Counter reflective = reflectiveProxy(new CounterImpl());
+
+        long tDirect = Long.MAX_VALUE, tLazy = Long.MAX_VALUE, tImmortal = Long.MAX_VALUE, tReflective = Long.MAX_VALUE;
+        long sink = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long t0 = System.nanoTime(); sink += loop(direct);     tDirect     = Math.min(tDirect, System.nanoTime() - t0);
+            t0 = System.nanoTime();      sink += loop(lazy);       tLazy       = Math.min(tLazy, System.nanoTime() - t0);
+            t0 = System.nanoTime();      sink += loop(immortal);   tImmortal   = Math.min(tImmortal, System.nanoTime() - t0);
+            t0 = System.nanoTime();      sink += loop(reflective); tReflective = Math.min(tReflective, System.nanoTime() - t0);
+        }
+
+        log.info("{} calls, ns/call: direct={} lazy={} immortal={} reflective-proxy={} (sink {})", CALLS,
+            perCall(tDirect), perCall(tLazy), perCall(tImmortal), perCall(tReflective), sink);
+
+        Assertions.assertTrue(tLazy * 3 < tReflective,
+            "generated dispatch should be well ahead of a reflective proxy: " + perCall(tLazy) + " vs " + perCall(tReflective));
+    }
+
+    private static long loop(Counter c) {
+        long acc = 0;
+        for (int i = 0; i < CALLS; i++) acc += c.add(1);
+        return acc;
+    }
+
+    private static String perCall(long nanos) {
+        return String.format("%.2f", nanos / (double) CALLS);
+    }
+
+    /** What every lazy call used to pay: Method.invoke behind an InvocationHandler plus a clock read. */
+    private static Counter reflectiveProxy(Counter target) {
+        return (Counter) Proxy.newProxyInstance(Counter.class.getClassLoader(), new Class<?>[]{Counter.class},
+            (proxy, m, args) -> {
+                System.currentTimeMillis();
+                try {
+                    return m.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
@@ -0,0 +1,38 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.event.base.MacroEvent;
+import org.junit.jupiter.api.Assertions;
+
+public class ExecutionHistoryTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        /* 1 — size bound: the window never grows past maxEntries */
+        ExecutionHistory<Integer> bySize = new ExecutionHistory<>(1_000, 0);
+        for (int i = 0; i < 1_000_000; i++) bySize.record(i);
+        Assertions.assertEquals(1_000, bySize.size(), "history must stay bounded");
+        Assertions.assertTrue(bySize.contains(999_999), "newest entry retained");
+        Assertions.assertFalse(bySize.contains(0), "oldest entry evicted");
+
+        /* 2 — age bound: entries expire on trim */
+        ExecutionHistory<String> byAge = new ExecutionHistory<>(100, 20);
+        byAge.record("a");
+        Assertions.assertTrue(byAge.contains("a"));
+        Thread.sleep(50);
+        byAge.trim();
+        Assertions.assertFalse(byAge.contains("a"), "expired entry evicted");
+        Assertions.assertEquals(0, byAge.size());
+
+        /* 3 — framework events keep answering after any eviction */
+        MasterEventQueue master = new MasterEventQueue();
+        MacroEvent macro = new MacroEvent();
+        macro.setId("history-macro");
+        SimpleEvent ev = new SimpleEvent();
+        macro.addEvent(ev);
+
+        master.markExecuted(ev);
+        Assertions.assertTrue(master.hasExecuted(ev));
+        Assertions.assertTrue(master.isMacroEventCompleted(macro));
+    }
+}
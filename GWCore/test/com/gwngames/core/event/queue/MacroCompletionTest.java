@@ -0,0 +1,75 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.api.event.IEvent;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.event.base.MacroEvent;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Macro completion must cost O(1) per finished event: settling an event counts the macro
+ * down without rescanning its children, and the macro flips to completed exactly once,
+ * on its last event.
+ */
+public final class MacroCompletionTest extends BaseTest {
+
+    private static final int SIZE = 10_000;
+
+    @Override
+    protected void runTest() throws Exception {
+        MasterEventQueue master = new MasterEventQueue();
+        List<SimpleEvent> events = new ArrayList<>(SIZE);
+        CountingMacro macro = buildMacro("macro-10k", SIZE, events);
+
+        for (int i = 0; i < SIZE - 1; i++) {
+            master.markExecuted(events.get(i));
+            master.markExecuted(events.get(i)); // duplicate marks must not count twice
+        }
+        Assertions.assertFalse(master.isMacroEventCompleted(macro), "one event still pending");
+        Assertions.assertEquals(0, macro.completions, "completed before its last event");
+
+        master.markExecuted(events.get(SIZE - 1));
+        Assertions.assertTrue(master.isMacroEventCompleted(macro), "last event completes the macro");
+        Assertions.assertEquals(1, macro.completions, "the countdown reaches zero exactly once");
+
+        /* late marks on a completed macro change nothing */
+        master.markExecuted(events.get(0));
+        master.markDiscarded(events.get(SIZE - 1));
+        Assertions.assertEquals(1, macro.completions);
+
+        /* settling never walked the children: no call to getEvents() at all */
+        Assertions.assertEquals(0, macro.scans, "settling an event rescanned the macro");
+    }
+
+    private static CountingMacro buildMacro(String id, int size, List<SimpleEvent> sink) {
+        CountingMacro macro = new CountingMacro();
+        macro.setId(id);
+        for (int i = 0; i < size; i++) {
+            SimpleEvent ev = new SimpleEvent();
+            macro.addEvent(ev);
+            sink.add(ev);
+        }
+        return macro;
+    }
+
+    /** Counts reads of its children and the calls that completed it. */
+    private static final class CountingMacro extends MacroEvent {
+        int scans;
+        int completions;
+
+        @Override
+        public List<IEvent> getEvents() {
+            scans++;
+            return super.getEvents();
+        }
+
+        @Override
+        public boolean countDown() {
+            boolean done = super.countDown();
+            if (done) completions++;
+            return done;
+        }
+    }
+}
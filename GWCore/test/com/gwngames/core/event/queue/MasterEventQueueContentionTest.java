@@ -0,0 +1,100 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.api.event.IMacroEvent;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.event.base.MacroEvent;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Contention benchmark for {@link MasterEventQueue#enqueueEvent}.
+ * <p>
+ * Eight producers hammer the lock-free ingestion path; the same load is then
+ * replayed against the legacy "synchronized deque + UUID id" path so the
+ * numbers can be compared in the test log. Only correctness is asserted,
+ * timings are informational.
+ * </p>
+ */
+public final class MasterEventQueueContentionTest extends BaseTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int PER_PRODUCER = 20_000;
+
+    /** Replica of the former ingestion path: one monitor + UUID per wrapped event. */
+    private static final class LegacyIngestion {
+        private final Deque<IMacroEvent> queue = new ArrayDeque<>();
+
+        synchronized void enqueue(SimpleEvent ev) {
+            MacroEvent wrap = new MacroEvent();
+            wrap.setId("single-" + ev.getClass().getSimpleName() + "-" + UUID.randomUUID());
+            wrap.addEvent(ev);
+            queue.addLast(wrap);
+        }
+
+        synchronized int size() { return queue.size(); }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        /* warm-up both paths so the JIT does not skew the first run */
+        drive(new MasterEventQueue()::enqueueEvent, 2_000);
+        LegacyIngestion warm = new LegacyIngestion();
+        drive(warm::enqueue, 2_000);
+
+        MasterEventQueue master = new MasterEventQueue();
+        long lockFreeNs = drive(master::enqueueEvent, PER_PRODUCER);
+
+        LegacyIngestion legacy = new LegacyIngestion();
+        long legacyNs = drive(legacy::enqueue, PER_PRODUCER);
+
+        int total = PRODUCERS * PER_PRODUCER;
+        List<IMacroEvent> macros = master.getMacroEvents();
+        Assertions.assertEquals(total, macros.size(), "every produced event must be ingested");
+        Assertions.assertEquals(total, legacy.size());
+
+        Set<String> ids = new HashSet<>(total * 2);
+        for (IMacroEvent m : macros) ids.add(m.getId());
+        Assertions.assertEquals(total, ids.size(), "synthetic macro ids must be unique");
+
+        log.info("enqueueEvent x{} from {} producers: lock-free={} ms, legacy={} ms",
+            total, PRODUCERS, lockFreeNs / 1_000_000, legacyNs / 1_000_000);
+    }
+
+    /** Runs {@link #PRODUCERS} threads, each enqueueing {@code perProducer} events; returns wall time. */
+    private long drive(Consumer<SimpleEvent> sink, int perProducer) throws InterruptedException {
+        ExecutorService exec = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            exec.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) sink.accept(new SimpleEvent());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        Assertions.assertTrue(done.await(30, TimeUnit.SECONDS), "producers did not finish in time");
+        long elapsed = System.nanoTime() - t0;
+        exec.shutdownNow();
+        return elapsed;
+    }
+}
@@ -0,0 +1,88 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.api.event.IEvent;
+import com.gwngames.core.api.event.IConditionResult;
+import com.gwngames.core.api.event.IMasterEventQueue;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.event.cond.AfterEventCondition;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Events waiting on an {@link AfterEventCondition} must be parked against their prerequisite:
+ * idle frames do not touch them, and executing the prerequisite releases all of them.
+ */
+public final class ReadySetSchedulingTest extends BaseTest {
+
+    private static final int WAITING = 50_000;
+    private static final int IDLE_FRAMES = 100;
+
+    /** Counts how often the scheduler re-evaluates the dependency. */
+    private static final class CountingAfterCondition extends AfterEventCondition {
+        static final AtomicLong evaluations = new AtomicLong();
+
+        @Override
+        public IConditionResult evaluate(IEvent e, IMasterEventQueue q) {
+            evaluations.incrementAndGet();
+            return super.evaluate(e, q);
+        }
+    }
+
+    private static final class LatchSubQueue extends ConcurrentSubQueue<SimpleEvent> {
+        private final CountDownLatch done;
+
+        LatchSubQueue(MasterEventQueue master, CountDownLatch done) {
+            this.master = master;
+            this.done = done;
+            this.maxParallel = 4;
+            init();
+        }
+
+        @Override protected void processEvent(SimpleEvent ev) { done.countDown(); }
+
+        @Override public Class<SimpleEvent> getType() { return SimpleEvent.class; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        MasterEventQueue master = new MasterEventQueue();
+        CountDownLatch done = new CountDownLatch(WAITING);
+        LatchSubQueue queue = new LatchSubQueue(master, done);
+        master.registerQueue(queue);
+
+        SimpleEvent prerequisite = new SimpleEvent(); // never enqueued, executed by hand below
+        for (int i = 0; i < WAITING; i++) {
+            SimpleEvent ev = new SimpleEvent();
+            CountingAfterCondition cond = new CountingAfterCondition();
+            cond.setPrerequisite(prerequisite);
+            ev.addCondition(cond);
+            master.enqueueEvent(ev);
+        }
+        master.process(0f); // ingest + park
+
+        Assertions.assertEquals(1, queue.parked.size(), "all waiters parked on one prerequisite");
+        Assertions.assertEquals(WAITING, queue.parked.get(prerequisite).size());
+
+        long before = CountingAfterCondition.evaluations.get();
+        long t0 = System.nanoTime();
+        for (int f = 0; f < IDLE_FRAMES; f++) master.process(0f);
+        long idleNs = System.nanoTime() - t0;
+
+        Assertions.assertEquals(before, CountingAfterCondition.evaluations.get(),
+            "idle frames must not re-evaluate parked events");
+        log.info("{} idle frames with {} parked events: {} us", IDLE_FRAMES, WAITING, idleNs / 1_000);
+
+        master.markExecuted(prerequisite);
+        Assertions.assertTrue(queue.parked.isEmpty(), "prerequisite releases its waiters");
+
+        assertTimeout(5_000, () -> {
+            while (done.getCount() > 0) {
+                master.process(0f);
+                Thread.sleep(5);
+            }
+        });
+        queue.shutdown();
+    }
+}
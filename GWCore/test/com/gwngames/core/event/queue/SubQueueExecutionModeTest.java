@@ -0,0 +1,86 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.data.event.ExecutionMode;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput benchmark of blocking handlers on the platform pool versus virtual threads,
+ * plus a check that the virtual-mode concurrency limit holds.
+ */
+public final class SubQueueExecutionModeTest extends BaseTest {
+
+    private static final int EVENTS = 400;
+    private static final long BLOCK_MS = 10;
+
+    /** Sub-queue whose handler blocks, as a comm/I-O handler would. */
+    private static final class BlockingSubQueue extends ConcurrentSubQueue<SimpleEvent> {
+        private final CountDownLatch done;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        BlockingSubQueue(ExecutionMode mode, int threads, int limit, CountDownLatch done) {
+            this.master = new MasterEventQueue();
+            this.executionMode = mode;
+            this.maxParallel = threads;
+            this.virtualLimit = limit;
+            this.done = done;
+            init();
+        }
+
+        @Override
+        protected void processEvent(SimpleEvent ev) {
+            int now = inFlight.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(BLOCK_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                done.countDown();
+            }
+        }
+
+        @Override public Class<SimpleEvent> getType() { return SimpleEvent.class; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        /* SYSTEM-like sizing: 4 platform threads vs. virtual threads capped at 100 */
+        Result platform = run(ExecutionMode.PLATFORM, 4, 0);
+        Result virtual = run(ExecutionMode.VIRTUAL, 0, 100);
+
+        log.info("{} blocking events ({} ms each): platform x4 = {} ms ({} ev/s), virtual<=100 = {} ms ({} ev/s)",
+            EVENTS, BLOCK_MS,
+            platform.millis, platform.throughput(),
+            virtual.millis, virtual.throughput());
+
+        Assertions.assertTrue(platform.peak <= 4, "platform pool exceeded its threads");
+        Assertions.assertTrue(virtual.peak <= 100, "virtual mode exceeded its limit: " + virtual.peak);
+        Assertions.assertTrue(virtual.millis < platform.millis,
+            "virtual threads should outrun a 4-thread pool on blocking handlers");
+    }
+
+    private record Result(long millis, int peak) {
+        long throughput() { return EVENTS * 1_000L / Math.max(1L, millis); }
+    }
+
+    private Result run(ExecutionMode mode, int threads, int limit) throws Exception {
+        CountDownLatch done = new CountDownLatch(EVENTS);
+        BlockingSubQueue q = new BlockingSubQueue(mode, threads, limit, done);
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) q.enqueue(new SimpleEvent());
+        q.processAllEligible();
+        Assertions.assertTrue(done.await(30, TimeUnit.SECONDS), mode + " run did not finish");
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+
+        q.shutdown();
+        return new Result(millis, q.peak.get());
+    }
+}
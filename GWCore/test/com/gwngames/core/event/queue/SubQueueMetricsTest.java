@@ -0,0 +1,120 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.api.event.IConditionResult;
+import com.gwngames.core.api.event.IEvent;
+import com.gwngames.core.api.event.IMasterEventQueue;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.event.cond.base.ConditionResult;
+import com.gwngames.core.event.cond.base.StrictCondition;
+import com.gwngames.core.util.LatencyHistogram;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SubQueueMetrics} counters after real traffic, histogram accuracy, and the
+ * per-event cost of the recording hooks (logged only).
+ */
+public final class SubQueueMetricsTest extends BaseTest {
+
+    private static final int EVENTS = 1_000;
+
+    private static final class LatchSubQueue extends ConcurrentSubQueue<SimpleEvent> {
+        private final CountDownLatch done;
+
+        LatchSubQueue(CountDownLatch done) {
+            this.master = new MasterEventQueue();
+            this.done = done;
+            this.maxParallel = 2;
+            init();
+        }
+
+        @Override protected void processEvent(SimpleEvent ev) { done.countDown(); }
+
+        @Override public Class<SimpleEvent> getType() { return SimpleEvent.class; }
+    }
+
+    private static final class NeverCondition extends StrictCondition {
+        @Override
+        public IConditionResult evaluate(IEvent e, IMasterEventQueue q) { return ConditionResult.WAIT; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        histogramAccuracy();
+        queueCounters();
+        recordingCost();
+    }
+
+    private void histogramAccuracy() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 10_000; v++) h.record(v);
+
+        Assertions.assertEquals(10_000, h.count());
+        Assertions.assertEquals(10_000, h.max());
+        assertWithin(5_000, h.percentile(50));
+        assertWithin(9_900, h.percentile(99));
+        Assertions.assertEquals(0, new LatencyHistogram().percentile(99), "empty histogram");
+    }
+
+    private void queueCounters() throws Exception {
+        CountDownLatch done = new CountDownLatch(EVENTS);
+        LatchSubQueue q = new LatchSubQueue(done);
+
+        SimpleEvent stuck = new SimpleEvent();
+        stuck.addCondition(new NeverCondition());
+        q.enqueue(stuck);
+        for (int i = 0; i < EVENTS; i++) q.enqueue(new SimpleEvent());
+
+        q.processAllEligible();
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS), "events did not run");
+        assertTimeout(2_000, () -> {
+            while (q.getMetrics().getExecutionTime().count() < EVENTS) Thread.sleep(5);
+        });
+
+        SubQueueMetrics.Snapshot s = q.getMetrics().snapshot();
+        log.info("metrics snapshot: {}", s);
+        Assertions.assertEquals(EVENTS + 1, s.enqueued());
+        Assertions.assertEquals(EVENTS, s.completed());
+        Assertions.assertEquals(1, s.depth(), "only the stuck event is still queued");
+        Assertions.assertEquals(2, s.conditionRejections(), "rejected on enqueue and on the frame");
+        Assertions.assertTrue(s.enqueueRatePerSecond() > 0);
+        Assertions.assertTrue(s.queuedMax() > 0 && s.executionMax() >= s.executionP50());
+        q.shutdown();
+    }
+
+    /** End-to-end cost of the hooks: the same traffic with metrics on and off. */
+    private void recordingCost() throws Exception {
+        int events = 50_000;
+        runBatch(events, true); // warm-up
+        runBatch(events, false);
+
+        long on = Long.MAX_VALUE, off = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            on = Math.min(on, runBatch(events, true));
+            off = Math.min(off, runBatch(events, false));
+        }
+        log.info("{} events: metrics on={} us, off={} us, overhead={}%", events, on / 1_000, off / 1_000,
+            String.format("%.1f", (on - off) * 100.0 / off));
+    }
+
+    private long runBatch(int events, boolean enabled) throws Exception {
+        CountDownLatch done = new CountDownLatch(events);
+        LatchSubQueue q = new LatchSubQueue(done);
+        q.getMetrics().setEnabled(enabled);
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < events; i++) q.enqueue(new SimpleEvent());
+        q.processAllEligible();
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - t0;
+        q.shutdown();
+        return elapsed;
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assertions.assertTrue(Math.abs(actual - expected) <= expected / 8,
+            "expected ~" + expected + " (±12.5%) but was " + actual);
+    }
+}
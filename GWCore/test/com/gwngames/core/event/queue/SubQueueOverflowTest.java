@@ -0,0 +1,260 @@
+package com.gwngames.core.event.queue;
+
+import com.gwngames.core.api.event.IEvent;
+import com.gwngames.core.api.event.system.ISystemEvent;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.data.event.EventStatus;
+import com.gwngames.core.data.event.OverflowPolicy;
+import com.gwngames.core.event.base.AbstractEvent;
+import com.gwngames.core.event.base.MacroEvent;
+import com.gwngames.core.event.cond.AfterEventCondition;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capacity and overflow policies of {@link ConcurrentSubQueue}: each policy is
+ * exercised on a queue of capacity 2 that is never drained unless stated.
+ */
+public final class SubQueueOverflowTest extends BaseTest {
+
+    private static final class KeyedEvent extends AbstractEvent implements ISystemEvent {
+        private final String key;
+        KeyedEvent(String key) { this.key = key; }
+        @Override public Object getCoalesceKey() { return key; }
+    }
+
+    private static class BoundedSubQueue extends ConcurrentSubQueue<IEvent> {
+        BoundedSubQueue(int capacity, OverflowPolicy policy) {
+            this(capacity, policy, new MasterEventQueue());
+        }
+
+        BoundedSubQueue(int capacity, OverflowPolicy policy, MasterEventQueue master) {
+            this.master = master;
+            this.maxParallel = 1;
+            this.capacity = capacity;
+            this.overflowPolicy = policy;
+            master.registerQueue(this);
+            init();
+        }
+
+        @Override protected void processEvent(IEvent ev) { }
+
+        @Override public Class<IEvent> getType() { return IEvent.class; }
+    }
+
+    @Override
+    protected void runTest() throws Exception {
+        dropNewest();
+        dropOldest();
+        coalesce();
+        block();
+        dropsSettleMacros();
+        blockOnOwnWorker();
+        macroLargerThanCapacity();
+        refiredEventsGiveSlotsBack();
+    }
+
+    private void dropNewest() {
+        BoundedSubQueue q = new BoundedSubQueue(2, OverflowPolicy.DROP_NEWEST);
+        KeyedEvent[] evs = enqueue(q, "a", "b", "c", "d");
+
+        Assertions.assertEquals(2, q.getRejectedCount());
+        Assertions.assertSame(EventStatus.WAITING, evs[1].getStatus());
+        Assertions.assertSame(EventStatus.DISCARDED, evs[2].getStatus());
+        Assertions.assertSame(EventStatus.DISCARDED, evs[3].getStatus());
+    }
+
+    private void dropOldest() {
+        BoundedSubQueue q = new BoundedSubQueue(2, OverflowPolicy.DROP_OLDEST);
+        KeyedEvent[] evs = enqueue(q, "a", "b", "c", "d");
+
+        Assertions.assertEquals(2, q.getRejectedCount());
+        Assertions.assertSame(EventStatus.DISCARDED, evs[0].getStatus());
+        Assertions.assertSame(EventStatus.DISCARDED, evs[1].getStatus());
+        Assertions.assertSame(EventStatus.WAITING, evs[3].getStatus());
+    }
+
+    private void coalesce() {
+        BoundedSubQueue q = new BoundedSubQueue(2, OverflowPolicy.COALESCE);
+        KeyedEvent[] evs = enqueue(q, "move", "click", "move", "scroll");
+
+        Assertions.assertEquals(1, q.getCoalescedCount(), "second 'move' supersedes the first");
+        Assertions.assertEquals(1, q.getRejectedCount(), "'scroll' has nothing to coalesce with");
+        Assertions.assertSame(EventStatus.DISCARDED, evs[0].getStatus());
+        Assertions.assertSame(EventStatus.WAITING, evs[2].getStatus());
+        Assertions.assertSame(EventStatus.DISCARDED, evs[3].getStatus());
+    }
+
+    private void block() throws Exception {
+        BoundedSubQueue q = new BoundedSubQueue(1, OverflowPolicy.BLOCK);
+        q.processAllEligible(); // this thread becomes the drainer
+        KeyedEvent first = enqueue(q, "first")[0];
+
+        KeyedEvent second = new KeyedEvent("second");
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            q.enqueue(second);
+            admitted.countDown();
+        }, "overflow-producer");
+        producer.start();
+
+        Assertions.assertFalse(admitted.await(100, TimeUnit.MILLISECONDS), "producer must wait for a slot");
+
+        /* draining runs 'first', which frees the slot for the producer */
+        assertTimeout(2_000, () -> {
+            while (second.getStatus() != EventStatus.COMPLETED) {
+                q.processAllEligible();
+                Thread.sleep(5);
+            }
+        });
+        Assertions.assertSame(EventStatus.COMPLETED, first.getStatus());
+        Assertions.assertEquals(0, q.getRejectedCount());
+        producer.join(1_000);
+        q.shutdown();
+    }
+
+    /** A dropped event still counts for its macro, is never reported as executed, and takes its dependants with it. */
+    private void dropsSettleMacros() throws Exception {
+        MasterEventQueue master = new MasterEventQueue();
+        BoundedSubQueue q = new BoundedSubQueue(2, OverflowPolicy.DROP_OLDEST, master);
+        MacroEvent macro = new MacroEvent();
+        macro.setId("macro-with-drops");
+        KeyedEvent oldest = new KeyedEvent("oldest");
+        KeyedEvent after = new KeyedEvent("after");
+        KeyedEvent newest = new KeyedEvent("newest");
+        macro.addEvent(oldest);
+        macro.addEvent(after);
+        macro.addEvent(newest);
+        AfterEventCondition cond = new AfterEventCondition();
+        cond.setPrerequisite(oldest);
+        after.addCondition(cond);
+
+        q.enqueue(oldest);
+        q.enqueue(after);  // parked on 'oldest'
+        q.enqueue(newest); // full: 'oldest' is dropped
+        Assertions.assertSame(EventStatus.DISCARDED, oldest.getStatus());
+        Assertions.assertFalse(master.hasExecuted(oldest));
+        Assertions.assertSame(EventStatus.DISCARDED, after.getStatus(), "'after' can never run");
+
+        assertTimeout(2_000, () -> {
+            while (!master.isMacroEventCompleted(macro)) {
+                q.processAllEligible();
+                Thread.sleep(5);
+            }
+        });
+        Assertions.assertSame(EventStatus.DISCARDED, after.getStatus());
+        Assertions.assertFalse(master.hasExecuted(after));
+        Assertions.assertSame(EventStatus.COMPLETED, newest.getStatus());
+        Assertions.assertEquals(0, q.getMetrics().getDepth());
+        /* the dependant gave its slot back: two fresh events fit */
+        KeyedEvent[] fresh = enqueue(q, "x", "y");
+        Assertions.assertSame(EventStatus.WAITING, fresh[0].getStatus());
+        Assertions.assertSame(EventStatus.WAITING, fresh[1].getStatus());
+
+        /* rejected newcomers count too */
+        BoundedSubQueue full = new BoundedSubQueue(1, OverflowPolicy.DROP_NEWEST);
+        MacroEvent rejected = new MacroEvent();
+        rejected.setId("macro-rejected");
+        KeyedEvent kept = new KeyedEvent("kept");
+        KeyedEvent refused = new KeyedEvent("refused");
+        rejected.addEvent(kept);
+        rejected.addEvent(refused);
+        full.enqueue(kept);
+        full.enqueue(refused);
+        Assertions.assertSame(EventStatus.DISCARDED, refused.getStatus());
+        Assertions.assertFalse(master.isMacroEventCompleted(rejected));
+        assertTimeout(2_000, () -> {
+            while (!master.isMacroEventCompleted(rejected)) {
+                full.processAllEligible();
+                Thread.sleep(5);
+            }
+        });
+        q.shutdown();
+        full.shutdown();
+    }
+
+    /** A handler enqueueing into its own full BLOCK queue is rejected instead of deadlocking. */
+    private void blockOnOwnWorker() throws Exception {
+        KeyedEvent inner = new KeyedEvent("inner");
+        BoundedSubQueue q = new BoundedSubQueue(1, OverflowPolicy.BLOCK) {
+            @Override protected void processEvent(IEvent ev) {
+                if (ev != inner) enqueue(inner); // our own slot is still held
+            }
+        };
+        KeyedEvent outer = enqueue(q, "outer")[0];
+
+        /* bounded loop: a deadlocked worker must fail the test, not hang it */
+        for (int i = 0; i < 400 && outer.getStatus() != EventStatus.COMPLETED; i++) {
+            q.processAllEligible();
+            Thread.sleep(5);
+        }
+        Assertions.assertSame(EventStatus.COMPLETED, outer.getStatus(), "handler blocked on its own queue");
+        Assertions.assertSame(EventStatus.DISCARDED, inner.getStatus());
+        Assertions.assertEquals(1, q.getRejectedCount());
+        q.shutdown();
+    }
+
+    /** Under BLOCK, a macro with more events than slots is admitted without waiting on itself. */
+    private void macroLargerThanCapacity() throws Exception {
+        MasterEventQueue master = new MasterEventQueue();
+        BoundedSubQueue q = new BoundedSubQueue(2, OverflowPolicy.BLOCK, master);
+        q.processAllEligible(); // this thread becomes the drainer
+        MacroEvent macro = new MacroEvent();
+        macro.setId("macro-too-big");
+        KeyedEvent[] evs = {new KeyedEvent("a"), new KeyedEvent("b"), new KeyedEvent("c")};
+        for (KeyedEvent e : evs) macro.addEvent(e);
+
+        Thread producer = new Thread(() -> master.enqueueMacroEvent(macro), "macro-producer");
+        producer.start();
+        producer.join(2_000);
+        Assertions.assertFalse(producer.isAlive(), "producer waits on slots held by its own macro");
+        Assertions.assertEquals(1, q.getRejectedCount());
+        Assertions.assertSame(EventStatus.DISCARDED, evs[2].getStatus());
+
+        for (int i = 0; i < 400 && !master.isMacroEventCompleted(macro); i++) {
+            master.process(0f);
+            Thread.sleep(5);
+        }
+        Assertions.assertTrue(master.isMacroEventCompleted(macro));
+        Assertions.assertSame(EventStatus.COMPLETED, evs[0].getStatus());
+        Assertions.assertSame(EventStatus.COMPLETED, evs[1].getStatus());
+        q.shutdown();
+    }
+
+    /** Triggers enqueue the same instance on every firing: each firing runs, and no slot is kept. */
+    private void refiredEventsGiveSlotsBack() throws Exception {
+        MasterEventQueue master = new MasterEventQueue();
+        BoundedSubQueue q = new BoundedSubQueue(1, OverflowPolicy.DROP_NEWEST, master);
+        KeyedEvent payload = new KeyedEvent("tick");
+        for (int fire = 0; fire < 20; fire++) {
+            master.enqueueEvent(payload);
+            for (int i = 0; i < 400 && payload.getStatus() != EventStatus.COMPLETED; i++) {
+                master.process(0f);
+                Thread.sleep(1);
+            }
+            Assertions.assertSame(EventStatus.COMPLETED, payload.getStatus(), "firing " + fire + " never ran");
+            Assertions.assertTrue(master.hasExecuted(payload));
+            Assertions.assertTrue(master.isMacroEventCompleted(payload.getMacroEvent()));
+        }
+        Assertions.assertEquals(0, q.getRejectedCount());
+        Assertions.assertEquals(0, q.getMetrics().getDepth());
+
+        /* an instance that already ran, enqueued straight into the queue, is skipped but frees its slot */
+        q.enqueue(payload);
+        q.processAllEligible();
+        KeyedEvent next = enqueue(q, "next")[0];
+        Assertions.assertSame(EventStatus.WAITING, next.getStatus());
+        q.shutdown();
+    }
+
+    private static KeyedEvent[] enqueue(BoundedSubQueue q, String... keys) {
+        KeyedEvent[] evs = new KeyedEvent[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            evs[i] = new KeyedEvent(keys[i]);
+            q.enqueue(evs[i]);
+        }
+        return evs;
+    }
+}
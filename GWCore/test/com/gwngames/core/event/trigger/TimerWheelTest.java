@@ -0,0 +1,87 @@
+package com.gwngames.core.event.trigger;
+
+import com.gwngames.core.base.BaseTest;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TimerWheel} driven by a simulated 60 fps clock: timers fire neither early nor
+ * more than a frame late, and a large idle population costs nothing per frame.
+ */
+public class TimerWheelTest extends BaseTest {
+
+    private static final long FRAME_NS = TimeUnit.MILLISECONDS.toNanos(16);
+    private static final long TICK_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private record Timer(int id, long deadline) {}
+
+    @Override
+    protected void runTest() {
+        accuracy();
+        cancel();
+        idleCost();
+    }
+
+    private void accuracy() {
+        long origin = 1_000_000_000L;
+        TimerWheel<Timer> wheel = new TimerWheel<>(1, TimeUnit.MILLISECONDS, origin);
+        Random rnd = new Random(42);
+
+        int count = 10_000;
+        long horizon = TimeUnit.MINUTES.toNanos(10);
+        for (int i = 0; i < count; i++) {
+            long deadline = origin + (long) (rnd.nextDouble() * horizon);
+            wheel.schedule(new Timer(i, deadline), deadline);
+        }
+
+        List<String> violations = new ArrayList<>();
+        int[] fired = {0};
+        for (long now = origin; now <= origin + horizon + FRAME_NS; now += FRAME_NS) {
+            long frameNow = now;
+            wheel.advance(frameNow, t -> {
+                fired[0]++;
+                long late = frameNow - t.deadline();
+                if (late < 0 || late >= FRAME_NS + TICK_NS) violations.add(t.id() + ": late=" + late);
+            });
+        }
+
+        Assertions.assertEquals(count, fired[0], "every timer fires exactly once");
+        Assertions.assertTrue(violations.isEmpty(), "early/late timers: " + violations.stream().limit(5).toList());
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    private void cancel() {
+        TimerWheel<String> wheel = new TimerWheel<>(1, TimeUnit.MILLISECONDS, 0L);
+        TimerWheel.Timeout<String> keep = wheel.schedule("keep", TimeUnit.SECONDS.toNanos(5));
+        TimerWheel.Timeout<String> drop = wheel.schedule("drop", TimeUnit.SECONDS.toNanos(5));
+        Assertions.assertTrue(wheel.cancel(drop));
+        Assertions.assertFalse(wheel.cancel(drop), "double cancel is a no-op");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(TimeUnit.SECONDS.toNanos(6), fired::add);
+        Assertions.assertEquals(List.of("keep"), fired);
+        Assertions.assertFalse(keep.isPending());
+    }
+
+    private void idleCost() {
+        long origin = 0L;
+        TimerWheel<Integer> wheel = new TimerWheel<>(1, TimeUnit.MILLISECONDS, origin);
+        int pending = 100_000;
+        for (int i = 0; i < pending; i++)
+            wheel.schedule(i, origin + TimeUnit.HOURS.toNanos(1) + i);
+
+        int frames = 3_600; // one simulated minute
+        int[] fired = {0};
+        long t0 = System.nanoTime();
+        for (int f = 1; f <= frames; f++) wheel.advance(origin + f * FRAME_NS, i -> fired[0]++);
+        long perFrame = (System.nanoTime() - t0) / frames;
+
+        log.info("{} pending timers, {} frames: ~{} ns per frame", pending, frames, perFrame);
+        Assertions.assertEquals(0, fired[0]);
+        Assertions.assertEquals(pending, wheel.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.gwngames.core.i18n;
+
+import com.gwngames.core.api.base.ITranslationService;
+import com.gwngames.core.api.ex.BaseException;
+import com.gwngames.core.api.ex.InconsistentStateException;
+import com.gwngames.core.api.ex.StartupException;
+import com.gwngames.core.base.BaseTest;
+import com.gwngames.core.base.cfg.i18n.CoreTranslation;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Framework exceptions resolve their translation when the message is read, not when thrown:
+ * throw-and-catch never touches the translation service, and the message is unchanged.
+ */
+public class BaseExceptionTest extends BaseTest {
+
+    @Override
+    protected void runTest() throws Exception {
+        setupApplication();
+
+        /* message: parameters filled in, translated or default caption */
+        InconsistentStateException ex = new InconsistentStateException("queue drained twice");
+        Assertions.assertTrue(ex.getMessage().contains("queue drained twice"), ex.getMessage());
+        Assertions.assertTrue(ex.toString().contains("queue drained twice"));
+
+        StartupException startup = new StartupException("DiskCheck", CoreTranslation.PROJECTS_NOT_FOUND);
+        Assertions.assertTrue(startup.getMessage().contains("DiskCheck"), startup.getMessage());
+        Assertions.assertFalse(startup.getMessage().contains("$2"), startup.getMessage());
+
+        /* throw + catch never looks up the translator; reading the message does, once per read */
+        CountingException.lookups.set(0);
+        int caught = 0;
+        for (int i = 0; i < 10_000; i++) {
+            try {
+                throw new CountingException("state " + i);
+            } catch (BaseException e) {
+                caught++;
+            }
+        }
+        Assertions.assertEquals(10_000, caught);
+        Assertions.assertEquals(0, CountingException.lookups.get(), "construction must not resolve the translator");
+        String message = new CountingException("read").getMessage();
+        Assertions.assertTrue(message.contains("read"), message);
+        Assertions.assertEquals(1, CountingException.lookups.get());
+
+        /* no translator (loader still starting): default caption, parameters still filled in */
+        CountingException.available = false;
+        try {
+            Assertions.assertTrue(new CountingException("early").getMessage().contains("early"));
+        } finally {
+            CountingException.available = true;
+        }
+    }
+
+    /** Counts translator lookups; can pretend the service is not available yet. */
+    private static final class CountingException extends InconsistentStateException {
+        static final AtomicInteger lookups = new AtomicInteger();
+        static volatile boolean available = true;
+
+        CountingException(String detail) { super(detail); }
+
+        @Override
+        protected ITranslationService translator() {
+            lookups.incrementAndGet();
+            return available ? super.translator() : null;
+        }
+    }
+}
@@ -21,6 +21,10 @@ public class InputSubQueue extends ConcurrentSubQueue<IInputEvent> {
     @Override
     protected void init(){
         this.maxParallel = config.get(EventParameters.INPUT_EVENT_MAX_THREAD);
+        this.capacity = config.get(EventParameters.INPUT_EVENT_CAPACITY);
+        this.overflowPolicy = config.get(EventParameters.INPUT_EVENT_OVERFLOW);
+        this.executionMode = config.get(EventParameters.INPUT_EVENT_EXECUTION);
+        this.virtualLimit = config.get(EventParameters.INPUT_EVENT_VIRTUAL_LIMIT);
         super.init();
     }
     @Override
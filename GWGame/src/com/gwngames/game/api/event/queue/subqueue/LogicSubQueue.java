@@ -15,6 +15,10 @@ public class LogicSubQueue extends ConcurrentSubQueue<ILogicEvent> {
     @Override
     protected void init(){
         this.maxParallel = config.get(EventParameters.LOGIC_EVENT_MAX_THREAD);
+        this.capacity = config.get(EventParameters.LOGIC_EVENT_CAPACITY);
+        this.overflowPolicy = config.get(EventParameters.LOGIC_EVENT_OVERFLOW);
+        this.executionMode = config.get(EventParameters.LOGIC_EVENT_EXECUTION);
+        this.virtualLimit = config.get(EventParameters.LOGIC_EVENT_VIRTUAL_LIMIT);
         super.init();
     }
     @Override
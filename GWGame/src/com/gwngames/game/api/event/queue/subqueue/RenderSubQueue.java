@@ -15,6 +15,10 @@ public class RenderSubQueue extends ConcurrentSubQueue<IRenderEvent> {
     @Override
     protected void init(){
         this.maxParallel = config.get(EventParameters.RENDER_EVENT_MAX_THREAD);
+        this.capacity = config.get(EventParameters.RENDER_EVENT_CAPACITY);
+        this.overflowPolicy = config.get(EventParameters.RENDER_EVENT_OVERFLOW);
+        this.executionMode = config.get(EventParameters.RENDER_EVENT_EXECUTION);
+        this.virtualLimit = config.get(EventParameters.RENDER_EVENT_VIRTUAL_LIMIT);
         super.init();
     }
     @Override
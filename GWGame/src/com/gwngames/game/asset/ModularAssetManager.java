@@ -38,7 +38,7 @@ public final class ModularAssetManager extends BaseComponent implements IAssetMa
     private static volatile long TTL_MS = Long.getLong("gw.asset.ttl", 5 * 60_000);
     public static void setTtl(long millis) { TTL_MS = millis; }
 
-    private static final FileLogger LOG = FileLogger.get(LogFiles.ASSET);
+    private static final FileLogger LOG = FileLogger.get(LogFiles.ASSET, ModularAssetManager.class);
 
     @Inject
     private IAssetSubTypeRegistry reg;
@@ -2,23 +2,37 @@ package com.gwngames.game.base.cfg;
 
 import com.badlogic.gdx.ApplicationLogger;
 import com.gwngames.core.api.base.cfg.IApplicationLogger;
+import com.gwngames.core.base.log.AsyncLogWriter;
 import com.gwngames.core.data.LogFiles;
 import com.gwngames.core.util.StringUtils;
 
-import java.io.IOException;
 import java.io.PrintWriter;
-import java.nio.file.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.stream.Stream;
-
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Log lines are formatted on the calling thread and handed to the shared {@link AsyncLogWriter},
+ * which writes, echoes to {@code System.out} and rotates files in the background.
+ */
 public class FileApplicationLogger implements ApplicationLogger, IApplicationLogger {
     // TODO: flag to store logs internally instead, to send for diagnostic
     // we do not want to disable logs in production, just to hide them
-    // TODO: if internally, then must be compressed after reaching a certain threshold
-    // then, to add log threshold consts to config...
-    private static final int MAX_LINES = 10_000;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    // rotated files are gzipped and pruned by AsyncLogWriter (-Dgw.log.compress/retainMb/retainDays)
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    /** Frames are walked lazily, only up to the first one outside the logging code. */
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final String LOG_PACKAGE = "com.gwngames.core.base.log.";
+
+    private final AsyncLogWriter writer;
+
+    public FileApplicationLogger() {
+        this(AsyncLogWriter.shared());
+    }
+
+    public FileApplicationLogger(AsyncLogWriter writer) {
+        this.writer = writer;
+    }
 
     /* ------------------------------------------------------------ */
     /*  Core helpers                                                */
@@ -31,69 +45,46 @@ public class FileApplicationLogger implements ApplicationLogger, IApplicationLog
 
         if (baseFilePath == null) baseFilePath = LogFiles.DEFAULT;
 
-        try {
-            Path resolvedPath = resolveAndRotate(baseFilePath);
-            // Ensure parent dirs exist
-            Files.createDirectories(resolvedPath.getParent());
-
-            try (PrintWriter writer = new PrintWriter(
-                Files.newBufferedWriter(resolvedPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
-
-                // Substitute `{}` placeholders
-                String formattedMessage = StringUtils.formatBraces(message, args);
-
-                // Caller & context info
-                String timestamp  = dateFormat.format(new Date());
-                long   threadId   = Thread.currentThread().threadId();
-                StackTraceElement caller = Thread.currentThread().getStackTrace()[5];
-                String className  = caller.getClassName().substring(caller.getClassName().lastIndexOf('.') + 1);
-                String methodName = caller.getMethodName();
+        // Substitute `{}` placeholders
+        String formattedMessage = StringUtils.formatBraces(message, args);
 
-                String logLine = String.format("[%s - %d - %s:%s] [%s] %s",
-                    timestamp, threadId, className, methodName, level, formattedMessage);
+        // Caller & context info
+        String timestamp  = DATE_FORMAT.format(LocalDateTime.now());
+        long   threadId   = Thread.currentThread().threadId();
+        StackWalker.StackFrame caller = callerFrame();
+        String className  = caller == null ? "?" : caller.getClassName().substring(caller.getClassName().lastIndexOf('.') + 1);
+        String methodName = caller == null ? "?" : caller.getMethodName();
 
-                writer.println(logLine);
-                System.out.println(logLine);
+        StringBuilder line = new StringBuilder(64 + formattedMessage.length())
+            .append('[').append(timestamp).append(" - ").append(threadId).append(" - ")
+            .append(className).append(':').append(methodName).append("] [")
+            .append(level).append("] ").append(formattedMessage);
 
-                if (exception != null) {
-                    write(exception, writer, level);
-                }
-            }
-        } catch (IOException ioe) {
-            System.err.println("Failed to write log: " + ioe.getMessage());
+        if (exception != null) {
+            write(exception, line, level);
         }
+        writer.append(baseFilePath, line.toString());
+    }
+
+    /** The first frame that is neither this logger nor {@code FileLogger} and friends. */
+    private static StackWalker.StackFrame callerFrame() {
+        return WALKER.walk(frames -> frames
+            .filter(f -> !f.getClassName().equals(FileApplicationLogger.class.getName())
+                && !f.getClassName().startsWith(LOG_PACKAGE))
+            .findFirst()
+            .orElse(null));
     }
 
     /** Helper to log exceptions only on error */
-    private void write(Throwable exception, PrintWriter writer, String level) {
+    private void write(Throwable exception, StringBuilder line, String level) {
         if (exception == null) return;
         // Only dump stacks for ERRORs (tweak if you also want WARN)
-        if ("ERROR".equals(level)) exception.printStackTrace(writer);
-    }
-
-    /** Resolve relative path, rotate if MAX_LINES reached, return *current* log file path. */
-    private Path resolveAndRotate(String baseFilePath) throws IOException {
-        Path basePath = Paths.get(baseFilePath).normalize()
-            .toAbsolutePath();                        // handles “../”
-
-        if (!Files.exists(basePath)) return basePath;
-
-        try(Stream<String> f = Files.lines(basePath)){
-            long lineCount = f.count();
-            if (lineCount < MAX_LINES) return basePath;
-        }
-
-        // Rotate: append .1, .2, … until a free slot is found
-        int idx = 1;
-        while (true) {
-            Path rotated = basePath.resolveSibling(basePath.getFileName() + "." + idx);
-            if (!Files.exists(rotated)) {
-                Files.move(basePath, rotated);
-                break;
-            }
-            idx++;
-        }
-        return basePath;  // start fresh
+        if (!"ERROR".equals(level)) return;
+        StringWriter trace = new StringWriter(1024);
+        exception.printStackTrace(new PrintWriter(trace));
+        int end = trace.getBuffer().length();
+        while (end > 0 && Character.isWhitespace(trace.getBuffer().charAt(end - 1))) end--;
+        line.append(System.lineSeparator()).append(trace.getBuffer(), 0, end);
     }
 
     /* ------------------------------------------------------------ */
@@ -3,6 +3,8 @@ package com.gwngames.game.base.cfg;
 import com.gwngames.core.api.build.Init;
 import com.gwngames.core.base.cfg.CoreConfiguration;
 import com.gwngames.core.data.event.EventParameters;
+import com.gwngames.core.data.event.ExecutionMode;
+import com.gwngames.core.data.event.OverflowPolicy;
 import com.gwngames.game.GameModule;
 import com.gwngames.game.data.input.InputParameters;
 
@@ -20,5 +22,21 @@ public class GameConfiguration extends CoreConfiguration {
         setDefault(EventParameters.LOGIC_EVENT_MAX_THREAD, 8);
         setDefault(EventParameters.INPUT_EVENT_MAX_THREAD, 4);
         setDefault(EventParameters.RENDER_EVENT_MAX_THREAD, 16);
+
+        setDefault(EventParameters.LOGIC_EVENT_CAPACITY, 0);
+        setDefault(EventParameters.LOGIC_EVENT_OVERFLOW, OverflowPolicy.DROP_NEWEST);
+        // player input is never lost by default; with a capacity set, axis moves and touch drags
+        // coalesce per control and other input is rejected when full
+        setDefault(EventParameters.INPUT_EVENT_CAPACITY, 0);
+        setDefault(EventParameters.INPUT_EVENT_OVERFLOW, OverflowPolicy.COALESCE);
+        setDefault(EventParameters.RENDER_EVENT_CAPACITY, 2_048);
+        setDefault(EventParameters.RENDER_EVENT_OVERFLOW, OverflowPolicy.DROP_OLDEST);
+
+        setDefault(EventParameters.LOGIC_EVENT_EXECUTION, ExecutionMode.PLATFORM);
+        setDefault(EventParameters.LOGIC_EVENT_VIRTUAL_LIMIT, 256);
+        setDefault(EventParameters.INPUT_EVENT_EXECUTION, ExecutionMode.PLATFORM);
+        setDefault(EventParameters.INPUT_EVENT_VIRTUAL_LIMIT, 256);
+        setDefault(EventParameters.RENDER_EVENT_EXECUTION, ExecutionMode.PLATFORM);
+        setDefault(EventParameters.RENDER_EVENT_VIRTUAL_LIMIT, 256);
     }
 }
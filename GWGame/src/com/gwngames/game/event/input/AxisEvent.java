@@ -32,6 +32,10 @@ public class AxisEvent extends InputEvent implements IAxisEvent {
     @Override
     public float            getNormalizedValue(){ return normalizedValue; }
 
+    /** Only the latest position of an axis matters: pending moves of the same axis coalesce. */
+    @Override
+    public Object getCoalesceKey() { return continuousKey(); }
+
     @Override
     public String toString() {
         return "AXIS[%d] %s raw=%.3f norm=%.3f".formatted(
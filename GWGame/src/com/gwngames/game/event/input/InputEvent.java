@@ -2,6 +2,7 @@ package com.gwngames.game.event.input;
 
 import com.gwngames.game.api.event.input.IInputEvent;
 import com.gwngames.game.api.input.IInputAdapter;
+import com.gwngames.game.api.input.IInputIdentifier;
 import com.gwngames.game.api.input.action.IInputAction;
 import com.gwngames.game.data.input.InputType;
 import com.gwngames.core.event.base.AbstractEvent;
@@ -45,4 +46,15 @@ public abstract class InputEvent extends AbstractEvent implements IInputEvent {
     public void setType(InputType type) {
         this.type = type;
     }
+
+    /**
+     * Coalesce key for continuous signals (axis motion, drags): a newer reading from the same
+     * adapter, slot and control supersedes a pending one when the input queue is full.
+     */
+    protected Object continuousKey() {
+        return new CoalesceKey(type, adapter, slot, getControl());
+    }
+
+    /** Identity-based on adapter and control, which are one component instance per device/control. */
+    private record CoalesceKey(InputType type, IInputAdapter adapter, int slot, IInputIdentifier control) { }
 }
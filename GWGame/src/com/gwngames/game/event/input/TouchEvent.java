@@ -5,6 +5,7 @@ import com.gwngames.core.api.build.Init;
 import com.gwngames.game.GameModule;
 import com.gwngames.game.api.event.input.ITouchEvent;
 import com.gwngames.game.api.input.IInputIdentifier;
+import com.gwngames.game.data.input.InputType;
 
 /**
  * A rich event representing any touchscreen pointer activity
@@ -50,6 +51,12 @@ public class TouchEvent extends InputEvent implements ITouchEvent {
 
     /* ---------------- convenience ---------------- */
 
+    /** Drags of the same pointer coalesce; downs and ups are never superseded. */
+    @Override
+    public Object getCoalesceKey() {
+        return getType() == InputType.TOUCH_DRAG ? continuousKey() : null;
+    }
+
     @Override
     public String toString() {
         return "%s %s @(%d,%d) p=%.2f".formatted(
@@ -22,7 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public abstract class BaseInputAction extends BaseComponent implements IInputAction {
 
-    private static final FileLogger log = FileLogger.get(LogFiles.INPUT);
+    private static final FileLogger log = FileLogger.get(LogFiles.INPUT, BaseInputAction.class);
 
     /* ───────────────────────── per-slot record ───────────────────────── */
 
@@ -25,7 +25,7 @@ import java.util.function.Supplier;
 @Init(module = GameModule.GAME)
 public class InputActionManager extends BaseComponent implements IInputActionManager {
 
-    private static final FileLogger log = FileLogger.get(LogFiles.INPUT);
+    private static final FileLogger log = FileLogger.get(LogFiles.INPUT, InputActionManager.class);
     private static final InputActionManager INSTANCE = new InputActionManager();
     public  static InputActionManager get() { return INSTANCE; }
 
@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
  */
 @Init(module = GameModule.GAME)
 public final class FastComboManager extends BaseComponent implements IInputComboManager {
-    private static final FileLogger log = FileLogger.get(LogFiles.INPUT);
+    private static final FileLogger log = FileLogger.get(LogFiles.INPUT, FastComboManager.class);
 
     @Inject IConfig cfg;
 
@@ -15,7 +15,7 @@ import java.util.*;
 @Init(module = GameModule.GAME)
 public class FastInputChainManager extends BaseComponent implements IInputChainManager {
 
-    private static final FileLogger log = FileLogger.get(LogFiles.INPUT);
+    private static final FileLogger log = FileLogger.get(LogFiles.INPUT, FastInputChainManager.class);
 
     private static final long SEED = 11_400_714_819_323_198L;
     private static final long BASE = 1469598103934665603L;
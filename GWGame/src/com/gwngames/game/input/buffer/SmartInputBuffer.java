@@ -18,7 +18,7 @@ import java.util.*;
 public class SmartInputBuffer extends BaseComponent implements IInputBuffer {
 
     /* ── logging ─────────────────────────────────────────────────── */
-    private static final FileLogger log = FileLogger.get(LogFiles.INPUT);
+    private static final FileLogger log = FileLogger.get(LogFiles.INPUT, SmartInputBuffer.class);
 
     /* ── internal DTO (combo + frame stamp) ───────────────────────── */
     private record Timed(IInputCombo combo, long frame) { }
@@ -0,0 +1,75 @@
+package com.gwngames.starter.launcher;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.gwngames.core.base.log.FileLogger;
+import com.gwngames.core.data.LogFiles;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Wraps the game listener and reports the time from JVM start to the end of the first
+ * rendered frame.
+ * <p>
+ * The figure is logged and printed to stdout as {@code GW_FIRST_FRAME_MS=<millis>}, which is
+ * what the {@code measureStartup} Gradle task reads. With
+ * {@code -Dgw.startup.exitAfterFirstFrame=true} the application exits right after that frame;
+ * {@code createCdsArchive} uses this for its training run.
+ * </p>
+ */
+final class FirstFrameProbe implements ApplicationListener {
+    private static final FileLogger log = FileLogger.get(LogFiles.SYSTEM);
+
+    static final String EXIT_PROPERTY = "gw.startup.exitAfterFirstFrame";
+    static final String STDOUT_MARKER = "GW_FIRST_FRAME_MS=";
+
+    private final ApplicationListener game;
+    private final boolean exitAfterFirstFrame = Boolean.getBoolean(EXIT_PROPERTY);
+    private boolean reported;
+
+    FirstFrameProbe(ApplicationListener game) {
+        this.game = game;
+    }
+
+    /** Milliseconds elapsed since the JVM was started. */
+    static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    @Override
+    public void create() {
+        game.create();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        game.resize(width, height);
+    }
+
+    @Override
+    public void render() {
+        game.render();
+        if (reported) return;
+        reported = true;
+
+        long ms = sinceJvmStart();
+        log.info("First frame rendered {} ms after JVM start", ms);
+        System.out.println(STDOUT_MARKER + ms);
+        if (exitAfterFirstFrame) Gdx.app.exit();
+    }
+
+    @Override
+    public void pause() {
+        game.pause();
+    }
+
+    @Override
+    public void resume() {
+        game.resume();
+    }
+
+    @Override
+    public void dispose() {
+        game.dispose();
+    }
+}
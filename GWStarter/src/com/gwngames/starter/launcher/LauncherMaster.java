@@ -9,15 +9,20 @@ import com.gwngames.core.api.build.ISystem;
 import com.gwngames.core.api.build.Init;
 import com.gwngames.core.api.build.Inject;
 import com.gwngames.core.base.BaseComponent;
+import com.gwngames.core.base.StartupGraph;
 import com.gwngames.core.base.cfg.ModuleClassLoader;
 import com.gwngames.core.base.log.FileLogger;
 import com.gwngames.core.data.LogFiles;
+import com.gwngames.game.GameComponent;
 import com.gwngames.starter.Platform;
 import com.gwngames.starter.StarterModule;
 import com.gwngames.starter.StartupHelper;
 import com.gwngames.starter.build.ILauncher;
 import com.gwngames.starter.build.ILauncherMaster;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Init(module = StarterModule.STARTER)
 public class LauncherMaster extends BaseComponent implements ILauncherMaster {
 
@@ -32,7 +37,7 @@ public class LauncherMaster extends BaseComponent implements ILauncherMaster {
     @Inject
     private IDashboard dashboard;
 
-    private static final FileLogger log = FileLogger.get(LogFiles.SYSTEM);
+    private static final FileLogger log = FileLogger.get(LogFiles.SYSTEM, LauncherMaster.class);
     private static final ModuleClassLoader loader = ModuleClassLoader.getInstance();
 
     public void start(String[] args) {
@@ -41,6 +46,8 @@ public class LauncherMaster extends BaseComponent implements ILauncherMaster {
 
         try {
             system.setup();
+            // create what the launcher, the system and the game inject, independent ones in parallel
+            StartupGraph.forDependenciesOf(startupRoots()).start();
 
             log.info("Resolving new launcher...");
             ILauncher launcher = getNewLauncher();
@@ -53,7 +60,7 @@ public class LauncherMaster extends BaseComponent implements ILauncherMaster {
             // Start dashboard (disabled automatically in PROD)
             dashboard.maybeStart();
 
-            log.info("Launching application…");
+            log.info("Launching application… ({} ms after JVM start)", FirstFrameProbe.sinceJvmStart());
             // NOTE: On desktop this call blocks until the app exits.
             launcher.createApplication();
 
@@ -68,6 +75,19 @@ public class LauncherMaster extends BaseComponent implements ILauncherMaster {
         }
     }
 
+    /** Classes whose injected components are needed before the first frame. */
+    private Class<?>[] startupRoots() {
+        List<Class<?>> roots = new ArrayList<>(List.of(getClass()));
+        for (String component : List.of(CoreComponent.SYSTEM, GameComponent.GAME)) {
+            try {
+                roots.add(loader._findClass(component));
+            } catch (ClassNotFoundException e) {
+                log.debug("No {} implementation to pre-start: {}", component, e.getMessage());
+            }
+        }
+        return roots.toArray(Class<?>[]::new);
+    }
+
     public static ILauncher getNewLauncher() {
         return switch (platformDetected) {
             case Android -> loader.tryCreate(CoreComponent.LAUNCHER, Platform.ANDROID);
@@ -21,7 +21,7 @@ public class Lwjgl3Launcher extends BaseComponent implements ILauncher {
     @Override
     public Lwjgl3Application createApplication() {
         launcher = loader.tryCreate(GameComponent.GAME);
-        return new Lwjgl3Application(launcher, getDefaultConfiguration());
+        return new Lwjgl3Application(new FirstFrameProbe(launcher), getDefaultConfiguration());
     }
 
     @Override